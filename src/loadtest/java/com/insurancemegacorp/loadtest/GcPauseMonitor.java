@@ -0,0 +1,71 @@
+package com.insurancemegacorp.loadtest;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the duration of every GC in this JVM while active. In in-process mode this
+ * covers the application under test; against a remote target it only covers the generator.
+ */
+public class GcPauseMonitor implements NotificationListener, AutoCloseable {
+
+    private final Histogram pauses = new ConcurrentHistogram(3);
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private volatile boolean recording;
+
+    public GcPauseMonitor() {
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) gc;
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    public void start() {
+        pauses.reset();
+        recording = true;
+    }
+
+    public void stop() {
+        recording = false;
+    }
+
+    /**
+     * Returns GC durations in milliseconds recorded between start and stop.
+     */
+    public Histogram getPauses() {
+        return pauses;
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (recording && GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            pauses.recordValue(info.getGcInfo().getDuration());
+        }
+    }
+
+    @Override
+    public void close() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (Exception e) {
+                // Already removed
+            }
+        }
+    }
+}
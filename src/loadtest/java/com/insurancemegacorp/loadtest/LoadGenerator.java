@@ -0,0 +1,177 @@
+package com.insurancemegacorp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.insurancemegacorp.CustomerQuoteApplication;
+import com.insurancemegacorp.model.QuoteRequest;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for the quote API.
+ * <p>
+ * Requests are scheduled at a constant arrival rate regardless of how fast responses come
+ * back, and latency is measured from each request's <em>scheduled</em> send time. A stalled
+ * server therefore shows up as queueing delay in the percentiles instead of silently lowering
+ * the offered load (coordinated omission). Without {@code --target} the application is
+ * started in-process on a random port and driven over loopback.
+ * <p>
+ * Options: {@code --target=http://host:port --path=/quote --rate=200 --duration=60
+ * --warmup=10 --seed=42 --max-outstanding=10000 --timeout-ms=5000
+ * --save-baseline=file --baseline=file --tolerance=10}. Exits with status 1 when a
+ * metric regresses beyond the tolerance against the baseline.
+ */
+public class LoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        ConfigurableApplicationContext application = null;
+        String target = options.getTarget();
+        if (target == null) {
+            application = SpringApplication.run(CustomerQuoteApplication.class, "--server.port=0");
+            target = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+        }
+
+        int exitCode;
+        try {
+            exitCode = new LoadGenerator().run(options, target);
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private int run(LoadTestOptions options, String target) throws IOException, InterruptedException {
+        ExecutorService responseExecutor = Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(options.getTimeoutMillis()))
+            .executor(responseExecutor)
+            .build();
+        URI uri = URI.create(target + options.getPath());
+        ObjectWriter writer = new ObjectMapper().writerFor(QuoteRequest.class);
+        QuoteRequestGenerator generator = new QuoteRequestGenerator(options.getSeed());
+
+        Histogram latency = new ConcurrentHistogram(3);
+        Histogram serviceTime = new ConcurrentHistogram(3);
+        AtomicLong completed = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong shed = new AtomicLong();
+        AtomicInteger outstanding = new AtomicInteger();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.getRate();
+        long start = System.nanoTime();
+        long measureStart = start + TimeUnit.SECONDS.toNanos(options.getWarmupSeconds());
+        long end = measureStart + TimeUnit.SECONDS.toNanos(options.getDurationSeconds());
+
+        System.out.printf("Driving %s at %d req/s for %ds (+%ds warmup), seed %d%n",
+            uri, options.getRate(), options.getDurationSeconds(), options.getWarmupSeconds(), options.getSeed());
+
+        try (GcPauseMonitor gcMonitor = new GcPauseMonitor()) {
+            boolean measuring = false;
+            for (long i = 0; ; i++) {
+                long scheduled = start + i * intervalNanos;
+                if (scheduled >= end) {
+                    break;
+                }
+                if (!measuring && scheduled >= measureStart) {
+                    measuring = true;
+                    gcMonitor.start();
+                }
+                long wait;
+                while ((wait = scheduled - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                boolean recorded = measuring;
+                // Requests are generated even when not sent so the sequence is independent of timing
+                byte[] body = writer.writeValueAsBytes(generator.next());
+                if (outstanding.get() >= options.getMaxOutstanding()) {
+                    // Client-side overflow still counts against the run instead of being skipped
+                    if (recorded) {
+                        errors.incrementAndGet();
+                    }
+                    continue;
+                }
+
+                HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofMillis(options.getTimeoutMillis()))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+                long sent = System.nanoTime();
+                outstanding.incrementAndGet();
+                client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long now = System.nanoTime();
+                        outstanding.decrementAndGet();
+                        if (!recorded) {
+                            return;
+                        }
+                        int status = error != null ? -1 : response.statusCode();
+                        if (status >= 200 && status < 300) {
+                            completed.incrementAndGet();
+                            latency.recordValue(now - scheduled);
+                            serviceTime.recordValue(now - sent);
+                        } else if (status == 503) {
+                            // Load shedding is reported separately from failures
+                            shed.incrementAndGet();
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                    });
+            }
+
+            // Let in-flight requests finish (or time out) before summarising
+            long drainDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(options.getTimeoutMillis());
+            while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+                Thread.sleep(10);
+            }
+            gcMonitor.stop();
+
+            // Requests still outstanding after the drain timeout count as errors
+            LoadTestReport report = new LoadTestReport(latency, serviceTime, gcMonitor.getPauses(),
+                completed.get(), errors.get() + outstanding.get(), shed.get(), options.getDurationSeconds());
+            report.print(System.out);
+
+            if (options.getSaveBaseline() != null) {
+                report.save(Paths.get(options.getSaveBaseline()));
+                System.out.println("Saved baseline to " + options.getSaveBaseline());
+            }
+            if (options.getBaseline() != null) {
+                List<String> regressions = report.compare(Paths.get(options.getBaseline()), options.getTolerancePercent(), System.out);
+                if (!regressions.isEmpty()) {
+                    System.out.println("Regressed beyond " + options.getTolerancePercent() + "%: " + regressions);
+                    return 1;
+                }
+            }
+            return 0;
+        } finally {
+            responseExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.insurancemegacorp.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command-line options for {@link LoadGenerator}, given as {@code --name=value}.
+ */
+public class LoadTestOptions {
+
+    private String target;
+    private String path = "/quote";
+    private int rate = 200;
+    private int durationSeconds = 60;
+    private int warmupSeconds = 10;
+    private long seed = 42;
+    private int maxOutstanding = 10_000;
+    private int timeoutMillis = 5_000;
+    private String saveBaseline;
+    private String baseline;
+    private double tolerancePercent = 10.0;
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions();
+        options.target = values.remove("target");
+        options.path = values.getOrDefault("path", options.path);
+        values.remove("path");
+        options.rate = intValue(values, "rate", options.rate);
+        options.durationSeconds = intValue(values, "duration", options.durationSeconds);
+        options.warmupSeconds = intValue(values, "warmup", options.warmupSeconds);
+        options.seed = Long.parseLong(values.getOrDefault("seed", String.valueOf(options.seed)));
+        values.remove("seed");
+        options.maxOutstanding = intValue(values, "max-outstanding", options.maxOutstanding);
+        options.timeoutMillis = intValue(values, "timeout-ms", options.timeoutMillis);
+        options.saveBaseline = values.remove("save-baseline");
+        options.baseline = values.remove("baseline");
+        options.tolerancePercent = Double.parseDouble(values.getOrDefault("tolerance", String.valueOf(options.tolerancePercent)));
+        values.remove("tolerance");
+
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        if (options.rate <= 0 || options.durationSeconds <= 0 || options.warmupSeconds < 0) {
+            throw new IllegalArgumentException("Rate and duration must be positive and warmup not negative");
+        }
+        return options;
+    }
+
+    private static int intValue(Map<String, String> values, String name, int defaultValue) {
+        String value = values.remove(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    /**
+     * Returns the base URL to drive, or null to start the application in-process.
+     */
+    public String getTarget() {
+        return target;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the constant arrival rate in requests per second.
+     */
+    public int getRate() {
+        return rate;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getMaxOutstanding() {
+        return maxOutstanding;
+    }
+
+    public int getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public String getSaveBaseline() {
+        return saveBaseline;
+    }
+
+    public String getBaseline() {
+        return baseline;
+    }
+
+    public double getTolerancePercent() {
+        return tolerancePercent;
+    }
+}
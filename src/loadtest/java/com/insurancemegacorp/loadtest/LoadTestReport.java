@@ -0,0 +1,109 @@
+package com.insurancemegacorp.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summary of a load test run that can be saved as a baseline and compared against one.
+ */
+public class LoadTestReport {
+
+    // Metrics where a higher value is better; every other metric regresses when it grows
+    private static final List<String> HIGHER_IS_BETTER = List.of("throughput.rps");
+    // Below these absolute values differences are noise, not regressions
+    private static final Map<String, Double> NOISE_FLOOR = Map.of(
+        "error.rate", 0.001, "shed.rate", 0.001, "gc.count", 5.0, "gc.total.ms", 50.0, "gc.max.ms", 10.0);
+
+    private final Map<String, Double> metrics = new LinkedHashMap<>();
+
+    public LoadTestReport(Histogram latencyNanos, Histogram serviceTimeNanos, Histogram gcPausesMillis,
+                          long completed, long errors, long shed, double elapsedSeconds) {
+        long attempted = completed + errors + shed;
+        metrics.put("throughput.rps", completed / elapsedSeconds);
+        metrics.put("latency.p50.ms", millis(latencyNanos.getValueAtPercentile(50)));
+        metrics.put("latency.p90.ms", millis(latencyNanos.getValueAtPercentile(90)));
+        metrics.put("latency.p99.ms", millis(latencyNanos.getValueAtPercentile(99)));
+        metrics.put("latency.p99.9.ms", millis(latencyNanos.getValueAtPercentile(99.9)));
+        metrics.put("latency.max.ms", millis(latencyNanos.getMaxValue()));
+        metrics.put("service.p50.ms", millis(serviceTimeNanos.getValueAtPercentile(50)));
+        metrics.put("service.p99.ms", millis(serviceTimeNanos.getValueAtPercentile(99)));
+        metrics.put("error.rate", attempted > 0 ? (double) errors / attempted : 0.0);
+        metrics.put("shed.rate", attempted > 0 ? (double) shed / attempted : 0.0);
+        metrics.put("gc.count", (double) gcPausesMillis.getTotalCount());
+        metrics.put("gc.total.ms", gcPausesMillis.getMean() * gcPausesMillis.getTotalCount());
+        metrics.put("gc.max.ms", (double) gcPausesMillis.getMaxValue());
+    }
+
+    public Map<String, Double> getMetrics() {
+        return metrics;
+    }
+
+    public void print(PrintStream out) {
+        out.println("Latency is measured from each request's scheduled send time (corrected for coordinated omission);");
+        out.println("service time is measured from the actual send.");
+        metrics.forEach((name, value) -> out.printf("  %-20s %12.3f%n", name, value));
+    }
+
+    public void save(Path file) throws IOException {
+        Properties properties = new Properties();
+        metrics.forEach((name, value) -> properties.setProperty(name, String.valueOf(value)));
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            properties.store(writer, "Quote load test baseline");
+        }
+    }
+
+    /**
+     * Compares this run against a saved baseline.
+     *
+     * @param baselineFile the baseline written by {@link #save}
+     * @param tolerancePercent allowed relative change before a metric counts as regressed
+     * @param out where to print the comparison
+     * @return the names of regressed metrics
+     * @throws IOException if the baseline cannot be read
+     */
+    public List<String> compare(Path baselineFile, double tolerancePercent, PrintStream out) throws IOException {
+        Properties baseline = new Properties();
+        try (Reader reader = Files.newBufferedReader(baselineFile)) {
+            baseline.load(reader);
+        }
+
+        List<String> regressions = new ArrayList<>();
+        out.printf("  %-20s %12s %12s %9s%n", "metric", "baseline", "current", "change");
+        for (Map.Entry<String, Double> entry : metrics.entrySet()) {
+            String name = entry.getKey();
+            String saved = baseline.getProperty(name);
+            if (saved == null) {
+                continue;
+            }
+            double before = Double.parseDouble(saved);
+            double after = entry.getValue();
+            double changePercent = before != 0 ? (after - before) / before * 100
+                : after > 0 ? Double.POSITIVE_INFINITY : 0;
+
+            boolean worse = HIGHER_IS_BETTER.contains(name) ? changePercent < -tolerancePercent : changePercent > tolerancePercent;
+            boolean aboveNoise = Math.max(before, after) > NOISE_FLOOR.getOrDefault(name, 0.0);
+            if (worse && aboveNoise) {
+                regressions.add(name);
+            }
+            out.printf("  %-20s %12.3f %12.3f %+8.1f%%%s%n", name, before, after, changePercent,
+                worse && aboveNoise ? "  REGRESSION" : "");
+        }
+        return regressions;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,90 @@
+package com.insurancemegacorp.loadtest;
+
+import com.insurancemegacorp.model.QuoteRequest;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Produces a reproducible stream of realistic quote requests from a seed.
+ * <p>
+ * Driver ages follow a rough licensed-driver distribution, makes are weighted by market
+ * share with a luxury tail, and vehicle years skew towards newer cars. A small share of
+ * requests reuse a pool of customer IDs so known-customer paths are exercised as well.
+ */
+public class QuoteRequestGenerator {
+
+    private static final int[][] AGE_BANDS = {
+        // {min age, max age, weight}
+        {16, 24, 14}, {25, 34, 19}, {35, 49, 27}, {50, 70, 31}, {71, 90, 9}
+    };
+    private static final String[] MAKES = {
+        "Toyota", "Ford", "Chevrolet", "Honda", "Nissan", "Hyundai", "Kia", "Subaru", "Jeep",
+        "Tesla", "BMW", "Mercedes", "Audi", "Porsche"
+    };
+    private static final int[] MAKE_WEIGHTS = {15, 13, 13, 10, 8, 6, 5, 4, 5, 4, 4, 4, 3, 1};
+    private static final String[] FIRST_NAMES = {"Jane", "John", "Maria", "Wei", "Aisha", "Carlos", "Olga", "Sam"};
+    private static final String[] LAST_NAMES = {"Doe", "Smith", "Garcia", "Chen", "Khan", "Silva", "Ivanova", "Lee"};
+    private static final int KNOWN_CUSTOMER_POOL = 1000;
+
+    private final Random random;
+    private final int currentYear = LocalDate.now().getYear();
+    private final int ageWeightTotal;
+    private final int makeWeightTotal;
+
+    public QuoteRequestGenerator(long seed) {
+        this.random = new Random(seed);
+        int ageTotal = 0;
+        for (int[] band : AGE_BANDS) {
+            ageTotal += band[2];
+        }
+        this.ageWeightTotal = ageTotal;
+        int makeTotal = 0;
+        for (int weight : MAKE_WEIGHTS) {
+            makeTotal += weight;
+        }
+        this.makeWeightTotal = makeTotal;
+    }
+
+    /**
+     * Returns the next request in the sequence. Not thread-safe.
+     *
+     * @return a new quote request
+     */
+    public QuoteRequest next() {
+        QuoteRequest request = new QuoteRequest();
+        if (random.nextInt(10) == 0) {
+            request.setCustomerId("cust" + random.nextInt(KNOWN_CUSTOMER_POOL));
+        }
+        request.setCustomerName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+            + LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+        request.setCustomerAge(nextAge());
+        request.setVehicleMake(MAKES[weightedIndex(MAKE_WEIGHTS, makeWeightTotal)]);
+        // Geometric-ish skew: most cars are a few years old, a long tail is much older
+        int age = Math.min(30, (int) (-Math.log(1 - random.nextDouble()) * 6));
+        request.setVehicleYear(currentYear + 1 - age);
+        return request;
+    }
+
+    private int nextAge() {
+        int pick = random.nextInt(ageWeightTotal);
+        for (int[] band : AGE_BANDS) {
+            pick -= band[2];
+            if (pick < 0) {
+                return band[0] + random.nextInt(band[1] - band[0] + 1);
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    private int weightedIndex(int[] weights, int total) {
+        int pick = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+}
@@ -0,0 +1,147 @@
+package com.insurancemegacorp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.insurancemegacorp.CustomerQuoteApplication;
+import com.insurancemegacorp.model.QuoteRequest;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time from JVM launch to the first successful {@code POST /quote}.
+ * <p>
+ * Each run starts the application in a fresh JVM on a free port, with the benchmark's own
+ * classpath, and polls {@code /quote} until it returns 2xx. The figure therefore includes JVM
+ * startup, class loading, Spring and Hibernate bootstrap and the first (cold) quote, which is
+ * what an autoscaled instance pays before it can take traffic.
+ * <p>
+ * The default configuration is always measured; when {@code --jvm-args} or {@code --app-args}
+ * are given, that configuration is measured too so the two can be compared side by side.
+ * Options: {@code --runs=5 --timeout-ms=120000 --jvm-args="-XX:SharedArchiveFile=..."
+ * --app-args="--spring.profiles.active=fast-start"}; argument lists are space-separated.
+ * Run it with the application's classpath, e.g. {@code mvn -Pfast-start,loadtest compile exec:exec@startup-benchmark}.
+ */
+public class StartupBenchmark {
+
+    private static final long POLL_INTERVAL_MILLIS = 10;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        long timeoutMillis = Long.parseLong(options.getOrDefault("timeout-ms", "120000"));
+        List<String> jvmArgs = splitArgs(options.get("jvm-args"));
+        List<String> appArgs = splitArgs(options.get("app-args"));
+
+        measure("default", Collections.emptyList(), Collections.emptyList(), runs, timeoutMillis);
+        if (!jvmArgs.isEmpty() || !appArgs.isEmpty()) {
+            measure("configured", jvmArgs, appArgs, runs, timeoutMillis);
+        }
+    }
+
+    private static void measure(String label, List<String> jvmArgs, List<String> appArgs, int runs, long timeoutMillis)
+            throws IOException, InterruptedException {
+        System.out.printf("%s: JVM args %s, application args %s%n", label, jvmArgs, appArgs);
+        List<Long> results = new ArrayList<>();
+        for (int run = 1; run <= runs; run++) {
+            long millis = timeToFirstQuote(jvmArgs, appArgs, timeoutMillis);
+            System.out.printf("  run %d: first quote after %d ms%n", run, millis);
+            results.add(millis);
+        }
+
+        Collections.sort(results);
+        System.out.printf("%s: time to first quote over %d runs: min %d ms, median %d ms, max %d ms%n",
+            label, runs, results.get(0), results.get(results.size() / 2), results.get(results.size() - 1));
+    }
+
+    private static long timeToFirstQuote(List<String> jvmArgs, List<String> appArgs, long timeoutMillis)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(CustomerQuoteApplication.class.getName());
+        command.add("--server.port=" + port);
+        command.addAll(appArgs);
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(500))
+            .build();
+        ObjectWriter writer = new ObjectMapper().writerFor(QuoteRequest.class);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/quote"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(writer.writeValueAsBytes(new QuoteRequestGenerator(42).next())))
+            .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        try {
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with status " + process.exitValue() + " before serving a quote");
+                }
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() >= 200 && response.statusCode() < 300) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (ConnectException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+            throw new IllegalStateException("No successful quote within " + timeoutMillis + " ms");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static List<String> splitArgs(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(value.trim().split("\\s+"));
+    }
+}
@@ -1,9 +1,24 @@
 package com.insurancemegacorp;
 
+import com.insurancemegacorp.repository.BaseRepositoryImpl;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
-@SpringBootApplication
+// JPA stays the primary stack: an auto-configured R2DBC ConnectionFactory would switch off
+// the JDBC DataSource, and a second transaction manager would make @Transactional ambiguous
+@SpringBootApplication(exclude = {
+    R2dbcAutoConfiguration.class,
+    R2dbcDataAutoConfiguration.class,
+    R2dbcRepositoriesAutoConfiguration.class,
+    R2dbcTransactionManagerAutoConfiguration.class
+})
+// Soft delete support for every BaseRepository
+@EnableJpaRepositories(repositoryBaseClass = BaseRepositoryImpl.class)
 public class CustomerQuoteApplication {
     public static void main(String[] args) {
         SpringApplication.run(CustomerQuoteApplication.class, args);
@@ -0,0 +1,118 @@
+package com.insurancemegacorp.aggregate;
+
+import com.insurancemegacorp.model.Policy;
+import com.insurancemegacorp.model.Vehicle;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.tuple.entity.EntityMetamodel;
+
+import java.math.BigDecimal;
+
+/**
+ * Hibernate post-commit listener that feeds {@link DashboardAggregates} from Policy and
+ * Vehicle inserts, updates (including status changes and soft deletes) and deletes.
+ * <p>
+ * Runs only after the transaction commits, so rolled-back changes never reach the counters.
+ * Updates are applied as "remove the old contribution, add the new one" from Hibernate's
+ * old and new entity state. Bulk JPQL updates bypass entity events entirely and are picked
+ * up by reconciliation instead.
+ */
+public class AggregateChangeListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final DashboardAggregates aggregates;
+
+    public AggregateChangeListener(DashboardAggregates aggregates) {
+        this.aggregates = aggregates;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof Policy) {
+            aggregates.policyChanged(null, contribution(event.getPersister(), event.getState()));
+        } else if (entity instanceof Vehicle) {
+            aggregates.vehicleChanged(null, countedMake(event.getPersister(), event.getState()));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object entity = event.getEntity();
+        if (!(entity instanceof Policy) && !(entity instanceof Vehicle)) {
+            return;
+        }
+        if (event.getOldState() == null) {
+            // Detached update without a prior select; the next reconciliation corrects the totals
+            return;
+        }
+        if (entity instanceof Policy) {
+            aggregates.policyChanged(contribution(event.getPersister(), event.getOldState()),
+                contribution(event.getPersister(), event.getState()));
+        } else {
+            aggregates.vehicleChanged(countedMake(event.getPersister(), event.getOldState()),
+                countedMake(event.getPersister(), event.getState()));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof Policy) {
+            aggregates.policyChanged(contribution(event.getPersister(), event.getDeletedState()), null);
+        } else if (entity instanceof Vehicle) {
+            aggregates.vehicleChanged(countedMake(event.getPersister(), event.getDeletedState()), null);
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was applied before commit, so there is nothing to undo
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was applied before commit, so there is nothing to undo
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was applied before commit, so there is nothing to undo
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return Policy.class.isAssignableFrom(type) || Vehicle.class.isAssignableFrom(type);
+    }
+
+    // Still abstract in Hibernate 5.4; superseded by the correctly spelled method above
+    @Override
+    @Deprecated
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return requiresPostCommitHandling(persister);
+    }
+
+    private static PolicyContribution contribution(EntityPersister persister, Object[] state) {
+        EntityMetamodel metamodel = persister.getEntityMetamodel();
+        return new PolicyContribution(
+            (String) state[metamodel.getPropertyIndex("policyStatus")],
+            (String) state[metamodel.getPropertyIndex("policyType")],
+            (BigDecimal) state[metamodel.getPropertyIndex("totalPremium")],
+            Boolean.TRUE.equals(state[metamodel.getPropertyIndex("active")]));
+    }
+
+    private static String countedMake(EntityPersister persister, Object[] state) {
+        EntityMetamodel metamodel = persister.getEntityMetamodel();
+        if (!Boolean.TRUE.equals(state[metamodel.getPropertyIndex("active")])) {
+            return null;
+        }
+        String make = (String) state[metamodel.getPropertyIndex("make")];
+        return make != null ? make : DashboardAggregates.UNKNOWN;
+    }
+}
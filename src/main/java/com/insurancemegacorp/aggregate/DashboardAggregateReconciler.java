@@ -0,0 +1,86 @@
+package com.insurancemegacorp.aggregate;
+
+import com.insurancemegacorp.repository.PolicyRepository;
+import com.insurancemegacorp.repository.VehicleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recomputes the dashboard aggregates from the database and replaces the incrementally
+ * maintained totals with the result.
+ * <p>
+ * Runs once at startup to seed the totals, periodically to correct drift, and after bulk
+ * updates that bypass entity events. A change committed while the recompute is running may
+ * be counted twice or not at all; the next run corrects it.
+ */
+@Component
+@Profile("!quote-only")
+public class DashboardAggregateReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardAggregateReconciler.class);
+
+    private final DashboardAggregates aggregates;
+    private final PolicyRepository policyRepository;
+    private final VehicleRepository vehicleRepository;
+
+    @Autowired
+    public DashboardAggregateReconciler(DashboardAggregates aggregates,
+                                        PolicyRepository policyRepository,
+                                        VehicleRepository vehicleRepository) {
+        this.aggregates = aggregates;
+        this.policyRepository = policyRepository;
+        this.vehicleRepository = vehicleRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${quote.aggregates.reconcile-interval-ms:300000}",
+        initialDelayString = "${quote.aggregates.reconcile-interval-ms:300000}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * Recomputes all aggregates with full GROUP BY queries and swaps them in.
+     *
+     * @return the drift between the incremental totals and the recompute
+     */
+    public long reconcile() {
+        Map<String, Long> policiesByStatus = new HashMap<>();
+        for (Object[] row : policyRepository.countActivePoliciesByStatus()) {
+            policiesByStatus.merge(key(row[0]), ((Number) row[1]).longValue(), Long::sum);
+        }
+        Map<String, Long> premiumCentsByType = new HashMap<>();
+        for (Object[] row : policyRepository.sumActivePremiumByPolicyType()) {
+            premiumCentsByType.merge(key(row[0]), PolicyContribution.toCents((BigDecimal) row[1]), Long::sum);
+        }
+        Map<String, Long> vehiclesByMake = new HashMap<>();
+        for (Object[] row : vehicleRepository.countActiveVehiclesByMake()) {
+            vehiclesByMake.merge(key(row[0]), ((Number) row[1]).longValue(), Long::sum);
+        }
+
+        long drift = aggregates.replace(policiesByStatus, premiumCentsByType, vehiclesByMake);
+        if (drift != 0) {
+            log.info("Dashboard aggregates reconciled with a drift of {}", drift);
+        }
+        return drift;
+    }
+
+    private static String key(Object value) {
+        return value != null ? value.toString() : DashboardAggregates.UNKNOWN;
+    }
+}
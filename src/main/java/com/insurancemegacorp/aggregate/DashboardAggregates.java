@@ -0,0 +1,154 @@
+package com.insurancemegacorp.aggregate;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory dashboard aggregates over active (not soft-deleted) policies and vehicles:
+ * policy count by status, total premium by policy type and vehicle count by make.
+ * <p>
+ * Maintained incrementally from committed entity changes (see {@link AggregateChangeListener})
+ * and periodically replaced by a full recompute (see {@link DashboardAggregateReconciler}),
+ * which also corrects changes the listener cannot see, such as bulk JPQL updates. Reads and
+ * updates are lock-free; a single-key read is a map lookup plus a {@link LongAdder#sum()}.
+ * Premiums are kept in cents so concurrent additions stay exact.
+ */
+@Component
+@Profile("!quote-only")
+public class DashboardAggregates {
+
+    static final String UNKNOWN = "UNKNOWN";
+
+    private volatile Totals totals = new Totals();
+
+    /**
+     * Applies one policy's change: the old contribution is removed and the new one added.
+     *
+     * @param before the policy's contribution before the change, or null for an insert
+     * @param after the policy's contribution after the change, or null for a delete
+     */
+    public void policyChanged(PolicyContribution before, PolicyContribution after) {
+        Totals current = totals;
+        if (before != null && before.isActive()) {
+            add(current.policiesByStatus, before.getStatus(), -1);
+            add(current.premiumCentsByType, before.getPolicyType(), -before.getPremiumCents());
+        }
+        if (after != null && after.isActive()) {
+            add(current.policiesByStatus, after.getStatus(), 1);
+            add(current.premiumCentsByType, after.getPolicyType(), after.getPremiumCents());
+        }
+    }
+
+    /**
+     * Applies one vehicle's change.
+     *
+     * @param makeBefore the make counted before the change, or null if it was not counted
+     * @param makeAfter the make counted after the change, or null if it is no longer counted
+     */
+    public void vehicleChanged(String makeBefore, String makeAfter) {
+        Totals current = totals;
+        if (makeBefore != null) {
+            add(current.vehiclesByMake, makeBefore, -1);
+        }
+        if (makeAfter != null) {
+            add(current.vehiclesByMake, makeAfter, 1);
+        }
+    }
+
+    public long getPolicyCount(String status) {
+        return sum(totals.policiesByStatus, status);
+    }
+
+    public BigDecimal getTotalPremium(String policyType) {
+        return BigDecimal.valueOf(sum(totals.premiumCentsByType, policyType), 2);
+    }
+
+    public long getVehicleCount(String make) {
+        return sum(totals.vehiclesByMake, make);
+    }
+
+    public Map<String, Long> getPolicyCountsByStatus() {
+        return snapshot(totals.policiesByStatus);
+    }
+
+    public Map<String, BigDecimal> getTotalPremiumByPolicyType() {
+        Map<String, BigDecimal> result = new TreeMap<>();
+        snapshot(totals.premiumCentsByType).forEach((type, cents) -> result.put(type, BigDecimal.valueOf(cents, 2)));
+        return result;
+    }
+
+    public Map<String, Long> getVehicleCountsByMake() {
+        return snapshot(totals.vehiclesByMake);
+    }
+
+    /**
+     * Replaces all aggregates with a full recompute and returns how far the incremental
+     * totals had drifted from it.
+     *
+     * @return the sum of absolute per-key differences across all three aggregates
+     *         (premium differences in cents)
+     */
+    long replace(Map<String, Long> policiesByStatus, Map<String, Long> premiumCentsByType, Map<String, Long> vehiclesByMake) {
+        Totals fresh = new Totals();
+        policiesByStatus.forEach((key, value) -> add(fresh.policiesByStatus, key, value));
+        premiumCentsByType.forEach((key, value) -> add(fresh.premiumCentsByType, key, value));
+        vehiclesByMake.forEach((key, value) -> add(fresh.vehiclesByMake, key, value));
+
+        Totals previous = totals;
+        totals = fresh;
+        return drift(previous.policiesByStatus, fresh.policiesByStatus)
+            + drift(previous.premiumCentsByType, fresh.premiumCentsByType)
+            + drift(previous.vehiclesByMake, fresh.vehiclesByMake);
+    }
+
+    private static void add(ConcurrentMap<String, LongAdder> map, String key, long delta) {
+        String normalized = key != null ? key : UNKNOWN;
+        LongAdder adder = map.get(normalized);
+        if (adder == null) {
+            adder = map.computeIfAbsent(normalized, k -> new LongAdder());
+        }
+        adder.add(delta);
+    }
+
+    private static long sum(ConcurrentMap<String, LongAdder> map, String key) {
+        LongAdder adder = map.get(key != null ? key : UNKNOWN);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    private static Map<String, Long> snapshot(ConcurrentMap<String, LongAdder> map) {
+        Map<String, Long> result = new TreeMap<>();
+        map.forEach((key, adder) -> {
+            long value = adder.sum();
+            if (value != 0) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+
+    private static long drift(ConcurrentMap<String, LongAdder> previous, ConcurrentMap<String, LongAdder> fresh) {
+        long drift = 0;
+        for (Map.Entry<String, LongAdder> entry : fresh.entrySet()) {
+            drift += Math.abs(entry.getValue().sum() - sum(previous, entry.getKey()));
+        }
+        for (Map.Entry<String, LongAdder> entry : previous.entrySet()) {
+            if (!fresh.containsKey(entry.getKey())) {
+                drift += Math.abs(entry.getValue().sum());
+            }
+        }
+        return drift;
+    }
+
+    private static final class Totals {
+        final ConcurrentMap<String, LongAdder> policiesByStatus = new ConcurrentHashMap<>();
+        final ConcurrentMap<String, LongAdder> premiumCentsByType = new ConcurrentHashMap<>();
+        final ConcurrentMap<String, LongAdder> vehiclesByMake = new ConcurrentHashMap<>();
+    }
+}
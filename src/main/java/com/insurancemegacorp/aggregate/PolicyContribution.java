@@ -0,0 +1,42 @@
+package com.insurancemegacorp.aggregate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * The fields of one policy that feed the dashboard aggregates.
+ */
+public class PolicyContribution {
+
+    private final String status;
+    private final String policyType;
+    private final long premiumCents;
+    private final boolean active;
+
+    public PolicyContribution(String status, String policyType, BigDecimal totalPremium, boolean active) {
+        this.status = status;
+        this.policyType = policyType;
+        this.premiumCents = toCents(totalPremium);
+        this.active = active;
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount != null ? amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact() : 0;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getPolicyType() {
+        return policyType;
+    }
+
+    public long getPremiumCents() {
+        return premiumCents;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+}
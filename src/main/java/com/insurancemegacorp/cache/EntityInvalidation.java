@@ -0,0 +1,53 @@
+package com.insurancemegacorp.cache;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Notice that a committed change made cached copies of one entity stale.
+ * An empty set of changed fields means the whole entity (insert, delete, or unknown fields).
+ */
+public class EntityInvalidation {
+
+    private final String entityType;
+    private final String entityId;
+    private final Set<String> changedFields;
+    private final boolean remote;
+
+    public EntityInvalidation(String entityType, String entityId, Set<String> changedFields, boolean remote) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.changedFields = Collections.unmodifiableSet(changedFields);
+        this.remote = remote;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public Set<String> getChangedFields() {
+        return changedFields;
+    }
+
+    public boolean isWholeEntity() {
+        return changedFields.isEmpty();
+    }
+
+    /**
+     * Returns whether the change was committed on another node.
+     *
+     * @return true if received from a peer, false if committed locally
+     */
+    public boolean isRemote() {
+        return remote;
+    }
+
+    @Override
+    public String toString() {
+        return entityType + "#" + entityId + (isWholeEntity() ? "" : changedFields) + (remote ? " (remote)" : "");
+    }
+}
@@ -0,0 +1,116 @@
+package com.insurancemegacorp.cache;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bounded in-memory cache whose entries carry an absolute expiry time.
+ * <p>
+ * Reads are lock-free hash lookups. Writes also push the entry onto a min-heap ordered by
+ * expiry, so expired entries are reclaimed from the head of the heap without scanning the
+ * map, and when the cache is full the entry closest to expiry is evicted first.
+ * <p>
+ * Invalidated, replaced and lazily expired entries leave their heap node behind. The
+ * capacity check counts live map entries rather than heap nodes, so those stale nodes never
+ * cause a live entry to be evicted early, and the heap is compacted once stale nodes make up
+ * half of it.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ExpiringCache<K, V> {
+
+    private final int maxEntries;
+    private final ConcurrentMap<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    private final PriorityQueue<Entry<K, V>> expiryQueue =
+        new PriorityQueue<>((a, b) -> Long.compare(a.expiresAtMillis, b.expiresAtMillis));
+
+    public ExpiringCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be greater than 0");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Adds or replaces an entry.
+     *
+     * @param key the key
+     * @param value the value
+     * @param expiresAtMillis the absolute expiry time in epoch milliseconds
+     */
+    public void put(K key, V value, long expiresAtMillis) {
+        Objects.requireNonNull(key, "Key must not be null");
+        Objects.requireNonNull(value, "Value must not be null");
+        Entry<K, V> entry = new Entry<>(key, value, expiresAtMillis);
+        synchronized (expiryQueue) {
+            entries.put(key, entry);
+            expiryQueue.offer(entry);
+            evict(System.currentTimeMillis());
+            if (expiryQueue.size() > 2 * maxEntries) {
+                expiryQueue.removeIf(queued -> !isCurrent(queued));
+            }
+        }
+    }
+
+    /**
+     * Returns the live value for a key.
+     *
+     * @param key the key
+     * @return the value, or empty if absent or expired
+     */
+    public Optional<V> get(K key) {
+        Entry<K, V> entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value);
+    }
+
+    /**
+     * Removes an entry.
+     *
+     * @param key the key
+     */
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        Entry<K, V> head;
+        while ((head = expiryQueue.peek()) != null
+                && (head.expiresAtMillis <= now || entries.size() > maxEntries || !isCurrent(head))) {
+            expiryQueue.poll();
+            // Only drop the mapping if it still refers to this heap entry (it may have been replaced)
+            entries.remove(head.key, head);
+        }
+    }
+
+    private boolean isCurrent(Entry<K, V> entry) {
+        return entries.get(entry.key) == entry;
+    }
+
+    private static final class Entry<K, V> {
+
+        private final K key;
+        private final V value;
+        private final long expiresAtMillis;
+
+        Entry(K key, V value, long expiresAtMillis) {
+            this.key = key;
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
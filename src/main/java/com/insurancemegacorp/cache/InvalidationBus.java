@@ -0,0 +1,187 @@
+package com.insurancemegacorp.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Fans entity invalidations out to local cache subscribers and, when a transport is
+ * configured, to the other application instances.
+ * <p>
+ * Local invalidations are coalesced: everything published for the same entity within
+ * {@code quote.invalidation.coalesce-window-ms} is merged into one message carrying the
+ * union of the changed fields, so a burst of updates costs subscribers and peers a single
+ * invalidation. Invalidations received from peers were already coalesced by the sender
+ * and are delivered immediately.
+ */
+@Component
+public class InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+
+    private final long coalesceWindowMillis;
+    private final InvalidationTransport transport;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final ConcurrentMap<EntityKey, Set<String>> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler;
+
+    @Autowired
+    public InvalidationBus(ObjectProvider<InvalidationTransport> transport,
+                           @Value("${quote.invalidation.coalesce-window-ms:50}") long coalesceWindowMillis) {
+        if (coalesceWindowMillis < 0) {
+            throw new IllegalArgumentException("Coalesce window must not be negative");
+        }
+        this.coalesceWindowMillis = coalesceWindowMillis;
+        this.transport = transport.getIfAvailable();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "invalidation-bus");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (this.transport != null) {
+            this.transport.start(this::deliver);
+        }
+    }
+
+    /**
+     * Subscribes to invalidations of every entity type.
+     *
+     * @param subscriber called on the bus thread (or the transport's receive thread for remote invalidations)
+     */
+    public void subscribe(Consumer<EntityInvalidation> subscriber) {
+        subscriptions.add(new Subscription(null, subscriber));
+    }
+
+    /**
+     * Subscribes to invalidations of one entity type.
+     *
+     * @param entityType the entity's simple class name, such as {@code Customer}
+     * @param subscriber called for each matching invalidation
+     */
+    public void subscribe(String entityType, Consumer<EntityInvalidation> subscriber) {
+        subscriptions.add(new Subscription(Objects.requireNonNull(entityType), subscriber));
+    }
+
+    /**
+     * Queues an invalidation for a locally committed change.
+     *
+     * @param entityType the entity's simple class name
+     * @param entityId the entity's identifier
+     * @param changedFields the changed properties, or an empty set for the whole entity
+     */
+    public void publish(String entityType, String entityId, Set<String> changedFields) {
+        pending.merge(new EntityKey(entityType, entityId), new HashSet<>(changedFields), InvalidationBus::union);
+        if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::flush, coalesceWindowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static Set<String> union(Set<String> existing, Set<String> added) {
+        if (existing.isEmpty() || added.isEmpty()) {
+            // One of them already covers the whole entity
+            return Collections.emptySet();
+        }
+        Set<String> merged = new HashSet<>(existing);
+        merged.addAll(added);
+        return merged;
+    }
+
+    private void flush() {
+        // Cleared before draining so a publish racing with this flush schedules the next one
+        flushScheduled.set(false);
+        List<EntityInvalidation> batch = new ArrayList<>();
+        for (EntityKey key : pending.keySet()) {
+            Set<String> fields = pending.remove(key);
+            if (fields != null) {
+                batch.add(new EntityInvalidation(key.entityType, key.entityId, fields, false));
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        deliver(batch);
+        if (transport != null) {
+            try {
+                transport.send(batch);
+            } catch (RuntimeException e) {
+                log.warn("Unable to send {} invalidations to peers", batch.size(), e);
+            }
+        }
+    }
+
+    private void deliver(List<EntityInvalidation> batch) {
+        for (EntityInvalidation invalidation : batch) {
+            for (Subscription subscription : subscriptions) {
+                if (subscription.entityType == null || subscription.entityType.equals(invalidation.getEntityType())) {
+                    try {
+                        subscription.subscriber.accept(invalidation);
+                    } catch (RuntimeException e) {
+                        log.warn("Invalidation subscriber failed for {}", invalidation, e);
+                    }
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    private static final class Subscription {
+        final String entityType;
+        final Consumer<EntityInvalidation> subscriber;
+
+        Subscription(String entityType, Consumer<EntityInvalidation> subscriber) {
+            this.entityType = entityType;
+            this.subscriber = subscriber;
+        }
+    }
+
+    private static final class EntityKey {
+        final String entityType;
+        final String entityId;
+
+        EntityKey(String entityType, String entityId) {
+            this.entityType = entityType;
+            this.entityId = entityId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof EntityKey)) {
+                return false;
+            }
+            EntityKey other = (EntityKey) o;
+            return entityType.equals(other.entityType) && entityId.equals(other.entityId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * entityType.hashCode() + entityId.hashCode();
+        }
+    }
+}
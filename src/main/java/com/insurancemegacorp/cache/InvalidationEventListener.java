@@ -0,0 +1,88 @@
+package com.insurancemegacorp.cache;
+
+import com.insurancemegacorp.model.SoftDeletable;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Hibernate post-commit listener that publishes an {@link EntityInvalidation} for every
+ * committed insert, update (including soft deletes) and delete of the domain entities.
+ * <p>
+ * This is the post-commit counterpart of the entities' {@code @PrePersist}/{@code @PreUpdate}
+ * hooks: those run before the transaction commits and cannot tell which fields changed,
+ * whereas here the change is durable and Hibernate supplies the dirty properties.
+ */
+public class InvalidationEventListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final InvalidationBus bus;
+
+    public InvalidationEventListener(InvalidationBus bus) {
+        this.bus = bus;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getPersister(), event.getId(), Collections.emptySet());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        int[] dirty = event.getDirtyProperties();
+        if (dirty == null) {
+            publish(event.getPersister(), event.getId(), Collections.emptySet());
+            return;
+        }
+        String[] names = event.getPersister().getPropertyNames();
+        Set<String> changedFields = new HashSet<>();
+        for (int index : dirty) {
+            changedFields.add(names[index]);
+        }
+        publish(event.getPersister(), event.getId(), changedFields);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId(), Collections.emptySet());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing committed, so no cached copy is stale
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing committed, so no cached copy is stale
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing committed, so no cached copy is stale
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return SoftDeletable.class.isAssignableFrom(persister.getMappedClass());
+    }
+
+    // Still abstract in Hibernate 5.4; superseded by the correctly spelled method above
+    @Override
+    @Deprecated
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return requiresPostCommitHandling(persister);
+    }
+
+    private void publish(EntityPersister persister, Object id, Set<String> changedFields) {
+        bus.publish(persister.getMappedClass().getSimpleName(), String.valueOf(id), changedFields);
+    }
+}
@@ -0,0 +1,24 @@
+package com.insurancemegacorp.cache;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Carries invalidations between application instances.
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Starts receiving invalidations from peers.
+     *
+     * @param receiver called with each batch received, marked as remote
+     */
+    void start(Consumer<List<EntityInvalidation>> receiver);
+
+    /**
+     * Sends a batch of locally committed invalidations to every peer.
+     *
+     * @param invalidations the batch
+     */
+    void send(List<EntityInvalidation> invalidations);
+}
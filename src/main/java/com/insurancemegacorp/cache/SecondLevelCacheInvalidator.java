@@ -0,0 +1,44 @@
+package com.insurancemegacorp.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.EntityType;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Evicts entities changed on other nodes from this node's Hibernate second-level cache.
+ * Local changes need no eviction because Hibernate updates its own regions on commit.
+ * Does nothing while the second-level cache is disabled.
+ */
+@Component
+public class SecondLevelCacheInvalidator {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final Map<String, EntityType<?>> entityTypes = new HashMap<>();
+
+    @Autowired
+    public SecondLevelCacheInvalidator(EntityManagerFactory entityManagerFactory, InvalidationBus bus) {
+        this.entityManagerFactory = entityManagerFactory;
+        for (EntityType<?> type : entityManagerFactory.getMetamodel().getEntities()) {
+            entityTypes.put(type.getJavaType().getSimpleName(), type);
+        }
+        bus.subscribe(this::evict);
+    }
+
+    private void evict(EntityInvalidation invalidation) {
+        if (!invalidation.isRemote()) {
+            return;
+        }
+        EntityType<?> type = entityTypes.get(invalidation.getEntityType());
+        if (type == null) {
+            return;
+        }
+        Object id = type.getIdType().getJavaType() == Long.class
+            ? Long.valueOf(invalidation.getEntityId())
+            : invalidation.getEntityId();
+        entityManagerFactory.getCache().evict(type.getJavaType(), id);
+    }
+}
@@ -0,0 +1,134 @@
+package com.insurancemegacorp.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Multi-node stand-in that exchanges invalidations with peer instances over loopback UDP, so
+ * several instances on one machine can be checked for cache coherence without a message broker.
+ * <p>
+ * Each datagram holds one or more invalidations as lines of
+ * {@code entityType \t entityId \t field,field}. Delivery is best effort: a lost datagram
+ * leaves a peer's cache stale until its entry expires, which is acceptable for a test
+ * stand-in but not for production coherence.
+ */
+public class UdpInvalidationTransport implements InvalidationTransport, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(UdpInvalidationTransport.class);
+
+    /** Stays under a typical Ethernet MTU so datagrams are not fragmented. */
+    private static final int MAX_DATAGRAM_BYTES = 1400;
+
+    private final DatagramSocket socket;
+    private final List<InetSocketAddress> peers;
+    private Thread receiverThread;
+
+    public UdpInvalidationTransport(int port, List<InetSocketAddress> peers) {
+        try {
+            this.socket = new DatagramSocket(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        } catch (SocketException e) {
+            throw new UncheckedIOException("Unable to bind invalidation transport to port " + port, e);
+        }
+        this.peers = new ArrayList<>(peers);
+        log.info("Invalidation transport listening on port {} with peers {}", socket.getLocalPort(), peers);
+    }
+
+    @Override
+    public synchronized void start(Consumer<List<EntityInvalidation>> receiver) {
+        if (receiverThread != null) {
+            throw new IllegalStateException("Invalidation transport already started");
+        }
+        receiverThread = new Thread(() -> receive(receiver), "invalidation-receiver");
+        receiverThread.setDaemon(true);
+        receiverThread.start();
+    }
+
+    @Override
+    public void send(List<EntityInvalidation> invalidations) {
+        StringBuilder datagram = new StringBuilder();
+        for (EntityInvalidation invalidation : invalidations) {
+            String line = invalidation.getEntityType() + '\t' + invalidation.getEntityId() + '\t'
+                + String.join(",", invalidation.getChangedFields()) + '\n';
+            if (datagram.length() > 0 && datagram.length() + line.length() > MAX_DATAGRAM_BYTES) {
+                sendToPeers(datagram.toString());
+                datagram.setLength(0);
+            }
+            datagram.append(line);
+        }
+        if (datagram.length() > 0) {
+            sendToPeers(datagram.toString());
+        }
+    }
+
+    private void sendToPeers(String datagram) {
+        byte[] bytes = datagram.getBytes(StandardCharsets.UTF_8);
+        for (InetSocketAddress peer : peers) {
+            try {
+                socket.send(new DatagramPacket(bytes, bytes.length, peer));
+            } catch (IOException e) {
+                log.warn("Unable to send invalidations to {}", peer, e);
+            }
+        }
+    }
+
+    private void receive(Consumer<List<EntityInvalidation>> receiver) {
+        byte[] buffer = new byte[64 * 1024];
+        while (!socket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    log.warn("Invalidation receive failed", e);
+                }
+                continue;
+            }
+            try {
+                receiver.accept(decode(new String(packet.getData(), 0, packet.getLength(), StandardCharsets.UTF_8)));
+            } catch (RuntimeException e) {
+                log.warn("Ignoring malformed invalidation datagram from {}", packet.getSocketAddress(), e);
+            }
+        }
+    }
+
+    private static List<EntityInvalidation> decode(String datagram) {
+        List<EntityInvalidation> invalidations = new ArrayList<>();
+        for (String line : datagram.split("\n")) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] parts = line.split("\t", -1);
+            Set<String> fields = parts[2].isEmpty()
+                ? Collections.emptySet()
+                : new HashSet<>(Arrays.asList(parts[2].split(",")));
+            invalidations.add(new EntityInvalidation(parts[0], parts[1], fields, true));
+        }
+        return invalidations;
+    }
+
+    public int getPort() {
+        return socket.getLocalPort();
+    }
+
+    @Override
+    public void close() {
+        socket.close();
+    }
+}
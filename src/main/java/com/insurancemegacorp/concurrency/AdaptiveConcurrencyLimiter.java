@@ -0,0 +1,122 @@
+package com.insurancemegacorp.concurrency;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limiter whose limit adapts to observed latency using AIMD
+ * (additive increase, multiplicative decrease).
+ * <p>
+ * Callers {@link #tryAcquire()} a permit before starting work and report the outcome on the
+ * returned {@link Permit}. A request that finishes within the latency target while the
+ * limiter is at least half utilised grows the limit by roughly one per limit's worth of
+ * completions; a slow or failed request shrinks it by the backoff ratio. When the limit is
+ * reached new work is rejected immediately instead of queueing.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private double limit;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      long latencyTarget, TimeUnit unit, double backoffRatio) {
+        if (minLimit <= 0 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 0 < min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = unit.toNanos(latencyTarget);
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Tries to admit one unit of work.
+     *
+     * @return a permit that must be completed exactly once, or empty if the limit is reached
+     */
+    public Optional<Permit> tryAcquire() {
+        int currentLimit = getLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= currentLimit) {
+                return Optional.empty();
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return Optional.of(new Permit(current + 1));
+            }
+        }
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long latencyNanos, boolean failed, int inFlightAtStart) {
+        if (failed || latencyNanos > latencyTargetNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlightAtStart * 2 >= limit) {
+            // Only probe upwards when the current limit is actually being used
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    /**
+     * An admitted unit of work.
+     */
+    public class Permit {
+
+        private final long startNanos = System.nanoTime();
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * Releases the permit and feeds its latency into the limit.
+         */
+        public void onSuccess() {
+            release(false);
+        }
+
+        /**
+         * Releases the permit and backs the limit off, e.g. after a timeout or overload error.
+         */
+        public void onDropped() {
+            release(true);
+        }
+
+        /**
+         * Releases the permit without adjusting the limit, e.g. after a validation error that
+         * says nothing about system load.
+         */
+        public void onIgnore() {
+            if (released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        private void release(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+                onSample(System.nanoTime() - startNanos, failed, inFlightAtStart);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.insurancemegacorp.concurrency;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Implements {@link RetryOnConflict}: retries the invocation on
+ * {@link OptimisticLockingFailureException} with a short, jittered backoff.
+ * <p>
+ * Must be ordered outside the transaction interceptor. If a transaction is already active
+ * when the method is called, the conflict belongs to the caller's transaction and is
+ * rethrown without retrying.
+ */
+public class ConflictRetryInterceptor implements MethodInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(ConflictRetryInterceptor.class);
+
+    private final long baseBackoffMillis;
+
+    public ConflictRetryInterceptor(long baseBackoffMillis) {
+        this.baseBackoffMillis = baseBackoffMillis;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getThis() != null
+            ? AopUtils.getMostSpecificMethod(invocation.getMethod(), invocation.getThis().getClass())
+            : invocation.getMethod();
+        RetryOnConflict retry = AnnotatedElementUtils.findMergedAnnotation(method, RetryOnConflict.class);
+        if (retry == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return invocation.proceed();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                // A clone restarts the rest of the interceptor chain, including the transaction
+                return invocation instanceof ProxyMethodInvocation
+                    ? ((ProxyMethodInvocation) invocation).invocableClone().proceed()
+                    : invocation.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= retry.maxAttempts()) {
+                    throw e;
+                }
+                log.debug("Conflict in {} on attempt {}, retrying", method.getName(), attempt);
+                // Jitter spreads competing writers out so they do not collide again
+                long backoff = baseBackoffMillis * attempt + ThreadLocalRandom.current().nextLong(baseBackoffMillis + 1);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(backoff));
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.insurancemegacorp.concurrency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a transactional method when it loses an optimistic-locking race.
+ * <p>
+ * The retry wraps the transaction, so every attempt starts a fresh transaction and re-reads
+ * the current state. Only use it on methods that are safe to repeat from the start.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RetryOnConflict {
+
+    /**
+     * Total attempts, including the first.
+     *
+     * @return the maximum number of attempts
+     */
+    int maxAttempts() default 3;
+}
@@ -0,0 +1,90 @@
+package com.insurancemegacorp.concurrency;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent computations for the same key into one.
+ * <p>
+ * The first caller for a key runs the computation on its own thread; callers that arrive
+ * while it is running wait for and share its result (or exception). The entry is removed as
+ * soon as the computation finishes, so results are never cached beyond the in-flight window.
+ *
+ * @param <K> the key type; must implement equals and hashCode
+ * @param <V> the result type
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+
+    /**
+     * Runs the computation for a key, or joins the one already running.
+     *
+     * @param key the key identifying identical computations
+     * @param computation the computation to run if none is in flight
+     * @return the (possibly shared) result
+     */
+    public V execute(K key, Supplier<V> computation) {
+        CompletableFuture<V> owned = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, owned);
+        if (existing != null) {
+            deduplicated.increment();
+            return join(existing);
+        }
+
+        executions.increment();
+        try {
+            V result = computation.get();
+            owned.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            owned.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, owned);
+        }
+    }
+
+    /**
+     * Returns how many computations actually ran.
+     *
+     * @return the number of executed computations
+     */
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    /**
+     * Returns how many callers shared another caller's computation instead of running their own.
+     *
+     * @return the number of deduplicated calls
+     */
+    public long getDeduplicated() {
+        return deduplicated.sum();
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
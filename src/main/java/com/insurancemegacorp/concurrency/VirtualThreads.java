@@ -0,0 +1,81 @@
+package com.insurancemegacorp.concurrency;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads when the running JVM provides them (Java 21+).
+ * <p>
+ * The project is compiled for an older release, so the JDK API is looked up reflectively
+ * once; on older runtimes every method returns empty and callers keep their platform threads.
+ */
+public final class VirtualThreads {
+
+    private static final Method OF_VIRTUAL = lookup(Thread.class, "ofVirtual");
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Returns whether the running JVM supports virtual threads.
+     *
+     * @return true on Java 21+
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates a factory for named virtual threads ({@code prefix0}, {@code prefix1}, ...).
+     *
+     * @param prefix the thread name prefix
+     * @return the thread factory, or empty if virtual threads are not supported
+     */
+    public static Optional<ThreadFactory> threadFactory(String prefix) {
+        if (OF_VIRTUAL == null) {
+            return Optional.empty();
+        }
+        try {
+            // Thread.ofVirtual().name(prefix, 0).factory()
+            Object builder = OF_VIRTUAL.invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return Optional.of((ThreadFactory) builderType.getMethod("factory").invoke(builder));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create virtual thread factory", e);
+        }
+    }
+
+    /**
+     * Creates an executor that starts a new named virtual thread per task.
+     *
+     * @param prefix the thread name prefix
+     * @return the executor, or empty if virtual threads are not supported
+     */
+    public static Optional<ExecutorService> newThreadPerTaskExecutor(String prefix) {
+        Optional<ThreadFactory> factory = threadFactory(prefix);
+        if (!factory.isPresent()) {
+            return Optional.empty();
+        }
+        try {
+            Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return Optional.of((ExecutorService) method.invoke(null, factory.get()));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create virtual thread executor", e);
+        }
+    }
+
+    private static Method lookup(Class<?> type, String name) {
+        try {
+            Method method = type.getMethod(name);
+            // Preview builds (Java 19/20) expose the method but refuse to run it without --enable-preview
+            method.invoke(null);
+            return method;
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+}
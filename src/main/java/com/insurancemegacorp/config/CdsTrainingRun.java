@@ -0,0 +1,40 @@
+package com.insurancemegacorp.config;
+
+import com.insurancemegacorp.model.QuoteRequest;
+import com.insurancemegacorp.service.QuoteService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Training run for the AppCDS archive built by the {@code fast-start} Maven profile.
+ * Once the application is ready it issues one quote, so the classes on the quote path are
+ * loaded too, then exits; the JVM writes the archive on exit.
+ */
+@Component
+@ConditionalOnProperty(name = "quote.startup.training-run", havingValue = "true")
+public class CdsTrainingRun implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(CdsTrainingRun.class);
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        QuoteRequest request = new QuoteRequest();
+        request.setCustomerName("Training Run");
+        request.setCustomerAge(35);
+        request.setVehicleYear(2020);
+        request.setVehicleMake("Toyota");
+        try {
+            event.getApplicationContext().getBean(QuoteService.class).generateQuote(request);
+        } catch (RuntimeException e) {
+            // The archive is still useful without the quote path classes
+            log.warn("Training quote failed", e);
+        }
+        log.info("Training run complete, exiting so the class data archive is written");
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
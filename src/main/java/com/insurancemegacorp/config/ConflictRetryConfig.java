@@ -0,0 +1,32 @@
+package com.insurancemegacorp.config;
+
+import com.insurancemegacorp.concurrency.ConflictRetryInterceptor;
+import com.insurancemegacorp.concurrency.RetryOnConflict;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+/**
+ * Applies {@link RetryOnConflict} to annotated service methods.
+ */
+@Configuration
+public class ConflictRetryConfig {
+
+    // Infrastructure role so the transaction auto-proxy creator picks the advisor up without AspectJ;
+    // ordered just ahead of the transaction advisor so each retry gets a fresh transaction
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor conflictRetryAdvisor(@Value("${quote.conflict-retry.backoff-ms:10}") long backoffMillis) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+            AnnotationMatchingPointcut.forMethodAnnotation(RetryOnConflict.class),
+            new ConflictRetryInterceptor(backoffMillis));
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return advisor;
+    }
+}
@@ -0,0 +1,24 @@
+package com.insurancemegacorp.config;
+
+import com.insurancemegacorp.service.QuoteService;
+import com.insurancemegacorp.web.QuoteController;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Startup tuning for the {@code fast-start} profile (see application-fast-start.properties).
+ * Everything is lazily initialized except the synchronous quote path, so the first quote does
+ * not pay for bean creation while simulations, async and reactive paths stay cold until used.
+ */
+@Configuration
+@Profile("fast-start")
+public class FastStartConfig {
+
+    // Static so it is available before any other bean definition is processed
+    @Bean
+    public static LazyInitializationExcludeFilter quotePathEagerInitialization() {
+        return LazyInitializationExcludeFilter.forBeanTypes(QuoteController.class, QuoteService.class);
+    }
+}
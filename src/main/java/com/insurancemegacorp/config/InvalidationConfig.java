@@ -0,0 +1,39 @@
+package com.insurancemegacorp.config;
+
+import com.insurancemegacorp.cache.UdpInvalidationTransport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cross-instance cache invalidation. Off by default (single node); set
+ * {@code quote.invalidation.transport=udp} with a port and peer list to run several
+ * instances locally and check that their caches stay coherent.
+ */
+@Configuration
+public class InvalidationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "quote.invalidation.transport", havingValue = "udp")
+    public UdpInvalidationTransport udpInvalidationTransport(@Value("${quote.invalidation.udp.port}") int port,
+                                                             @Value("${quote.invalidation.udp.peers:}") List<String> peers) {
+        List<InetSocketAddress> peerAddresses = new ArrayList<>();
+        for (String peer : peers) {
+            if (peer.trim().isEmpty()) {
+                continue;
+            }
+            int separator = peer.lastIndexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalidation peer must be host:port, got " + peer);
+            }
+            peerAddresses.add(new InetSocketAddress(peer.substring(0, separator).trim(),
+                Integer.parseInt(peer.substring(separator + 1).trim())));
+        }
+        return new UdpInvalidationTransport(port, peerAddresses);
+    }
+}
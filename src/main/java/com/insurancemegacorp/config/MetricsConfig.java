@@ -0,0 +1,28 @@
+package com.insurancemegacorp.config;
+
+import com.insurancemegacorp.metrics.QueryInspector;
+import com.insurancemegacorp.metrics.RepositoryMetricsBeanPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics wiring beyond what Spring Boot Actuator configures on its own.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Static so the post processor does not force early initialization of this configuration
+    @Bean
+    public static RepositoryMetricsBeanPostProcessor repositoryMetricsBeanPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RepositoryMetricsBeanPostProcessor(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryInspectorCustomizer(QueryInspector queryInspector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryInspector);
+    }
+}
@@ -0,0 +1,33 @@
+package com.insurancemegacorp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurancemegacorp.outbox.FileChangeEventSink;
+import com.insurancemegacorp.outbox.InMemoryChangeEventSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Selects where relayed change events go: {@code quote.outbox.sink=memory} (default) for an
+ * in-process broker stand-in, or {@code file} for a JSON Lines file.
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "quote.outbox.sink", havingValue = "memory", matchIfMissing = true)
+    public InMemoryChangeEventSink inMemoryChangeEventSink() {
+        return new InMemoryChangeEventSink();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "quote.outbox.sink", havingValue = "file")
+    public FileChangeEventSink fileChangeEventSink(ObjectMapper objectMapper,
+                                               @Value("${quote.outbox.file:target/outbox/change-events.jsonl}") String file) throws IOException {
+        return new FileChangeEventSink(Paths.get(file), objectMapper);
+    }
+}
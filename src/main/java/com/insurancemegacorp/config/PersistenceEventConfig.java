@@ -0,0 +1,70 @@
+package com.insurancemegacorp.config;
+
+import com.insurancemegacorp.aggregate.AggregateChangeListener;
+import com.insurancemegacorp.aggregate.DashboardAggregates;
+import com.insurancemegacorp.cache.InvalidationBus;
+import com.insurancemegacorp.cache.InvalidationEventListener;
+import com.insurancemegacorp.search.SearchIndexListener;
+import com.insurancemegacorp.search.TextSearchIndex;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collections;
+
+/**
+ * Registers Hibernate post-commit event listeners that keep in-memory read models,
+ * caches and the text search index in step with committed entity changes.
+ */
+@Configuration
+public class PersistenceEventConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer persistenceEventListenerCustomizer(InvalidationBus invalidationBus,
+                                                                           ObjectProvider<DashboardAggregates> aggregates,
+                                                                           ObjectProvider<TextSearchIndex> searchIndex) {
+        // Dashboard aggregates and text search are not part of the quote-only profile
+        DashboardAggregates dashboardAggregates = aggregates.getIfAvailable();
+        TextSearchIndex textSearchIndex = searchIndex.getIfAvailable();
+        Integrator integrator = new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                                  SessionFactoryServiceRegistry serviceRegistry) {
+                EventListenerRegistry registry = serviceRegistry.getService(EventListenerRegistry.class);
+                register(registry, new InvalidationEventListener(invalidationBus));
+                if (dashboardAggregates != null) {
+                    register(registry, new AggregateChangeListener(dashboardAggregates));
+                }
+                if (textSearchIndex != null) {
+                    register(registry, new SearchIndexListener(textSearchIndex));
+                }
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+                // Listeners are discarded with the session factory
+            }
+        };
+        IntegratorProvider integratorProvider = () -> Collections.singletonList(integrator);
+        return properties -> properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER, integratorProvider);
+    }
+
+    private static <L extends PostCommitInsertEventListener & PostCommitUpdateEventListener & PostCommitDeleteEventListener>
+            void register(EventListenerRegistry registry, L listener) {
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+}
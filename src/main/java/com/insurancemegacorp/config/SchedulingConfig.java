@@ -0,0 +1,15 @@
+package com.insurancemegacorp.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled jobs such as the policy lifecycle sweep.
+ * Set {@code quote.scheduling.enabled=false} on instances that should only serve requests.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "quote.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
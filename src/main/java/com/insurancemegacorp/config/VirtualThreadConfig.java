@@ -0,0 +1,30 @@
+package com.insurancemegacorp.config;
+
+import com.insurancemegacorp.concurrency.VirtualThreads;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Opt-in execution mode that serves every request on its own virtual thread
+ * ({@code quote.execution.virtual-threads=true}, Java 21+). Quote and customer service calls
+ * run on the request thread, so their blocking JDBC work parks the virtual thread instead of
+ * holding a platform thread; the connection pool still bounds database concurrency.
+ */
+@Configuration
+@ConditionalOnProperty(name = "quote.execution.virtual-threads", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> VirtualThreads.newThreadPerTaskExecutor("tomcat-handler-")
+            .ifPresentOrElse(protocolHandler::setExecutor,
+                () -> log.warn("Virtual threads requested but not supported by this JVM; using the Tomcat thread pool"));
+    }
+}
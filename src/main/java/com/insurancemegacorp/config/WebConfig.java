@@ -0,0 +1,51 @@
+package com.insurancemegacorp.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.insurancemegacorp.metrics.QueryInspector;
+import com.insurancemegacorp.web.QueryInspectionInterceptor;
+import com.insurancemegacorp.web.QuoteHttpMessageConverter;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Spring MVC customizations.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectFactory<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+    private final QueryInspector queryInspector;
+
+    @Autowired
+    public WebConfig(ObjectFactory<Jackson2ObjectMapperBuilder> objectMapperBuilder, QueryInspector queryInspector) {
+        this.objectMapperBuilder = objectMapperBuilder;
+        this.queryInspector = queryInspector;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryInspectionInterceptor(queryInspector));
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Ahead of the generic converters so they claim the quote types first; JSON is listed
+        // first so it stays the default when the client does not ask for a binary format.
+        // The builder is prototype-scoped, so each format gets the application's Jackson settings.
+        converters.add(0, new QuoteHttpMessageConverter(
+            objectMapperBuilder.getObject().build(), MediaType.APPLICATION_JSON));
+        converters.add(1, new QuoteHttpMessageConverter(
+            objectMapperBuilder.getObject().factory(new SmileFactory()).build(), QuoteHttpMessageConverter.APPLICATION_SMILE));
+        converters.add(2, new QuoteHttpMessageConverter(
+            objectMapperBuilder.getObject().factory(new CBORFactory()).build(), MediaType.APPLICATION_CBOR));
+    }
+}
@@ -0,0 +1,12 @@
+package com.insurancemegacorp.exception;
+
+/**
+ * Exception thrown in enforcing mode when a request issues more SQL statements than its
+ * query budget allows.
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
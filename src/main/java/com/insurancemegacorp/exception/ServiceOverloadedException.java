@@ -0,0 +1,19 @@
+package com.insurancemegacorp.exception;
+
+/**
+ * Exception thrown when a request is shed because the service is at capacity.
+ * Callers should retry after {@link #getRetryAfterSeconds()}.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
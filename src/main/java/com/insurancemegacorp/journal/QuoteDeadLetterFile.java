@@ -0,0 +1,64 @@
+package com.insurancemegacorp.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.insurancemegacorp.model.QuoteRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * JSON Lines file of quotes the database permanently rejected, one quote per line.
+ * <p>
+ * Each line carries the quote ID, when and why it was rejected, and the record in its
+ * journal encoding (Base64), so it can be decoded with {@link QuoteRecordCodec} and
+ * re-submitted once the cause is fixed. Every append is forced to disk before it returns,
+ * which is what allows the journal checkpoint to move past the quote.
+ */
+public class QuoteDeadLetterFile implements Closeable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final FileChannel channel;
+
+    public QuoteDeadLetterFile(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Durably records a rejected quote.
+     *
+     * @param quote the quote that could not be stored
+     * @param cause why the database rejected it
+     * @throws IOException if the line cannot be written and forced to disk
+     */
+    public synchronized void append(QuoteRecord quote, Throwable cause) throws IOException {
+        ObjectNode node = objectMapper.createObjectNode()
+            .put("quoteId", quote.getQuoteId())
+            .put("failedAt", Instant.now().toString())
+            .put("error", String.valueOf(cause))
+            .put("record", Base64.getEncoder().encodeToString(QuoteRecordCodec.encode(quote)));
+        byte[] line = (objectMapper.writeValueAsString(node) + '\n').getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
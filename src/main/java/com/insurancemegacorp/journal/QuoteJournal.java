@@ -0,0 +1,230 @@
+package com.insurancemegacorp.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of fixed-size, memory-mapped segment files.
+ * <p>
+ * Each record is laid out as {@code [int length][int crc32][payload]}. Segments are
+ * pre-sized, so a zero length marks the end of the written data and a CRC mismatch
+ * marks a torn write at the tail. Positions are encoded as {@code segment << 32 | offset}.
+ * A separate checkpoint file records the position up to which records have been
+ * durably applied elsewhere; segments entirely before it are deleted.
+ */
+public class QuoteJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "quotes-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int HEADER_SIZE = 8;
+
+    /**
+     * Receives each record found during replay.
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        void accept(long endPosition, byte[] payload);
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+
+    public QuoteJournal(Path directory, int segmentSize, boolean fsync) throws IOException {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Segment size must be greater than " + HEADER_SIZE);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+
+        Files.createDirectories(directory);
+        List<Integer> segments = listSegments();
+        if (segments.isEmpty()) {
+            openSegment(0);
+        } else {
+            // Resume writing after the last valid record of the newest segment
+            int last = segments.get(segments.size() - 1);
+            openSegment(last);
+            segment.position(scanToTail(segment, 0, null, last));
+        }
+    }
+
+    /**
+     * Appends a record and returns the position immediately after it.
+     *
+     * @param payload the record bytes
+     * @return the journal position following the record
+     * @throws IOException if a new segment cannot be created
+     */
+    public synchronized long append(byte[] payload) throws IOException {
+        int recordSize = HEADER_SIZE + payload.length;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes exceeds the segment size");
+        }
+        if (segment.remaining() < recordSize) {
+            force();
+            channel.close();
+            openSegment(segmentIndex + 1);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        int start = segment.position();
+        // Write the payload and checksum before the length so a reader never sees a partial record
+        segment.position(start + HEADER_SIZE);
+        segment.put(payload);
+        segment.putInt(start + 4, (int) crc.getValue());
+        segment.putInt(start, payload.length);
+        if (fsync) {
+            segment.force();
+        }
+        return position(segmentIndex, segment.position());
+    }
+
+    /**
+     * Replays every valid record after the given position, in append order.
+     *
+     * @param fromPosition the position to start from (typically the checkpoint)
+     * @param handler receives each record with the position following it
+     * @throws IOException if a segment cannot be read
+     */
+    public synchronized void replay(long fromPosition, RecordHandler handler) throws IOException {
+        int fromSegment = segmentOf(fromPosition);
+        for (int index : listSegments()) {
+            if (index < fromSegment) {
+                continue;
+            }
+            int startOffset = index == fromSegment ? offsetOf(fromPosition) : 0;
+            try (FileChannel readChannel = FileChannel.open(segmentPath(index), StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                scanToTail(buffer, startOffset, handler, index);
+            }
+        }
+    }
+
+    /**
+     * Reads the last checkpointed position.
+     *
+     * @return the checkpoint position, or 0 if none has been written
+     * @throws IOException if the checkpoint file cannot be read
+     */
+    public synchronized long readCheckpoint() throws IOException {
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(checkpoint)) {
+            return 0L;
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(checkpoint)).getLong();
+    }
+
+    /**
+     * Records that everything before the given position has been applied and
+     * deletes segments that are no longer needed for replay.
+     *
+     * @param position the new checkpoint position
+     * @throws IOException if the checkpoint cannot be written
+     */
+    public synchronized void checkpoint(long position) throws IOException {
+        Path tmp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.write(tmp, ByteBuffer.allocate(Long.BYTES).putLong(position).array());
+        Files.move(tmp, directory.resolve(CHECKPOINT_FILE),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        int checkpointSegment = segmentOf(position);
+        for (int index : listSegments()) {
+            if (index < checkpointSegment && index != segmentIndex) {
+                Files.deleteIfExists(segmentPath(index));
+            }
+        }
+    }
+
+    public synchronized void force() {
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        force();
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private int scanToTail(ByteBuffer buffer, int offset, RecordHandler handler, int index) {
+        int position = offset;
+        while (position + HEADER_SIZE <= buffer.limit()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_SIZE + length > buffer.limit()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            ByteBuffer slice = buffer.duplicate();
+            slice.position(position + HEADER_SIZE);
+            slice.get(payload);
+
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break; // torn write at the tail
+            }
+            position += HEADER_SIZE + length;
+            if (handler != null) {
+                handler.accept(position(index, position), payload);
+            }
+        }
+        return position;
+    }
+
+    private void openSegment(int index) throws IOException {
+        channel = FileChannel.open(segmentPath(index),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segmentIndex = index;
+    }
+
+    private List<Integer> listSegments() throws IOException {
+        List<Integer> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                .map(name -> Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                .sorted()
+                .forEach(segments::add);
+        }
+        return segments;
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private static long position(int segment, int offset) {
+        return ((long) segment << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    private static int segmentOf(long position) {
+        return (int) (position >>> 32);
+    }
+
+    private static int offsetOf(long position) {
+        return (int) position;
+    }
+}
@@ -0,0 +1,92 @@
+package com.insurancemegacorp.journal;
+
+import com.insurancemegacorp.model.QuoteRecord;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Binary encoding of {@link QuoteRecord} for the quote journal.
+ * The first byte is a format version so older segments stay readable after changes.
+ */
+public final class QuoteRecordCodec {
+
+    private static final byte VERSION = 1;
+
+    private QuoteRecordCodec() {
+    }
+
+    public static byte[] encode(QuoteRecord record) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(record.getQuoteId());
+            writeNullable(out, record.getCustomerId());
+            writeNullable(out, record.getCustomerName());
+            out.writeInt(record.getCustomerAge());
+            writeNullable(out, record.getDriverLicenseNumber());
+            writeNullable(out, record.getVehicleId());
+            writeNullable(out, record.getVin());
+            out.writeInt(record.getVehicleYear());
+            writeNullable(out, record.getVehicleMake());
+            out.writeInt(record.getCoverages().size());
+            for (Map.Entry<String, Double> entry : record.getCoverages().entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeDouble(entry.getValue());
+            }
+            out.writeLong(record.getIssuedAt().toEpochMilli());
+            out.writeLong(record.getExpirationDate().getTime());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to encode quote " + record.getQuoteId(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static QuoteRecord decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported quote record version: " + version);
+            }
+            String quoteId = in.readUTF();
+            String customerId = readNullable(in);
+            String customerName = readNullable(in);
+            int customerAge = in.readInt();
+            String driverLicenseNumber = readNullable(in);
+            String vehicleId = readNullable(in);
+            String vin = readNullable(in);
+            int vehicleYear = in.readInt();
+            String vehicleMake = readNullable(in);
+            int coverageCount = in.readInt();
+            Map<String, Double> coverages = new LinkedHashMap<>();
+            for (int i = 0; i < coverageCount; i++) {
+                coverages.put(in.readUTF(), in.readDouble());
+            }
+            Instant issuedAt = Instant.ofEpochMilli(in.readLong());
+            Date expirationDate = new Date(in.readLong());
+            return new QuoteRecord(quoteId, customerId, customerName, customerAge, driverLicenseNumber,
+                vehicleId, vin, vehicleYear, vehicleMake, coverages, issuedAt, expirationDate);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to decode quote record", e);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
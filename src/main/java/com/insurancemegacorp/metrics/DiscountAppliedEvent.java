@@ -0,0 +1,41 @@
+package com.insurancemegacorp.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a discount applied to an issued quote.
+ */
+@Name("com.insurancemegacorp.DiscountApplied")
+@Label("Discount Applied")
+@Category({"Customer Quote", "Rating"})
+@Description("Discount applied to an issued quote")
+@StackTrace(false)
+public class DiscountAppliedEvent extends Event {
+
+    @Label("Quote ID")
+    private String quoteId;
+
+    @Label("Discount")
+    private String discount;
+
+    @Label("Factor")
+    @Description("Multiplier applied to each coverage")
+    private double factor;
+
+    public void setQuoteId(String quoteId) {
+        this.quoteId = quoteId;
+    }
+
+    public void setDiscount(String discount) {
+        this.discount = discount;
+    }
+
+    public void setFactor(double factor) {
+        this.factor = factor;
+    }
+}
@@ -0,0 +1,34 @@
+package com.insurancemegacorp.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint ({@code /actuator/queryhotspots}) listing the call sites that most often
+ * issued the same SQL statement repeatedly within one request.
+ */
+@Component
+@Profile("!quote-only")
+@Endpoint(id = "queryhotspots")
+public class QueryHotspotsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final QueryInspector queryInspector;
+
+    @Autowired
+    public QueryHotspotsEndpoint(QueryInspector queryInspector) {
+        this.queryInspector = queryInspector;
+    }
+
+    @ReadOperation
+    public List<QueryInspector.HotspotSummary> hotspots(@Nullable Integer limit) {
+        return queryInspector.getTopHotspots(limit != null ? limit : DEFAULT_LIMIT);
+    }
+}
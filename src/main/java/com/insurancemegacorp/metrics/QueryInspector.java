@@ -0,0 +1,252 @@
+package com.insurancemegacorp.metrics;
+
+import com.insurancemegacorp.exception.QueryBudgetExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the SQL statements Hibernate issues within a {@link QueryScope} and flags repeated
+ * identical statements (N+1 loads through lazy collections such as {@code Customer.policies}
+ * or {@code Policy.coverages}).
+ * <p>
+ * Registered with Hibernate as its {@link StatementInspector}. Statements issued outside an
+ * open scope cost one thread-local read. In {@code sample} mode only a fraction of requests
+ * open a scope and problems are reported, not raised; in {@code enforce} mode (meant for
+ * tests) every request is inspected and exceeding the budget fails the statement with a
+ * {@link QueryBudgetExceededException}.
+ * <p>
+ * When a statement repeats {@code repeat-threshold} times in one scope, the application
+ * frame that issued it is recorded as a hotspot; the most frequent ones are exposed through
+ * the {@code queryhotspots} actuator endpoint.
+ */
+@Component
+public class QueryInspector implements StatementInspector {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryInspector.class);
+
+    private static final String APPLICATION_PACKAGE = "com.insurancemegacorp.";
+    private static final int MAX_HOTSPOTS = 1000;
+
+    public enum Mode {
+        OFF, SAMPLE, ENFORCE
+    }
+
+    private final ThreadLocal<QueryScope> currentScope = new ThreadLocal<>();
+    private final Map<Hotspot, LongAdder> hotspots = new ConcurrentHashMap<>();
+
+    private final Mode mode;
+    private final double sampleRate;
+    private final int defaultBudget;
+    private final int repeatThreshold;
+    private final MeterRegistry meterRegistry;
+    private final Counter overBudget;
+    private final Counter repeatedStatements;
+
+    @Autowired
+    public QueryInspector(@Value("${quote.query-inspection.mode:sample}") String mode,
+                          @Value("${quote.query-inspection.sample-rate:0.01}") double sampleRate,
+                          @Value("${quote.query-inspection.default-budget:10}") int defaultBudget,
+                          @Value("${quote.query-inspection.repeat-threshold:3}") int repeatThreshold,
+                          MeterRegistry meterRegistry) {
+        this.mode = Mode.valueOf(mode.trim().toUpperCase());
+        this.sampleRate = sampleRate;
+        this.defaultBudget = defaultBudget;
+        this.repeatThreshold = repeatThreshold;
+        this.meterRegistry = meterRegistry;
+        this.overBudget = Counter.builder("quote.queries.over.budget")
+            .description("Inspected scopes that issued more statements than their budget")
+            .register(meterRegistry);
+        this.repeatedStatements = Counter.builder("quote.queries.repeated")
+            .description("Statements repeated at least repeat-threshold times in one scope (suspected N+1)")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Opens a scope on the current thread if this unit of work is selected for inspection.
+     *
+     * @param name the scope name, typically the handler method
+     * @param budget the statement budget, or a negative value for the default budget
+     * @return the open scope, or empty if the work is not being inspected
+     */
+    public Optional<QueryScope> openSampledScope(String name, int budget) {
+        if (mode == Mode.OFF || (mode == Mode.SAMPLE && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return Optional.empty();
+        }
+        return Optional.of(openScope(name, budget));
+    }
+
+    /**
+     * Unconditionally opens a scope on the current thread, replacing any open one.
+     * Intended for tests and batch jobs that want an exact statement count.
+     *
+     * @param name the scope name
+     * @param budget the statement budget, or a negative value for the default budget
+     * @return the open scope
+     */
+    public QueryScope openScope(String name, int budget) {
+        QueryScope scope = new QueryScope(name, budget < 0 ? defaultBudget : budget);
+        currentScope.set(scope);
+        return scope;
+    }
+
+    /**
+     * Closes the current thread's scope and records its statement counts.
+     *
+     * @return the closed scope, or empty if none was open
+     */
+    public Optional<QueryScope> closeScope() {
+        QueryScope scope = currentScope.get();
+        if (scope == null) {
+            return Optional.empty();
+        }
+        currentScope.remove();
+
+        DistributionSummary.builder("quote.queries.per.scope")
+            .description("SQL statements issued per inspected request")
+            .tag("scope", scope.getName())
+            .register(meterRegistry)
+            .record(scope.getStatementCount());
+        if (scope.isOverBudget()) {
+            overBudget.increment();
+            log.warn("{} issued {} SQL statements ({} distinct), budget is {}", scope.getName(),
+                scope.getStatementCount(), scope.getDistinctStatementCount(), scope.getBudget());
+        }
+        return Optional.of(scope);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        QueryScope scope = currentScope.get();
+        if (scope == null) {
+            return sql;
+        }
+
+        int repeats = scope.record(sql);
+        if (repeats == repeatThreshold) {
+            repeatedStatements.increment();
+            recordHotspot(scope, sql);
+        }
+        if (mode == Mode.ENFORCE && scope.isOverBudget()) {
+            throw new QueryBudgetExceededException(scope.getName() + " exceeded its budget of "
+                + scope.getBudget() + " SQL statements; statement " + scope.getStatementCount() + ": " + sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Returns the call sites that most often issued repeated statements.
+     *
+     * @param limit the maximum number of hotspots
+     * @return hotspots ordered by how many scopes hit them, most frequent first
+     */
+    public List<HotspotSummary> getTopHotspots(int limit) {
+        return hotspots.entrySet().stream()
+            .map(entry -> new HotspotSummary(entry.getKey().callSite, entry.getKey().sql, entry.getValue().sum()))
+            .sorted(Comparator.comparingLong(HotspotSummary::getOccurrences).reversed())
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    private void recordHotspot(QueryScope scope, String sql) {
+        String callSite = findCallSite();
+        log.warn("Possible N+1 in {}: statement repeated {} times from {}: {}", scope.getName(), repeatThreshold, callSite, sql);
+
+        Hotspot hotspot = new Hotspot(callSite, sql);
+        LongAdder occurrences = hotspots.get(hotspot);
+        if (occurrences == null) {
+            if (hotspots.size() >= MAX_HOTSPOTS) {
+                return;
+            }
+            occurrences = hotspots.computeIfAbsent(hotspot, key -> new LongAdder());
+        }
+        occurrences.increment();
+    }
+
+    // Only runs when a repeat is detected, so walking the stack is affordable here
+    private static String findCallSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+            .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE))
+            .filter(frame -> !frame.getClassName().startsWith(QueryInspector.class.getPackageName()))
+            .filter(frame -> !frame.getClassName().contains("$$"))
+            .findFirst()
+            .map(frame -> frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+            .orElse("unknown"));
+    }
+
+    private static final class Hotspot {
+
+        private final String callSite;
+        private final String sql;
+
+        Hotspot(String callSite, String sql) {
+            this.callSite = callSite;
+            this.sql = sql;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Hotspot)) {
+                return false;
+            }
+            Hotspot that = (Hotspot) o;
+            return callSite.equals(that.callSite) && sql.equals(that.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(callSite, sql);
+        }
+    }
+
+    /**
+     * A call site that repeatedly issued the same statement within single scopes.
+     */
+    public static class HotspotSummary {
+
+        private final String callSite;
+        private final String sql;
+        private final long occurrences;
+
+        HotspotSummary(String callSite, String sql, long occurrences) {
+            this.callSite = callSite;
+            this.sql = sql;
+            this.occurrences = occurrences;
+        }
+
+        public String getCallSite() {
+            return callSite;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public long getOccurrences() {
+            return occurrences;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.insurancemegacorp.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL statements issued by one unit of work (normally one HTTP request) on one thread.
+ * Not thread-safe; a scope is only ever touched by the thread that opened it.
+ */
+public class QueryScope {
+
+    private final String name;
+    private final int budget;
+    private final Map<String, Integer> statementCounts = new HashMap<>();
+    private int statementCount;
+    private int maxRepeats;
+
+    QueryScope(String name, int budget) {
+        this.name = name;
+        this.budget = budget;
+    }
+
+    /**
+     * Counts a statement and returns how many times this exact statement has now been seen.
+     */
+    int record(String sql) {
+        statementCount++;
+        int repeats = statementCounts.merge(sql, 1, Integer::sum);
+        maxRepeats = Math.max(maxRepeats, repeats);
+        return repeats;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public int getDistinctStatementCount() {
+        return statementCounts.size();
+    }
+
+    /**
+     * Returns the highest number of times any single statement was issued; a high value with
+     * few distinct statements is the signature of an N+1 load.
+     *
+     * @return the largest repeat count of one statement
+     */
+    public int getMaxRepeats() {
+        return maxRepeats;
+    }
+
+    public boolean isOverBudget() {
+        return statementCount > budget;
+    }
+}
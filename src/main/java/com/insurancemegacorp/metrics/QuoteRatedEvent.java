@@ -0,0 +1,42 @@
+package com.insurancemegacorp.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one premium rating, including time spent waiting on a coalesced computation.
+ */
+@Name("com.insurancemegacorp.QuoteRated")
+@Label("Quote Rated")
+@Category({"Customer Quote", "Rating"})
+@Description("Premium rating of one quote")
+@StackTrace(false)
+public class QuoteRatedEvent extends Event {
+
+    @Label("Inputs Hash")
+    @Description("Hash of the normalized rating inputs; equal hashes usually mean identical inputs")
+    private int inputsHash;
+
+    @Label("Total Premium")
+    private double totalPremium;
+
+    @Label("Coalesced")
+    @Description("Whether the result was shared from an identical in-flight computation")
+    private boolean coalesced;
+
+    public void setInputsHash(int inputsHash) {
+        this.inputsHash = inputsHash;
+    }
+
+    public void setTotalPremium(double totalPremium) {
+        this.totalPremium = totalPremium;
+    }
+
+    public void setCoalesced(boolean coalesced) {
+        this.coalesced = coalesced;
+    }
+}
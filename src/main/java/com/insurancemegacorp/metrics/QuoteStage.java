@@ -0,0 +1,29 @@
+package com.insurancemegacorp.metrics;
+
+/**
+ * Timed stages of quote generation, published as the {@code stage} tag of {@code quote.stage}.
+ */
+public enum QuoteStage {
+
+    VALIDATE("validate"),
+    RESOLVE_CUSTOMER("resolve-customer"),
+    RESOLVE_VEHICLE("resolve-vehicle"),
+    RATING_PROFILE("rating-profile"),
+    /** Whole rating step as seen by the caller, including time spent waiting on a coalesced computation. */
+    RATE("rate"),
+    COVERAGE_RATES("coverage-rates"),
+    DISCOUNTS("discounts"),
+    TOTAL_PREMIUM("total-premium"),
+    /** Quote ID assignment and the journaled save. */
+    PERSIST("persist");
+
+    private final String tagValue;
+
+    QuoteStage(String tagValue) {
+        this.tagValue = tagValue;
+    }
+
+    public String getTagValue() {
+        return tagValue;
+    }
+}
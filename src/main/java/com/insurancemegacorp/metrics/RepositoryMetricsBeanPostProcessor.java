@@ -0,0 +1,153 @@
+package com.insurancemegacorp.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryProxyPostProcessor;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Times every Spring Data repository method as {@code repository.invocations}, tagged with
+ * the repository interface and method name, and counts failures as
+ * {@code repository.invocations.errors}. Each call is also emitted as a
+ * {@link RepositoryQueryEvent} when a JFR recording enables it.
+ * <p>
+ * Meters for all of a repository's methods are registered when its proxy is built, so the
+ * interceptor only does a read from an immutable map on each call.
+ */
+public class RepositoryMetricsBeanPostProcessor implements BeanPostProcessor {
+
+    public static final String METRIC_NAME = "repository.invocations";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public RepositoryMetricsBeanPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport) {
+            ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                factory.addRepositoryProxyPostProcessor(new TimingProxyPostProcessor()));
+        }
+        return bean;
+    }
+
+    private class TimingProxyPostProcessor implements RepositoryProxyPostProcessor {
+
+        @Override
+        public void postProcess(ProxyFactory factory, RepositoryInformation repositoryInformation) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return;
+            }
+            Class<?> repositoryInterface = repositoryInformation.getRepositoryInterface();
+            Map<Method, Meters> meters = new HashMap<>();
+            for (Method method : repositoryInterface.getMethods()) {
+                meters.put(method, new Meters(registry, repositoryInterface.getSimpleName(), method.getName()));
+            }
+            factory.addAdvice(new TimingInterceptor(Collections.unmodifiableMap(meters)));
+        }
+    }
+
+    private static class TimingInterceptor implements MethodInterceptor {
+
+        private final Map<Method, Meters> meters;
+
+        TimingInterceptor(Map<Method, Meters> meters) {
+            this.meters = meters;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Meters methodMeters = meters.get(invocation.getMethod());
+            if (methodMeters == null) {
+                // Object methods and the like
+                return invocation.proceed();
+            }
+            RepositoryQueryEvent event = new RepositoryQueryEvent();
+            event.begin();
+            long start = System.nanoTime();
+            Object result = null;
+            boolean failed = false;
+            try {
+                result = invocation.proceed();
+                return result;
+            } catch (Throwable e) {
+                failed = true;
+                methodMeters.errors.increment();
+                throw e;
+            } finally {
+                methodMeters.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.setRepository(methodMeters.repository);
+                    event.setMethod(methodMeters.method);
+                    event.setRowCount(failed ? -1 : rowCount(result));
+                    event.setFailed(failed);
+                    event.commit();
+                }
+            }
+        }
+
+        private static int rowCount(Object result) {
+            if (result == null) {
+                return 0;
+            }
+            if (result instanceof Collection) {
+                return ((Collection<?>) result).size();
+            }
+            if (result instanceof Slice) {
+                return ((Slice<?>) result).getNumberOfElements();
+            }
+            if (result instanceof Optional) {
+                return ((Optional<?>) result).isPresent() ? 1 : 0;
+            }
+            if (result instanceof Number || result instanceof Boolean || result instanceof Stream) {
+                return -1;
+            }
+            return 1;
+        }
+    }
+
+    private static class Meters {
+
+        private final String repository;
+        private final String method;
+        private final Timer timer;
+        private final Counter errors;
+
+        Meters(MeterRegistry registry, String repository, String method) {
+            this.repository = repository;
+            this.method = method;
+            this.timer = Timer.builder(METRIC_NAME)
+                .description("Spring Data repository method invocations")
+                .tag("repository", repository)
+                .tag("method", method)
+                .publishPercentileHistogram()
+                .register(registry);
+            this.errors = Counter.builder(METRIC_NAME + ".errors")
+                .description("Spring Data repository method invocations that threw")
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.insurancemegacorp.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for one Spring Data repository method call.
+ */
+@Name("com.insurancemegacorp.RepositoryQuery")
+@Label("Repository Query")
+@Category({"Customer Quote", "Persistence"})
+@Description("Spring Data repository method call")
+public class RepositoryQueryEvent extends Event {
+
+    @Label("Repository")
+    private String repository;
+
+    @Label("Method")
+    private String method;
+
+    @Label("Row Count")
+    @Description("Entities returned, or -1 if the result is not a row set")
+    private int rowCount = -1;
+
+    @Label("Failed")
+    private boolean failed;
+
+    public void setRepository(String repository) {
+        this.repository = repository;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public void setRowCount(int rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    public void setFailed(boolean failed) {
+        this.failed = failed;
+    }
+}
@@ -0,0 +1,31 @@
+package com.insurancemegacorp.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for a batch soft delete.
+ */
+@Name("com.insurancemegacorp.SoftDelete")
+@Label("Soft Delete Batch")
+@Category({"Customer Quote", "Persistence"})
+@Description("Batch of entities marked inactive")
+public class SoftDeleteEvent extends Event {
+
+    @Label("Entity Type")
+    private String entityType;
+
+    @Label("Entity Count")
+    private int entityCount;
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public void setEntityCount(int entityCount) {
+        this.entityCount = entityCount;
+    }
+}
@@ -0,0 +1,102 @@
+package com.insurancemegacorp.model;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A claim filed by a customer.
+ * Stored one row per claim and indexed by customer and date, so adding or removing a claim
+ * is a single-row statement and recent-claim lookups are index range scans.
+ */
+@Entity
+@Table(name = "claims",
+       uniqueConstraints = @UniqueConstraint(name = Claim.CLAIM_NUMBER_CONSTRAINT, columnNames = "claim_number"),
+       indexes = {
+           @Index(name = "idx_claims_customer_date", columnList = "customer_id, date_of_claim"),
+           @Index(name = "idx_claims_date", columnList = "date_of_claim")
+       })
+public class Claim {
+
+    public static final String CLAIM_NUMBER_CONSTRAINT = "uk_claims_claim_number";
+    public static final String CUSTOMER_CONSTRAINT = "fk_claims_customer";
+
+    /** Non-denied claims within this many years count against the good driver discount. */
+    public static final int RATING_LOOKBACK_YEARS = 3;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "claim_number", nullable = false, length = 50)
+    private String claimNumber;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "customer_id", nullable = false, foreignKey = @ForeignKey(name = CUSTOMER_CONSTRAINT))
+    private Customer customer;
+
+    @Column(name = "date_of_claim", nullable = false)
+    private LocalDate dateOfClaim;
+
+    @Column(precision = 12, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ClaimStatus status = ClaimStatus.OPEN;
+
+    protected Claim() {
+        // For JPA
+    }
+
+    public Claim(Customer customer, String claimNumber, LocalDate dateOfClaim, BigDecimal amount) {
+        this.customer = customer;
+        this.claimNumber = claimNumber;
+        this.dateOfClaim = dateOfClaim;
+        this.amount = amount;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public String getClaimNumber() {
+        return claimNumber;
+    }
+
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    public LocalDate getDateOfClaim() {
+        return dateOfClaim;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public ClaimStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ClaimStatus status) {
+        this.status = status;
+    }
+
+    @Override
+    public String toString() {
+        return "Claim{" +
+                "id=" + id +
+                ", claimNumber='" + claimNumber + '\'' +
+                ", dateOfClaim=" + dateOfClaim +
+                ", amount=" + amount +
+                ", status=" + status +
+                '}';
+    }
+}
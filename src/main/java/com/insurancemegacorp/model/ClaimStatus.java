@@ -0,0 +1,18 @@
+package com.insurancemegacorp.model;
+
+/**
+ * Represents the possible statuses of an insurance claim.
+ */
+public enum ClaimStatus {
+    /** Claim has been filed and is being handled. */
+    OPEN,
+
+    /** Claim has been paid out. */
+    PAID,
+
+    /** Claim has been closed without further payment. */
+    CLOSED,
+
+    /** Claim has been denied; it does not count against the customer in rating. */
+    DENIED
+}
@@ -1,24 +1,40 @@
 package com.insurancemegacorp.model;
 
+import com.insurancemegacorp.search.SearchNormalizer;
+
 import javax.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Represents a customer in the insurance system.
  * Contains personal information required for insurance underwriting.
  */
 @Entity
-@Table(name = "customers")
+@Table(name = "customers",
+       uniqueConstraints = {
+           @UniqueConstraint(name = Customer.EMAIL_CONSTRAINT, columnNames = "email"),
+           @UniqueConstraint(name = Customer.DRIVER_LICENSE_CONSTRAINT, columnNames = {"driver_license_number", "driver_license_state"})
+       },
+       indexes = {
+           @Index(name = "idx_customers_customer_id", columnList = "customer_id"),
+           @Index(name = "idx_customers_search_name", columnList = "search_name"),
+           @Index(name = "idx_customers_search_city", columnList = "search_city")
+       })
 public class Customer implements SoftDeletable {
 
+    public static final String EMAIL_CONSTRAINT = "uk_customers_email";
+    public static final String DRIVER_LICENSE_CONSTRAINT = "uk_customers_driver_license";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @Column(nullable = false)
+    @Column(name = "customer_id", nullable = false)
     private String customerId;
     
     @Column(name = "first_name", nullable = false)
@@ -33,16 +49,17 @@ public class Customer implements SoftDeletable {
     @Column(nullable = false)
     private String ssn; // In real app, should be encrypted
     
-    @Column(nullable = false)
+    // Not collected at quote time; uniqueness only applies to addresses actually given
+    @Column
     private String email;
     
     @Column(name = "phone_number", nullable = false)
     private String phoneNumber;
     
-    @Column(name = "driver_license_number", nullable = false)
+    @Column(name = "driver_license_number")
     private String driverLicenseNumber;
     
-    @Column(name = "driver_license_state", nullable = false, length = 2)
+    @Column(name = "driver_license_state", length = 2)
     private String driverLicenseState;
     
     @Column(name = "license_issue_date", nullable = false)
@@ -114,18 +131,10 @@ public class Customer implements SoftDeletable {
     @Column(name = "last_updated")
     private LocalDateTime lastUpdated;
     
-    @ElementCollection
-    @CollectionTable(name = "customer_claims", joinColumns = @JoinColumn(name = "customer_id"))
-    @Column(name = "claim_id")
-    private List<String> claims = new ArrayList<>();
-    
-    @ManyToMany
-    @JoinTable(
-        name = "customer_policies",
-        joinColumns = @JoinColumn(name = "customer_id"),
-        inverseJoinColumns = @JoinColumn(name = "policy_id")
-    )
-    private List<Policy> policies = new ArrayList<>();
+    // Owned by Policy.policyHolder: membership changes are single-row updates of policies.customer_id
+    @OneToMany(mappedBy = "policyHolder")
+    @OrderBy("effectiveDate DESC")
+    private Set<Policy> policies = new LinkedHashSet<>();
     
     @Column(name = "military_affiliation")
     private String militaryAffiliation; // NONE, ACTIVE, VETERAN, RESERVE
@@ -142,9 +151,27 @@ public class Customer implements SoftDeletable {
     @Column(name = "updated_at")
     private LocalDate updatedAt;
     
+    // Normalized copies for index-backed lookups (see SearchNormalizer); maintained on every write
+    @Column(name = "search_name")
+    private String searchName;
+    
+    @Column(name = "search_city")
+    private String searchCity;
+    
     @Column(name = "is_active", nullable = false)
     private boolean active = true;
     
+    // Created from quote request data alone; its driving record has not been verified
+    @Column(name = "is_prospect", nullable = false)
+    private boolean prospect;
+    
+    @Version
+    private Long version; // Optimistic lock; concurrent updates fail instead of overwriting each other
+    
+    public Long getVersion() {
+        return version;
+    }
+    
     // Getters and Setters for new fields
     public String getCreditBureau() {
         return creditBureau;
@@ -186,14 +213,6 @@ public class Customer implements SoftDeletable {
         this.lastUpdated = lastUpdated;
     }
     
-    public List<String> getClaims() {
-        return claims;
-    }
-    
-    public void setClaims(List<String> claims) {
-        this.claims = claims;
-    }
-    
     public List<Vehicle> getVehicles() {
         return vehicles;
     }
@@ -202,11 +221,11 @@ public class Customer implements SoftDeletable {
         this.vehicles = vehicles;
     }
     
-    public List<Policy> getPolicies() {
+    public Set<Policy> getPolicies() {
         return policies;
     }
     
-    public void setPolicies(List<Policy> policies) {
+    public void setPolicies(Set<Policy> policies) {
         this.policies = policies;
     }
     
@@ -220,6 +239,14 @@ public class Customer implements SoftDeletable {
         this.active = active;
     }
     
+    public boolean isProspect() {
+        return prospect;
+    }
+    
+    public void setProspect(boolean prospect) {
+        this.prospect = prospect;
+    }
+    
     // Legacy fields - kept for backward compatibility
     @Transient
     private String name; // First + Last Name
@@ -245,7 +272,7 @@ public class Customer implements SoftDeletable {
         this.lastName = name.split(" ").length > 1 ? name.split(" ")[1] : "";
         this.dateOfBirth = LocalDate.now().minusYears(age);
         this.ssn = "XXX-XX-XXXX";
-        this.email = "demo@example.com";
+        this.email = null;
         this.phoneNumber = "555-010-1234";
         this.driverLicenseNumber = "DL" + customerId;
         this.driverLicenseState = "CA";
@@ -514,6 +541,14 @@ public class Customer implements SoftDeletable {
         this.updatedAt = updatedAt;
     }
     
+    public String getSearchName() {
+        return searchName;
+    }
+    
+    public String getSearchCity() {
+        return searchCity;
+    }
+    
     // Legacy getters/setters for backward compatibility
     public String getName() {
         return name != null ? name : (firstName + " " + lastName).trim();
@@ -541,4 +576,21 @@ public class Customer implements SoftDeletable {
             this.dateOfBirth = LocalDate.now().minusYears(age);
         }
     }
-}
\ No newline at end of file
+    
+    @PrePersist
+    protected void onCreate() {
+        normalizeSearchColumns();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDate.now();
+        normalizeSearchColumns();
+    }
+    
+    private void normalizeSearchColumns() {
+        this.email = SearchNormalizer.email(email);
+        this.searchName = SearchNormalizer.fullName(firstName, lastName);
+        this.searchCity = address != null ? SearchNormalizer.text(address.getCity()) : null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.insurancemegacorp.model;
+
+/**
+ * Read-only projection of the fields agents look customers up by, used to build the
+ * customer search index. Populated directly by a JPQL constructor expression so no
+ * entities are loaded or managed.
+ */
+public class CustomerLookupFields {
+
+    private final Long id;
+    private final boolean active;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String driverLicenseNumber;
+
+    public CustomerLookupFields(Long id, boolean active, String firstName, String lastName,
+                                String email, String driverLicenseNumber) {
+        this.id = id;
+        this.active = active;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.driverLicenseNumber = driverLicenseNumber;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getDriverLicenseNumber() {
+        return driverLicenseNumber;
+    }
+}
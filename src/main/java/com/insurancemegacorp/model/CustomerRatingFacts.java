@@ -0,0 +1,33 @@
+package com.insurancemegacorp.model;
+
+/**
+ * The facts about a known customer that feed discounts at quote time.
+ */
+public class CustomerRatingFacts {
+
+    /** Facts for a new or unknown customer: no customer-based discounts apply. */
+    public static final CustomerRatingFacts UNKNOWN = new CustomerRatingFacts(null, false, false);
+
+    private final Long customerId;
+    private final boolean multiPolicy;
+    private final boolean goodDriver;
+
+    public CustomerRatingFacts(Long customerId, boolean multiPolicy, boolean goodDriver) {
+        this.customerId = customerId;
+        this.multiPolicy = multiPolicy;
+        this.goodDriver = goodDriver;
+    }
+
+    // Getters
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public boolean isMultiPolicy() {
+        return multiPolicy;
+    }
+
+    public boolean isGoodDriver() {
+        return goodDriver;
+    }
+}
@@ -0,0 +1,49 @@
+package com.insurancemegacorp.model;
+
+import javax.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A random identifier created once per database. State kept outside the database, such as
+ * the search index, records it to detect that the database was recreated underneath it
+ * (an in-memory database restarts its IDENTITY sequences on every start).
+ */
+@Entity
+@Table(name = "database_instance")
+public class DatabaseInstance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "instance_id", nullable = false, unique = true, length = 36)
+    private String instanceId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    protected DatabaseInstance() {
+        // For JPA
+    }
+
+    public static DatabaseInstance create() {
+        DatabaseInstance instance = new DatabaseInstance();
+        instance.instanceId = UUID.randomUUID().toString();
+        instance.createdAt = Instant.now();
+        return instance;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
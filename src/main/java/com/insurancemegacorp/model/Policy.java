@@ -11,7 +11,10 @@ import java.util.Set;
  * Contains policy details, coverages, and related information.
  */
 @Entity
-@Table(name = "policies")
+@Table(name = "policies", indexes = {
+    @Index(name = "idx_policies_prior_policy_number", columnList = "prior_policy_number"),
+    @Index(name = "idx_policies_customer_active", columnList = "customer_id, is_active")
+})
 public class Policy implements SoftDeletable {
 
     @Id
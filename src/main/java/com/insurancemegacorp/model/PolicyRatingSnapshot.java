@@ -0,0 +1,140 @@
+package com.insurancemegacorp.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of the rating inputs for one covered vehicle on an in-force policy.
+ * Populated directly by a JPQL constructor expression so no entities are loaded or managed.
+ */
+public class PolicyRatingSnapshot {
+
+    private final Long policyId;
+    private final String policyNumber;
+    private final LocalDate dateOfBirth;
+    private final LocalDate licenseIssueDate;
+    private final Integer creditScore;
+    private final Boolean goodStudent;
+    private final Boolean hasDUI;
+    private final Integer accidentCount;
+    private final Integer violationCount;
+    private final Long recentClaimCount;
+    private final String state;
+    private final Long activePolicyCount;
+    private final Integer vehicleYear;
+    private final String vehicleMake;
+    private final Boolean highPerformance;
+    private final BigDecimal purchasePrice;
+    private final Boolean convertible;
+    private final Boolean antiTheft;
+    private final String safetyFeatures;
+    private final BigDecimal totalPremium;
+
+    public PolicyRatingSnapshot(Long policyId, String policyNumber, LocalDate dateOfBirth, LocalDate licenseIssueDate,
+                                Integer creditScore, Boolean goodStudent, Boolean hasDUI, Integer accidentCount,
+                                Integer violationCount, Long recentClaimCount, String state, Long activePolicyCount, Integer vehicleYear,
+                                String vehicleMake, Boolean highPerformance, BigDecimal purchasePrice,
+                                Boolean convertible, Boolean antiTheft, String safetyFeatures, BigDecimal totalPremium) {
+        this.policyId = policyId;
+        this.policyNumber = policyNumber;
+        this.dateOfBirth = dateOfBirth;
+        this.licenseIssueDate = licenseIssueDate;
+        this.creditScore = creditScore;
+        this.goodStudent = goodStudent;
+        this.hasDUI = hasDUI;
+        this.accidentCount = accidentCount;
+        this.violationCount = violationCount;
+        this.recentClaimCount = recentClaimCount;
+        this.state = state;
+        this.activePolicyCount = activePolicyCount;
+        this.vehicleYear = vehicleYear;
+        this.vehicleMake = vehicleMake;
+        this.highPerformance = highPerformance;
+        this.purchasePrice = purchasePrice;
+        this.convertible = convertible;
+        this.antiTheft = antiTheft;
+        this.safetyFeatures = safetyFeatures;
+        this.totalPremium = totalPremium;
+    }
+
+    // Getters
+    public Long getPolicyId() {
+        return policyId;
+    }
+
+    public String getPolicyNumber() {
+        return policyNumber;
+    }
+
+    public LocalDate getDateOfBirth() {
+        return dateOfBirth;
+    }
+
+    public LocalDate getLicenseIssueDate() {
+        return licenseIssueDate;
+    }
+
+    public Integer getCreditScore() {
+        return creditScore;
+    }
+
+    public Boolean getGoodStudent() {
+        return goodStudent;
+    }
+
+    public Boolean getHasDUI() {
+        return hasDUI;
+    }
+
+    public Integer getAccidentCount() {
+        return accidentCount;
+    }
+
+    public Integer getViolationCount() {
+        return violationCount;
+    }
+
+    public Long getRecentClaimCount() {
+        return recentClaimCount;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public Long getActivePolicyCount() {
+        return activePolicyCount;
+    }
+
+    public Integer getVehicleYear() {
+        return vehicleYear;
+    }
+
+    public String getVehicleMake() {
+        return vehicleMake;
+    }
+
+    public Boolean getHighPerformance() {
+        return highPerformance;
+    }
+
+    public BigDecimal getPurchasePrice() {
+        return purchasePrice;
+    }
+
+    public Boolean getConvertible() {
+        return convertible;
+    }
+
+    public Boolean getAntiTheft() {
+        return antiTheft;
+    }
+
+    public String getSafetyFeatures() {
+        return safetyFeatures;
+    }
+
+    public BigDecimal getTotalPremium() {
+        return totalPremium;
+    }
+}
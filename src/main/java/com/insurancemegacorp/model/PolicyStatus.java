@@ -1,5 +1,7 @@
 package com.insurancemegacorp.model;
 
+import java.util.List;
+
 /**
  * Represents the possible statuses of an insurance policy.
  */
@@ -86,5 +88,8 @@ public enum PolicyStatus {
     AUDIT_PENDING,
     
     /** Policy has been audited. */
-    AUDITED
+    AUDITED;
+
+    /** Statuses, as stored in {@code Policy.policyStatus}, of a policy that is in force. */
+    public static final List<String> IN_FORCE = List.of(ACTIVE.name(), RENEWAL_PENDING.name());
 }
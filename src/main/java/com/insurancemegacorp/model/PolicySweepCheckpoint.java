@@ -0,0 +1,89 @@
+package com.insurancemegacorp.model;
+
+import javax.persistence.*;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Records that one policy-ID partition of a lifecycle sweep has been applied for a run date.
+ * Written in the same transaction as the partition's status updates, so a restarted sweep
+ * skips exactly the partitions that already committed.
+ */
+@Entity
+@Table(name = "policy_sweep_checkpoints",
+       uniqueConstraints = @UniqueConstraint(name = "uk_policy_sweep_partition", columnNames = {"run_date", "from_id"}))
+public class PolicySweepCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(name = "from_id", nullable = false)
+    private Long fromId;
+
+    @Column(name = "to_id", nullable = false)
+    private Long toId;
+
+    @Column(name = "renewal_pending_count", nullable = false)
+    private int renewalPendingCount;
+
+    @Column(name = "renewed_count", nullable = false)
+    private int renewedCount;
+
+    @Column(name = "expired_count", nullable = false)
+    private int expiredCount;
+
+    @Column(name = "completed_at", nullable = false)
+    private Instant completedAt;
+
+    protected PolicySweepCheckpoint() {
+        // For JPA
+    }
+
+    public PolicySweepCheckpoint(LocalDate runDate, long fromId, long toId,
+                                 int renewalPendingCount, int renewedCount, int expiredCount) {
+        this.runDate = runDate;
+        this.fromId = fromId;
+        this.toId = toId;
+        this.renewalPendingCount = renewalPendingCount;
+        this.renewedCount = renewedCount;
+        this.expiredCount = expiredCount;
+        this.completedAt = Instant.now();
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getRunDate() {
+        return runDate;
+    }
+
+    public Long getFromId() {
+        return fromId;
+    }
+
+    public Long getToId() {
+        return toId;
+    }
+
+    public int getRenewalPendingCount() {
+        return renewalPendingCount;
+    }
+
+    public int getRenewedCount() {
+        return renewedCount;
+    }
+
+    public int getExpiredCount() {
+        return expiredCount;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+}
@@ -0,0 +1,70 @@
+package com.insurancemegacorp.model;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of one policy lifecycle sweep.
+ */
+public class PolicySweepResult {
+
+    private final LocalDate runDate;
+    private final int partitionsProcessed;
+    private final int partitionsSkipped;
+    private final long renewalPending;
+    private final long renewed;
+    private final long expired;
+    private final long durationMillis;
+
+    public PolicySweepResult(LocalDate runDate, int partitionsProcessed, int partitionsSkipped,
+                             long renewalPending, long renewed, long expired, long durationMillis) {
+        this.runDate = runDate;
+        this.partitionsProcessed = partitionsProcessed;
+        this.partitionsSkipped = partitionsSkipped;
+        this.renewalPending = renewalPending;
+        this.renewed = renewed;
+        this.expired = expired;
+        this.durationMillis = durationMillis;
+    }
+
+    public LocalDate getRunDate() {
+        return runDate;
+    }
+
+    /**
+     * Returns the number of partitions applied by this sweep.
+     */
+    public int getPartitionsProcessed() {
+        return partitionsProcessed;
+    }
+
+    /**
+     * Returns the number of partitions skipped because an earlier sweep for the same run date
+     * had already checkpointed them.
+     */
+    public int getPartitionsSkipped() {
+        return partitionsSkipped;
+    }
+
+    public long getRenewalPending() {
+        return renewalPending;
+    }
+
+    public long getRenewed() {
+        return renewed;
+    }
+
+    public long getExpired() {
+        return expired;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "PolicySweepResult{runDate=" + runDate + ", partitionsProcessed=" + partitionsProcessed
+            + ", partitionsSkipped=" + partitionsSkipped + ", renewalPending=" + renewalPending
+            + ", renewed=" + renewed + ", expired=" + expired + ", durationMillis=" + durationMillis + "}";
+    }
+}
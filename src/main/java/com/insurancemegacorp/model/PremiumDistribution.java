@@ -0,0 +1,115 @@
+package com.insurancemegacorp.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Aggregated premium movement for one segment of the book (a state, a make, an age band...).
+ * Instances are not thread-safe; each simulation partition fills its own and they are merged.
+ */
+public class PremiumDistribution {
+
+    // Upper bounds (exclusive) of the percentage-change buckets; the last bucket is open-ended
+    private static final double[] BUCKET_BOUNDS = {-20.0, -10.0, -5.0, -1.0, 1.0, 5.0, 10.0, 20.0};
+    private static final String[] BUCKET_LABELS = {
+        "<-20%", "-20%..-10%", "-10%..-5%", "-5%..-1%", "-1%..1%", "1%..5%", "5%..10%", "10%..20%", ">=20%"
+    };
+
+    private long count;
+    private double baselineTotal;
+    private double candidateTotal;
+    private double minChangePct = Double.NaN;
+    private double maxChangePct = Double.NaN;
+    private final long[] buckets = new long[BUCKET_LABELS.length];
+
+    /**
+     * Records one re-rated policy.
+     *
+     * @param baseline the premium under the current plan
+     * @param candidate the premium under the candidate plan
+     */
+    public void record(double baseline, double candidate) {
+        double changePct = baseline == 0.0 ? 0.0 : (candidate - baseline) / baseline * 100.0;
+        count++;
+        baselineTotal += baseline;
+        candidateTotal += candidate;
+        if (Double.isNaN(minChangePct) || changePct < minChangePct) {
+            minChangePct = changePct;
+        }
+        if (Double.isNaN(maxChangePct) || changePct > maxChangePct) {
+            maxChangePct = changePct;
+        }
+        buckets[bucketOf(changePct)]++;
+    }
+
+    /**
+     * Adds the contents of another distribution to this one.
+     *
+     * @param other the distribution to merge in
+     */
+    public void merge(PremiumDistribution other) {
+        if (other.count == 0) {
+            return;
+        }
+        count += other.count;
+        baselineTotal += other.baselineTotal;
+        candidateTotal += other.candidateTotal;
+        if (Double.isNaN(minChangePct) || other.minChangePct < minChangePct) {
+            minChangePct = other.minChangePct;
+        }
+        if (Double.isNaN(maxChangePct) || other.maxChangePct > maxChangePct) {
+            maxChangePct = other.maxChangePct;
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] += other.buckets[i];
+        }
+    }
+
+    public PremiumDistribution copy() {
+        PremiumDistribution copy = new PremiumDistribution();
+        copy.merge(this);
+        return copy;
+    }
+
+    private static int bucketOf(double changePct) {
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            if (changePct < BUCKET_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS.length;
+    }
+
+    // Getters
+    public long getCount() {
+        return count;
+    }
+
+    public double getBaselineTotal() {
+        return baselineTotal;
+    }
+
+    public double getCandidateTotal() {
+        return candidateTotal;
+    }
+
+    public double getAverageChangePct() {
+        return baselineTotal == 0.0 ? 0.0 : (candidateTotal - baselineTotal) / baselineTotal * 100.0;
+    }
+
+    public double getMinChangePct() {
+        return Double.isNaN(minChangePct) ? 0.0 : minChangePct;
+    }
+
+    public double getMaxChangePct() {
+        return Double.isNaN(maxChangePct) ? 0.0 : maxChangePct;
+    }
+
+    public Map<String, Long> getChangeHistogram() {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < buckets.length; i++) {
+            histogram.put(BUCKET_LABELS[i], buckets[i]);
+        }
+        return histogram;
+    }
+}
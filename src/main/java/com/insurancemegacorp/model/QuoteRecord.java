@@ -0,0 +1,103 @@
+package com.insurancemegacorp.model;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of an issued quote: the rating inputs, the priced coverages and the
+ * identifiers handed out to the caller. This is what gets journaled and later persisted.
+ */
+public class QuoteRecord {
+
+    private final String quoteId;
+    private final String customerId;
+    private final String customerName;
+    private final int customerAge;
+    private final String driverLicenseNumber;
+    private final String vehicleId;
+    private final String vin;
+    private final int vehicleYear;
+    private final String vehicleMake;
+    private final Map<String, Double> coverages;
+    private final Instant issuedAt;
+    private final Date expirationDate;
+
+    public QuoteRecord(String quoteId, String customerId, String customerName, int customerAge,
+                       String driverLicenseNumber, String vehicleId, String vin, int vehicleYear,
+                       String vehicleMake, Map<String, Double> coverages, Instant issuedAt, Date expirationDate) {
+        this.quoteId = quoteId;
+        this.customerId = customerId;
+        this.customerName = customerName;
+        this.customerAge = customerAge;
+        this.driverLicenseNumber = driverLicenseNumber;
+        this.vehicleId = vehicleId;
+        this.vin = vin;
+        this.vehicleYear = vehicleYear;
+        this.vehicleMake = vehicleMake;
+        this.coverages = Collections.unmodifiableMap(new LinkedHashMap<>(coverages));
+        this.issuedAt = issuedAt;
+        this.expirationDate = expirationDate;
+    }
+
+    // Getters
+    public String getQuoteId() {
+        return quoteId;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public int getCustomerAge() {
+        return customerAge;
+    }
+
+    public String getDriverLicenseNumber() {
+        return driverLicenseNumber;
+    }
+
+    public String getVehicleId() {
+        return vehicleId;
+    }
+
+    public String getVin() {
+        return vin;
+    }
+
+    public int getVehicleYear() {
+        return vehicleYear;
+    }
+
+    public String getVehicleMake() {
+        return vehicleMake;
+    }
+
+    public Map<String, Double> getCoverages() {
+        return coverages;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Date getExpirationDate() {
+        return expirationDate;
+    }
+
+    @Override
+    public String toString() {
+        return "QuoteRecord{" +
+                "quoteId='" + quoteId + '\'' +
+                ", vehicleYear=" + vehicleYear +
+                ", vehicleMake='" + vehicleMake + '\'' +
+                ", issuedAt=" + issuedAt +
+                '}';
+    }
+}
@@ -3,59 +3,97 @@ package com.insurancemegacorp.model;
 import java.util.Date;
 import java.util.Map;
 
+/**
+ * Flat view of an issued quote returned by the quote endpoints. Deliberately carries only
+ * the identifiers and rating inputs the caller supplied, never the Customer or Vehicle entities.
+ */
 public class QuoteResponse {
 
-    private String quoteId;
-    private Customer customer;
-    private Vehicle vehicle;
-    private Map<String, Double> coverages;
-    private Date expirationDate;
+    private final String quoteId;
+    private final String customerId;
+    private final String customerName;
+    private final int customerAge;
+    private final String vehicleId;
+    private final String vin;
+    private final int vehicleYear;
+    private final String vehicleMake;
+    private final Map<String, Double> coverages;
+    private final Date expirationDate;
 
-    public QuoteResponse(String quoteId, Customer customer, Vehicle vehicle, Map<String, Double> coverages, Date expirationDate) {
+    public QuoteResponse(String quoteId, String customerId, String customerName, int customerAge,
+                         String vehicleId, String vin, int vehicleYear, String vehicleMake,
+                         Map<String, Double> coverages, Date expirationDate) {
         this.quoteId = quoteId;
-        this.customer = customer;
-        this.vehicle = vehicle;
+        this.customerId = customerId;
+        this.customerName = customerName;
+        this.customerAge = customerAge;
+        this.vehicleId = vehicleId;
+        this.vin = vin;
+        this.vehicleYear = vehicleYear;
+        this.vehicleMake = vehicleMake;
         this.coverages = coverages;
         this.expirationDate = expirationDate;
     }
 
+    /**
+     * Builds the response for a stored quote.
+     *
+     * @param record the quote
+     * @return the response view of the quote
+     */
+    public static QuoteResponse from(QuoteRecord record) {
+        return new QuoteResponse(
+            record.getQuoteId(),
+            record.getCustomerId(),
+            record.getCustomerName(),
+            record.getCustomerAge(),
+            record.getVehicleId(),
+            record.getVin(),
+            record.getVehicleYear(),
+            record.getVehicleMake(),
+            record.getCoverages(),
+            record.getExpirationDate()
+        );
+    }
+
+    // Getters
     public String getQuoteId() {
         return quoteId;
     }
 
-    public void setQuoteId(String quoteId) {
-        this.quoteId = quoteId;
+    public String getCustomerId() {
+        return customerId;
     }
 
-    public Customer getCustomer() {
-        return customer;
+    public String getCustomerName() {
+        return customerName;
     }
 
-    public void setCustomer(Customer customer) {
-        this.customer = customer;
+    public int getCustomerAge() {
+        return customerAge;
     }
 
-    public Vehicle getVehicle() {
-        return vehicle;
+    public String getVehicleId() {
+        return vehicleId;
     }
 
-    public void setVehicle(Vehicle vehicle) {
-        this.vehicle = vehicle;
+    public String getVin() {
+        return vin;
     }
 
-    public Map<String, Double> getCoverages() {
-        return coverages;
+    public int getVehicleYear() {
+        return vehicleYear;
     }
 
-    public void setCoverages(Map<String, Double> coverages) {
-        this.coverages = coverages;
+    public String getVehicleMake() {
+        return vehicleMake;
     }
 
-    public Date getExpirationDate() {
-        return expirationDate;
+    public Map<String, Double> getCoverages() {
+        return coverages;
     }
 
-    public void setExpirationDate(Date expirationDate) {
-        this.expirationDate = expirationDate;
+    public Date getExpirationDate() {
+        return expirationDate;
     }
 }
@@ -0,0 +1,68 @@
+package com.insurancemegacorp.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result (partial or final) of re-rating the in-force book under a candidate rating plan.
+ */
+public class RateImpactReport {
+
+    private final boolean complete;
+    private final int partitionsCompleted;
+    private final int partitionsTotal;
+    private final PremiumDistribution overall;
+    private final Map<String, PremiumDistribution> byState;
+    private final Map<String, PremiumDistribution> byMake;
+    private final Map<String, PremiumDistribution> byAgeBand;
+    private final List<RateMover> topMovers;
+
+    public RateImpactReport(boolean complete, int partitionsCompleted, int partitionsTotal,
+                            PremiumDistribution overall,
+                            Map<String, PremiumDistribution> byState,
+                            Map<String, PremiumDistribution> byMake,
+                            Map<String, PremiumDistribution> byAgeBand,
+                            List<RateMover> topMovers) {
+        this.complete = complete;
+        this.partitionsCompleted = partitionsCompleted;
+        this.partitionsTotal = partitionsTotal;
+        this.overall = overall;
+        this.byState = byState;
+        this.byMake = byMake;
+        this.byAgeBand = byAgeBand;
+        this.topMovers = topMovers;
+    }
+
+    // Getters
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public int getPartitionsCompleted() {
+        return partitionsCompleted;
+    }
+
+    public int getPartitionsTotal() {
+        return partitionsTotal;
+    }
+
+    public PremiumDistribution getOverall() {
+        return overall;
+    }
+
+    public Map<String, PremiumDistribution> getByState() {
+        return byState;
+    }
+
+    public Map<String, PremiumDistribution> getByMake() {
+        return byMake;
+    }
+
+    public Map<String, PremiumDistribution> getByAgeBand() {
+        return byAgeBand;
+    }
+
+    public List<RateMover> getTopMovers() {
+        return topMovers;
+    }
+}
@@ -0,0 +1,63 @@
+package com.insurancemegacorp.model;
+
+/**
+ * A single policy whose premium moves under a candidate rating plan.
+ */
+public class RateMover {
+
+    private final Long policyId;
+    private final String policyNumber;
+    private final String state;
+    private final String vehicleMake;
+    private final int driverAge;
+    private final double baselinePremium;
+    private final double candidatePremium;
+
+    public RateMover(Long policyId, String policyNumber, String state, String vehicleMake, int driverAge,
+                     double baselinePremium, double candidatePremium) {
+        this.policyId = policyId;
+        this.policyNumber = policyNumber;
+        this.state = state;
+        this.vehicleMake = vehicleMake;
+        this.driverAge = driverAge;
+        this.baselinePremium = baselinePremium;
+        this.candidatePremium = candidatePremium;
+    }
+
+    // Getters
+    public Long getPolicyId() {
+        return policyId;
+    }
+
+    public String getPolicyNumber() {
+        return policyNumber;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public String getVehicleMake() {
+        return vehicleMake;
+    }
+
+    public int getDriverAge() {
+        return driverAge;
+    }
+
+    public double getBaselinePremium() {
+        return baselinePremium;
+    }
+
+    public double getCandidatePremium() {
+        return candidatePremium;
+    }
+
+    public double getChange() {
+        return candidatePremium - baselinePremium;
+    }
+
+    public double getChangePct() {
+        return baselinePremium == 0.0 ? 0.0 : (candidatePremium - baselinePremium) / baselinePremium * 100.0;
+    }
+}
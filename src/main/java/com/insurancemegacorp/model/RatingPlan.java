@@ -0,0 +1,254 @@
+package com.insurancemegacorp.model;
+
+/**
+ * Represents a set of base rates and rating factors used to price a quote.
+ * The default constructor yields the plan currently in production; candidate
+ * plans (e.g. for rate-change simulations) are built by overriding individual factors.
+ */
+public class RatingPlan {
+
+    // Base rates for different coverage types (in dollars)
+    private double baseLiabilityRate = 500.0;
+    private double baseCollisionRate = 300.0;
+    private double baseComprehensiveRate = 200.0;
+    private double baseUninsuredMotoristRate = 150.0;
+    private double baseMedicalPaymentsRate = 100.0;
+    private double baseRentalReimbursementRate = 50.0;
+    private double baseRoadsideAssistanceRate = 40.0;
+
+    // Surcharges
+    private double youngDriverSurcharge = 1.5; // 50% surcharge for drivers under 25
+    private double seniorDriverSurcharge = 1.2; // 20% surcharge for drivers over 70
+    private double newDriverSurcharge = 1.3; // 30% surcharge for drivers with < 3 years experience
+    private double poorCreditSurcharge = 1.25; // 25% surcharge for credit scores below 600
+    private double newVehicleSurcharge = 1.3; // 30% more for cars less than 3 years old
+    private double highPerformanceSurcharge = 1.4; // 40% surcharge for high-performance vehicles
+    private double luxuryVehicleSurcharge = 1.5; // 50% surcharge for luxury vehicles
+    private double highValueSurcharge = 1.5; // 50% more for vehicles over $50,000
+    private double midValueSurcharge = 1.2; // 20% more for vehicles over $30,000
+    private double convertibleSurcharge = 1.3; // 30% more for convertibles
+
+    // Discounts
+    private double excellentCreditDiscount = 0.9; // 10% discount for credit scores above 750
+    private double olderVehicleDiscount = 0.8; // 20% less for cars more than 10 years old
+    private double multiPolicyDiscount = 0.9; // 10% discount for customers with multiple policies
+    private double goodDriverDiscount = 0.85; // 15% discount for good drivers
+    private double goodStudentDiscount = 0.9; // 10% discount for good students
+    private double antiTheftDiscount = 0.9; // 10% discount for anti-theft devices
+    private double safetyFeaturesDiscount = 0.95; // 5% discount for safety features
+    private double defensiveDrivingDiscount = 0.9; // 10% discount for a defensive driving course
+
+    // Default constructor yields the production plan
+    public RatingPlan() {
+    }
+
+    /**
+     * Returns a new instance of the production rating plan.
+     *
+     * @return the standard rating plan
+     */
+    public static RatingPlan standard() {
+        return new RatingPlan();
+    }
+
+    // Getters and Setters
+    public double getBaseLiabilityRate() {
+        return baseLiabilityRate;
+    }
+
+    public void setBaseLiabilityRate(double baseLiabilityRate) {
+        this.baseLiabilityRate = baseLiabilityRate;
+    }
+
+    public double getBaseCollisionRate() {
+        return baseCollisionRate;
+    }
+
+    public void setBaseCollisionRate(double baseCollisionRate) {
+        this.baseCollisionRate = baseCollisionRate;
+    }
+
+    public double getBaseComprehensiveRate() {
+        return baseComprehensiveRate;
+    }
+
+    public void setBaseComprehensiveRate(double baseComprehensiveRate) {
+        this.baseComprehensiveRate = baseComprehensiveRate;
+    }
+
+    public double getBaseUninsuredMotoristRate() {
+        return baseUninsuredMotoristRate;
+    }
+
+    public void setBaseUninsuredMotoristRate(double baseUninsuredMotoristRate) {
+        this.baseUninsuredMotoristRate = baseUninsuredMotoristRate;
+    }
+
+    public double getBaseMedicalPaymentsRate() {
+        return baseMedicalPaymentsRate;
+    }
+
+    public void setBaseMedicalPaymentsRate(double baseMedicalPaymentsRate) {
+        this.baseMedicalPaymentsRate = baseMedicalPaymentsRate;
+    }
+
+    public double getBaseRentalReimbursementRate() {
+        return baseRentalReimbursementRate;
+    }
+
+    public void setBaseRentalReimbursementRate(double baseRentalReimbursementRate) {
+        this.baseRentalReimbursementRate = baseRentalReimbursementRate;
+    }
+
+    public double getBaseRoadsideAssistanceRate() {
+        return baseRoadsideAssistanceRate;
+    }
+
+    public void setBaseRoadsideAssistanceRate(double baseRoadsideAssistanceRate) {
+        this.baseRoadsideAssistanceRate = baseRoadsideAssistanceRate;
+    }
+
+    public double getYoungDriverSurcharge() {
+        return youngDriverSurcharge;
+    }
+
+    public void setYoungDriverSurcharge(double youngDriverSurcharge) {
+        this.youngDriverSurcharge = youngDriverSurcharge;
+    }
+
+    public double getSeniorDriverSurcharge() {
+        return seniorDriverSurcharge;
+    }
+
+    public void setSeniorDriverSurcharge(double seniorDriverSurcharge) {
+        this.seniorDriverSurcharge = seniorDriverSurcharge;
+    }
+
+    public double getNewDriverSurcharge() {
+        return newDriverSurcharge;
+    }
+
+    public void setNewDriverSurcharge(double newDriverSurcharge) {
+        this.newDriverSurcharge = newDriverSurcharge;
+    }
+
+    public double getPoorCreditSurcharge() {
+        return poorCreditSurcharge;
+    }
+
+    public void setPoorCreditSurcharge(double poorCreditSurcharge) {
+        this.poorCreditSurcharge = poorCreditSurcharge;
+    }
+
+    public double getNewVehicleSurcharge() {
+        return newVehicleSurcharge;
+    }
+
+    public void setNewVehicleSurcharge(double newVehicleSurcharge) {
+        this.newVehicleSurcharge = newVehicleSurcharge;
+    }
+
+    public double getHighPerformanceSurcharge() {
+        return highPerformanceSurcharge;
+    }
+
+    public void setHighPerformanceSurcharge(double highPerformanceSurcharge) {
+        this.highPerformanceSurcharge = highPerformanceSurcharge;
+    }
+
+    public double getLuxuryVehicleSurcharge() {
+        return luxuryVehicleSurcharge;
+    }
+
+    public void setLuxuryVehicleSurcharge(double luxuryVehicleSurcharge) {
+        this.luxuryVehicleSurcharge = luxuryVehicleSurcharge;
+    }
+
+    public double getHighValueSurcharge() {
+        return highValueSurcharge;
+    }
+
+    public void setHighValueSurcharge(double highValueSurcharge) {
+        this.highValueSurcharge = highValueSurcharge;
+    }
+
+    public double getMidValueSurcharge() {
+        return midValueSurcharge;
+    }
+
+    public void setMidValueSurcharge(double midValueSurcharge) {
+        this.midValueSurcharge = midValueSurcharge;
+    }
+
+    public double getConvertibleSurcharge() {
+        return convertibleSurcharge;
+    }
+
+    public void setConvertibleSurcharge(double convertibleSurcharge) {
+        this.convertibleSurcharge = convertibleSurcharge;
+    }
+
+    public double getExcellentCreditDiscount() {
+        return excellentCreditDiscount;
+    }
+
+    public void setExcellentCreditDiscount(double excellentCreditDiscount) {
+        this.excellentCreditDiscount = excellentCreditDiscount;
+    }
+
+    public double getOlderVehicleDiscount() {
+        return olderVehicleDiscount;
+    }
+
+    public void setOlderVehicleDiscount(double olderVehicleDiscount) {
+        this.olderVehicleDiscount = olderVehicleDiscount;
+    }
+
+    public double getMultiPolicyDiscount() {
+        return multiPolicyDiscount;
+    }
+
+    public void setMultiPolicyDiscount(double multiPolicyDiscount) {
+        this.multiPolicyDiscount = multiPolicyDiscount;
+    }
+
+    public double getGoodDriverDiscount() {
+        return goodDriverDiscount;
+    }
+
+    public void setGoodDriverDiscount(double goodDriverDiscount) {
+        this.goodDriverDiscount = goodDriverDiscount;
+    }
+
+    public double getGoodStudentDiscount() {
+        return goodStudentDiscount;
+    }
+
+    public void setGoodStudentDiscount(double goodStudentDiscount) {
+        this.goodStudentDiscount = goodStudentDiscount;
+    }
+
+    public double getAntiTheftDiscount() {
+        return antiTheftDiscount;
+    }
+
+    public void setAntiTheftDiscount(double antiTheftDiscount) {
+        this.antiTheftDiscount = antiTheftDiscount;
+    }
+
+    public double getSafetyFeaturesDiscount() {
+        return safetyFeaturesDiscount;
+    }
+
+    public void setSafetyFeaturesDiscount(double safetyFeaturesDiscount) {
+        this.safetyFeaturesDiscount = safetyFeaturesDiscount;
+    }
+
+    public double getDefensiveDrivingDiscount() {
+        return defensiveDrivingDiscount;
+    }
+
+    public void setDefensiveDrivingDiscount(double defensiveDrivingDiscount) {
+        this.defensiveDrivingDiscount = defensiveDrivingDiscount;
+    }
+}
@@ -0,0 +1,196 @@
+package com.insurancemegacorp.model;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Flat set of rating inputs for a single driver/vehicle combination.
+ * Decouples the rating logic from the JPA entities so the same inputs can be
+ * built from a quote request or from a projection over the in-force book.
+ * <p>
+ * Equality is defined over the normalized inputs (make case-insensitive, purchase price by
+ * numeric value), i.e. two profiles are equal exactly when they rate identically. Profiles
+ * must not be modified while used as a map key.
+ */
+public class RatingProfile {
+
+    private int driverAge;
+    private int yearsLicensed;
+    private Integer creditScore;
+    private boolean goodStudent;
+    private boolean goodDriver;
+    private boolean multiPolicy;
+    private boolean defensiveDriving;
+    private int vehicleYear;
+    private String vehicleMake;
+    private boolean highPerformance;
+    private BigDecimal purchasePrice;
+    private boolean convertible;
+    private boolean antiTheft;
+    private boolean airbags;
+    private boolean antiLockBrakes;
+
+    // Getters and Setters
+    public int getDriverAge() {
+        return driverAge;
+    }
+
+    public void setDriverAge(int driverAge) {
+        this.driverAge = driverAge;
+    }
+
+    public int getYearsLicensed() {
+        return yearsLicensed;
+    }
+
+    public void setYearsLicensed(int yearsLicensed) {
+        this.yearsLicensed = yearsLicensed;
+    }
+
+    public Integer getCreditScore() {
+        return creditScore;
+    }
+
+    public void setCreditScore(Integer creditScore) {
+        this.creditScore = creditScore;
+    }
+
+    public boolean isGoodStudent() {
+        return goodStudent;
+    }
+
+    public void setGoodStudent(boolean goodStudent) {
+        this.goodStudent = goodStudent;
+    }
+
+    public boolean isGoodDriver() {
+        return goodDriver;
+    }
+
+    public void setGoodDriver(boolean goodDriver) {
+        this.goodDriver = goodDriver;
+    }
+
+    public boolean isMultiPolicy() {
+        return multiPolicy;
+    }
+
+    public void setMultiPolicy(boolean multiPolicy) {
+        this.multiPolicy = multiPolicy;
+    }
+
+    public boolean isDefensiveDriving() {
+        return defensiveDriving;
+    }
+
+    public void setDefensiveDriving(boolean defensiveDriving) {
+        this.defensiveDriving = defensiveDriving;
+    }
+
+    public int getVehicleYear() {
+        return vehicleYear;
+    }
+
+    public void setVehicleYear(int vehicleYear) {
+        this.vehicleYear = vehicleYear;
+    }
+
+    public String getVehicleMake() {
+        return vehicleMake;
+    }
+
+    public void setVehicleMake(String vehicleMake) {
+        this.vehicleMake = vehicleMake;
+    }
+
+    public boolean isHighPerformance() {
+        return highPerformance;
+    }
+
+    public void setHighPerformance(boolean highPerformance) {
+        this.highPerformance = highPerformance;
+    }
+
+    public BigDecimal getPurchasePrice() {
+        return purchasePrice;
+    }
+
+    public void setPurchasePrice(BigDecimal purchasePrice) {
+        this.purchasePrice = purchasePrice;
+    }
+
+    public boolean isConvertible() {
+        return convertible;
+    }
+
+    public void setConvertible(boolean convertible) {
+        this.convertible = convertible;
+    }
+
+    public boolean isAntiTheft() {
+        return antiTheft;
+    }
+
+    public void setAntiTheft(boolean antiTheft) {
+        this.antiTheft = antiTheft;
+    }
+
+    public boolean isAirbags() {
+        return airbags;
+    }
+
+    public void setAirbags(boolean airbags) {
+        this.airbags = airbags;
+    }
+
+    public boolean isAntiLockBrakes() {
+        return antiLockBrakes;
+    }
+
+    public void setAntiLockBrakes(boolean antiLockBrakes) {
+        this.antiLockBrakes = antiLockBrakes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RatingProfile)) {
+            return false;
+        }
+        RatingProfile that = (RatingProfile) o;
+        return driverAge == that.driverAge
+                && yearsLicensed == that.yearsLicensed
+                && goodStudent == that.goodStudent
+                && goodDriver == that.goodDriver
+                && multiPolicy == that.multiPolicy
+                && defensiveDriving == that.defensiveDriving
+                && vehicleYear == that.vehicleYear
+                && highPerformance == that.highPerformance
+                && convertible == that.convertible
+                && antiTheft == that.antiTheft
+                && airbags == that.airbags
+                && antiLockBrakes == that.antiLockBrakes
+                && Objects.equals(creditScore, that.creditScore)
+                && Objects.equals(normalizedMake(), that.normalizedMake())
+                && Objects.equals(normalizedPrice(), that.normalizedPrice());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(driverAge, yearsLicensed, creditScore, goodStudent, goodDriver, multiPolicy,
+                defensiveDriving, vehicleYear, normalizedMake(), highPerformance, normalizedPrice(),
+                convertible, antiTheft, airbags, antiLockBrakes);
+    }
+
+    private String normalizedMake() {
+        // Same normalization RatingEngine applies when checking luxury makes
+        return vehicleMake != null ? vehicleMake.toUpperCase() : null;
+    }
+
+    private BigDecimal normalizedPrice() {
+        // 25000 and 25000.00 rate the same, so they must compare equal
+        return purchasePrice != null ? purchasePrice.stripTrailingZeros() : null;
+    }
+}
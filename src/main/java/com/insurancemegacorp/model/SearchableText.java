@@ -0,0 +1,37 @@
+package com.insurancemegacorp.model;
+
+/**
+ * Read-only projection of the free-text columns of one coverage or policy, used to build
+ * the text search index. Populated directly by a JPQL constructor expression so no
+ * entities are loaded or managed.
+ */
+public class SearchableText {
+
+    private final Long id;
+    private final boolean active;
+    private final String primaryText;
+    private final String secondaryText;
+
+    public SearchableText(Long id, boolean active, String primaryText, String secondaryText) {
+        this.id = id;
+        this.active = active;
+        this.primaryText = primaryText;
+        this.secondaryText = secondaryText;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public String getPrimaryText() {
+        return primaryText;
+    }
+
+    public String getSecondaryText() {
+        return secondaryText;
+    }
+}
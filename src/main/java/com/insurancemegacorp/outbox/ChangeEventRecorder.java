@@ -0,0 +1,90 @@
+package com.insurancemegacorp.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurancemegacorp.model.OutboxEvent;
+import com.insurancemegacorp.repository.OutboxEventRepository;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Map;
+
+/**
+ * Appends change events to the outbox table inside the caller's transaction.
+ * <p>
+ * Pending entity changes are flushed before the event row is inserted. The flush takes the
+ * aggregate's row lock first, so two transactions changing the same aggregate are assigned
+ * event IDs in the order they commit, and the relay can preserve per-aggregate ordering by
+ * publishing in ID order.
+ */
+@Component
+public class ChangeEventRecorder {
+
+    /** Aggregate ID used for events that apply to every row of a type, such as a bulk delete. */
+    public static final String ALL_AGGREGATES = "*";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public ChangeEventRecorder(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Records a change to a persistent entity.
+     *
+     * @param entity the changed entity, already saved
+     * @param type the kind of change
+     * @param payload the changed fields, or null if the event type says enough
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Object entity, ChangeEventType type, Map<String, ?> payload) {
+        record(Hibernate.getClass(entity), getAggregateId(entity), type, payload);
+    }
+
+    /**
+     * Records a change identified by entity type and ID.
+     *
+     * @param entityType the aggregate's entity class
+     * @param aggregateId the aggregate's ID, or {@link #ALL_AGGREGATES}
+     * @param type the kind of change
+     * @param payload the changed fields, or null if the event type says enough
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Class<?> entityType, Object aggregateId, ChangeEventType type, Map<String, ?> payload) {
+        entityManager.flush();
+        outboxEventRepository.save(new OutboxEvent(entityType.getSimpleName(), String.valueOf(aggregateId),
+            type.name(), toJson(payload)));
+    }
+
+    /**
+     * Returns an entity's identifier.
+     *
+     * @param entity the entity
+     * @return the identifier, or null if the entity has not been persisted yet
+     */
+    public Object getAggregateId(Object entity) {
+        return entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+    }
+
+    private String toJson(Map<String, ?> payload) {
+        if (payload == null || payload.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Change event payload is not serializable", e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.insurancemegacorp.outbox;
+
+import com.insurancemegacorp.model.OutboxEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination for relayed change events.
+ * Implementations receive batches in outbox order and must keep that order; a batch that
+ * fails is retried in full, so consumers see events at least once.
+ */
+public interface ChangeEventSink {
+
+    /**
+     * Publishes a batch of events.
+     *
+     * @param events the events, ordered by outbox ID
+     * @throws IOException if the batch could not be published
+     */
+    void publish(List<OutboxEvent> events) throws IOException;
+}
@@ -0,0 +1,22 @@
+package com.insurancemegacorp.outbox;
+
+/**
+ * Kinds of change recorded in the outbox.
+ */
+public enum ChangeEventType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    RESTORED,
+    HARD_DELETED,
+    EMAIL_UPDATED,
+    ADDRESS_UPDATED,
+    DRIVER_LICENSE_UPDATED,
+    CREDIT_RATING_UPDATED,
+    CLAIM_ADDED,
+    CLAIM_REMOVED,
+    VEHICLE_ADDED,
+    VEHICLE_REMOVED,
+    POLICY_ADDED,
+    POLICY_REMOVED
+}
@@ -0,0 +1,61 @@
+package com.insurancemegacorp.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.insurancemegacorp.model.OutboxEvent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events to a JSON Lines file, one event per line, forcing each batch to disk
+ * before it is acknowledged.
+ */
+public class FileChangeEventSink implements ChangeEventSink, Closeable {
+
+    private final ObjectMapper objectMapper;
+    private final FileChannel channel;
+
+    public FileChangeEventSink(Path file, ObjectMapper objectMapper) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.objectMapper = objectMapper;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (OutboxEvent event : events) {
+            ObjectNode node = objectMapper.createObjectNode()
+                .put("id", event.getId())
+                .put("aggregateType", event.getAggregateType())
+                .put("aggregateId", event.getAggregateId())
+                .put("eventType", event.getEventType())
+                .put("createdAt", event.getCreatedAt().toString());
+            if (event.getPayload() != null) {
+                node.set("payload", objectMapper.readTree(event.getPayload()));
+            }
+            lines.append(objectMapper.writeValueAsString(node)).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,40 @@
+package com.insurancemegacorp.outbox;
+
+import com.insurancemegacorp.model.OutboxEvent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-process stand-in for a message broker: delivers each event to every subscriber
+ * synchronously on the relay thread.
+ */
+public class InMemoryChangeEventSink implements ChangeEventSink {
+
+    private final List<Consumer<OutboxEvent>> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong publishedCount = new AtomicLong();
+
+    public void subscribe(Consumer<OutboxEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(Consumer<OutboxEvent> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            for (Consumer<OutboxEvent> subscriber : subscribers) {
+                subscriber.accept(event);
+            }
+        }
+        publishedCount.addAndGet(events.size());
+    }
+
+    public long getPublishedCount() {
+        return publishedCount.get();
+    }
+}
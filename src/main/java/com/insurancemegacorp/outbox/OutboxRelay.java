@@ -0,0 +1,93 @@
+package com.insurancemegacorp.outbox;
+
+import com.insurancemegacorp.model.OutboxEvent;
+import com.insurancemegacorp.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Moves committed change events from the outbox table to the configured {@link ChangeEventSink}.
+ * <p>
+ * Each batch is read in ID order, published, and deleted in one transaction. If publishing
+ * fails the transaction rolls back and the same batch is retried on the next run, so delivery
+ * is at least once and never out of order. Only one relay may run against a database;
+ * set {@code quote.outbox.relay.enabled=false} on the other instances.
+ */
+@Component
+@ConditionalOnProperty(name = "quote.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ChangeEventSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       ChangeEventSink sink,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${quote.outbox.relay.batch-size:500}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Outbox relay batch size must be greater than 0");
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${quote.outbox.relay.interval-ms:1000}")
+    public void scheduledRelay() {
+        try {
+            relayPending();
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, pending events will be retried", e);
+        }
+    }
+
+    /**
+     * Relays batches until the outbox is drained.
+     *
+     * @return the number of events relayed
+     */
+    public synchronized long relayPending() {
+        long relayed = 0;
+        int count;
+        do {
+            count = relayBatch();
+            relayed += count;
+        } while (count == batchSize);
+        return relayed;
+    }
+
+    private int relayBatch() {
+        Integer count = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxEventRepository.findAllByOrderByIdAsc(PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            try {
+                sink.publish(batch);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to publish change events", e);
+            }
+            outboxEventRepository.deleteInBatch(batch);
+            return batch.size();
+        });
+        return count != null ? count : 0;
+    }
+}
@@ -1,5 +1,6 @@
 package com.insurancemegacorp.repository;
 
+import com.insurancemegacorp.metrics.SoftDeleteEvent;
 import com.insurancemegacorp.model.SoftDeletable;
 import org.springframework.data.jpa.repository.support.JpaEntityInformation;
 import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
@@ -10,12 +11,12 @@ import java.io.Serializable;
 import java.util.List;
 import java.util.Optional;
 
-public class CustomerRepositoryImpl<T extends SoftDeletable, ID extends Serializable>
+public class BaseRepositoryImpl<T extends SoftDeletable, ID extends Serializable>
         extends SimpleJpaRepository<T, ID> implements BaseRepository<T, ID> {
 
     private final EntityManager entityManager;
 
-    public CustomerRepositoryImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+    public BaseRepositoryImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
         super(entityInformation, entityManager);
         this.entityManager = entityManager;
     }
@@ -36,13 +37,25 @@ public class CustomerRepositoryImpl<T extends SoftDeletable, ID extends Serializ
     @Override
     @Transactional
     public void softDeleteAll(Iterable<? extends T> entities) {
-        entities.forEach(this::softDelete);
+        SoftDeleteEvent event = new SoftDeleteEvent();
+        event.begin();
+        int count = 0;
+        for (T entity : entities) {
+            softDelete(entity);
+            count++;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.setEntityType(getDomainClass().getSimpleName());
+            event.setEntityCount(count);
+            event.commit();
+        }
     }
 
     @Override
     @Transactional
     public void softDeleteAll() {
-        findAll().forEach(this::softDelete);
+        softDeleteAll(findAll());
     }
 
     @Override
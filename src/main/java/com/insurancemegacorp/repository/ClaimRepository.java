@@ -0,0 +1,49 @@
+package com.insurancemegacorp.repository;
+
+import com.insurancemegacorp.model.Claim;
+import com.insurancemegacorp.model.ClaimStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for customer claims.
+ */
+@Repository
+public interface ClaimRepository extends JpaRepository<Claim, Long> {
+
+    /**
+     * Find a customer's claim history, newest first.
+     *
+     * @param customerId the ID of the customer
+     * @return the customer's claims ordered by claim date descending
+     */
+    List<Claim> findByCustomerIdOrderByDateOfClaimDesc(Long customerId);
+
+    /**
+     * Check whether a customer has a claim on or after a date in any status other than the given one.
+     * Answered from the (customer_id, date_of_claim) index.
+     *
+     * @param customerId the ID of the customer
+     * @param since the earliest claim date (inclusive)
+     * @param excludedStatus the status to ignore (typically DENIED)
+     * @return true if such a claim exists
+     */
+    boolean existsByCustomerIdAndDateOfClaimGreaterThanEqualAndStatusNot(Long customerId, LocalDate since, ClaimStatus excludedStatus);
+
+    /**
+     * Delete one claim of a customer with a single statement, without loading it.
+     *
+     * @param customerId the ID of the customer
+     * @param claimNumber the claim number
+     * @return the number of claims deleted (0 or 1)
+     */
+    @Modifying
+    @Query("DELETE FROM Claim cl WHERE cl.customer.id = :customerId AND cl.claimNumber = :claimNumber")
+    int deleteByCustomerIdAndClaimNumber(@Param("customerId") Long customerId, @Param("claimNumber") String claimNumber);
+}
@@ -1,11 +1,14 @@
 package com.insurancemegacorp.repository;
 
 import com.insurancemegacorp.model.Coverage;
+import com.insurancemegacorp.model.SearchableText;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -164,8 +167,7 @@ public interface CoverageRepository extends BaseRepository<Coverage, Long> {
      * @param policyId the ID of the policy
      * @return an Optional containing the most expensive coverage if found
      */
-    @Query("SELECT c FROM Coverage c WHERE c.policy.id = :policyId ORDER BY c.premium DESC LIMIT 1")
-    Optional<Coverage> findMostExpensiveCoverageByPolicyId(@Param("policyId") Long policyId);
+    Optional<Coverage> findFirstByPolicyIdOrderByPremiumDesc(Long policyId);
     
     /**
      * Calculate the total premium for all coverages of a policy.
@@ -187,10 +189,13 @@ public interface CoverageRepository extends BaseRepository<Coverage, Long> {
     
     /**
      * Find coverages with notes containing the specified text.
+     * Scans every coverage row; use TextSearchService for indexed, ranked search.
      *
      * @param searchText the text to search for in coverage notes
      * @return list of coverages with matching notes
+     * @deprecated full table scan, superseded by {@code TextSearchService#searchCoverages}
      */
+    @Deprecated
     @Query("SELECT c FROM Coverage c WHERE LOWER(c.coverageNotes) LIKE LOWER(CONCAT('%', :searchText, '%'))")
     List<Coverage> searchByNotes(@Param("searchText") String searchText);
     
@@ -249,4 +254,30 @@ public interface CoverageRepository extends BaseRepository<Coverage, Long> {
      * @return list of coverages with/without UMBI
      */
     List<Coverage> findByIsUMBI(boolean isUMBI);
+    
+    /**
+     * Read the free-text columns of coverages in ID order, for building the text search index.
+     * Keyset pagination: pass the last ID of the previous batch.
+     *
+     * @param afterId the last ID already read (exclusive)
+     * @param pageable the batch size
+     * @return the next batch of text projections
+     */
+    @Query("SELECT new com.insurancemegacorp.model.SearchableText(c.id, c.active, c.customDescription, c.coverageNotes) " +
+           "FROM Coverage c WHERE c.id > :afterId ORDER BY c.id")
+    List<SearchableText> findSearchableText(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Read the free-text columns of coverages updated on or after a date, in ID order, for
+     * catching the text search index up after a restart.
+     *
+     * @param afterId the last ID already read (exclusive)
+     * @param since the earliest update date to include
+     * @param pageable the batch size
+     * @return the next batch of text projections
+     */
+    @Query("SELECT new com.insurancemegacorp.model.SearchableText(c.id, c.active, c.customDescription, c.coverageNotes) " +
+           "FROM Coverage c WHERE c.id > :afterId AND c.updatedAt >= :since ORDER BY c.id")
+    List<SearchableText> findSearchableTextUpdatedSince(@Param("afterId") Long afterId, @Param("since") LocalDate since,
+                                                        Pageable pageable);
 }
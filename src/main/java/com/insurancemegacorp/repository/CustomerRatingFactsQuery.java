@@ -0,0 +1,57 @@
+package com.insurancemegacorp.repository;
+
+import com.insurancemegacorp.model.Claim;
+import com.insurancemegacorp.model.CustomerRatingFacts;
+
+import java.time.LocalDate;
+
+/**
+ * The single definition of how a known customer's rating facts are looked up by business
+ * customer ID, shared by the blocking ({@link CustomerRatingFactsRepository}) and reactive
+ * ({@link ReactiveCustomerLookupRepository}) quote paths so both price a customer identically.
+ * <p>
+ * Mirrors CustomerService.hasOtherPolicies and isGoodDriver in a single round trip.
+ * Prospects, whose placeholder records the quote write-behind creates, are priced as
+ * unknown customers. Only in-force policies earn the multi-policy discount, not the
+ * QUOTED rows stored for earlier quotes.
+ */
+final class CustomerRatingFactsQuery {
+
+    static final String SQL =
+        "SELECT c.id, c.has_dui, c.accident_count, c.violation_count, " +
+        "EXISTS (SELECT 1 FROM policies p WHERE p.customer_id = c.id AND p.is_active = TRUE " +
+        "AND p.policy_status IN ('ACTIVE', 'RENEWAL_PENDING')) AS has_policies, " +
+        "EXISTS (SELECT 1 FROM claims cl WHERE cl.customer_id = c.id AND cl.date_of_claim >= :claimsSince " +
+        "AND cl.status <> 'DENIED') AS has_recent_claims " +
+        "FROM customers c WHERE c.customer_id = :customerId AND c.is_active = TRUE " +
+        "AND c.is_prospect = FALSE";
+
+    static final String CUSTOMER_ID = "customerId";
+    static final String CLAIMS_SINCE = "claimsSince";
+
+    private CustomerRatingFactsQuery() {
+    }
+
+    /**
+     * Returns the earliest claim date that still counts against the good driver discount.
+     */
+    static LocalDate claimsSince() {
+        return LocalDate.now().minusYears(Claim.RATING_LOOKBACK_YEARS);
+    }
+
+    /**
+     * Builds the rating facts from one result row.
+     */
+    static CustomerRatingFacts toFacts(Long id, Boolean hasDui, Integer accidentCount, Integer violationCount,
+                                       Boolean hasPolicies, Boolean hasRecentClaims) {
+        boolean goodDriver = !Boolean.TRUE.equals(hasDui)
+            && orZero(accidentCount) == 0
+            && orZero(violationCount) <= 1
+            && !Boolean.TRUE.equals(hasRecentClaims);
+        return new CustomerRatingFacts(id, Boolean.TRUE.equals(hasPolicies), goodDriver);
+    }
+
+    private static int orZero(Integer value) {
+        return value != null ? value : 0;
+    }
+}
@@ -0,0 +1,46 @@
+package com.insurancemegacorp.repository;
+
+import com.insurancemegacorp.model.CustomerRatingFacts;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Blocking (JDBC) rating facts lookup for the servlet quote path; runs the same query as the
+ * reactive path's {@link ReactiveCustomerLookupRepository#findRatingFacts(String)}.
+ */
+@Repository
+public class CustomerRatingFactsRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CustomerRatingFactsRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Find the rating facts for an active customer by business customer ID.
+     *
+     * @param customerId the business customer ID
+     * @return the customer's rating facts, or empty if there is no such active customer
+     */
+    public Optional<CustomerRatingFacts> findRatingFacts(String customerId) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue(CustomerRatingFactsQuery.CUSTOMER_ID, customerId)
+            .addValue(CustomerRatingFactsQuery.CLAIMS_SINCE, CustomerRatingFactsQuery.claimsSince());
+        List<CustomerRatingFacts> facts = jdbcTemplate.query(CustomerRatingFactsQuery.SQL, parameters,
+            (row, rowNumber) -> CustomerRatingFactsQuery.toFacts(
+                row.getObject("id", Long.class),
+                row.getObject("has_dui", Boolean.class),
+                row.getObject("accident_count", Integer.class),
+                row.getObject("violation_count", Integer.class),
+                row.getObject("has_policies", Boolean.class),
+                row.getObject("has_recent_claims", Boolean.class)));
+        return facts.stream().findFirst();
+    }
+}
@@ -1,12 +1,16 @@
 package com.insurancemegacorp.repository;
 
 import com.insurancemegacorp.model.Customer;
+import com.insurancemegacorp.model.CustomerLookupFields;
+import com.insurancemegacorp.search.SearchNormalizer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -26,6 +30,27 @@ public interface CustomerRepository extends BaseRepository<Customer, Long> {
      */
     Optional<Customer> findByEmail(String email);
     
+    /**
+     * Find the active customer with a business customer ID. Quote write-behind attaches a
+     * returning customer's quotes to this row instead of creating another.
+     *
+     * @param customerId the business customer ID
+     * @return an Optional containing the oldest active customer with that ID, if any
+     */
+    Optional<Customer> findFirstByCustomerIdAndActiveTrueOrderByIdAsc(String customerId);
+    
+    /**
+     * Lock a customer's row for the rest of the transaction without loading the customer.
+     * Changes recorded as events on the customer but stored in other tables take this lock
+     * so their events are ordered with the customer's own.
+     *
+     * @param id the customer ID
+     * @return the ID if the customer exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id FROM Customer c WHERE c.id = :id")
+    Optional<Long> lockById(@Param("id") Long id);
+    
     /**
      * Find customers by last name.
      *
@@ -50,7 +75,7 @@ public interface CustomerRepository extends BaseRepository<Customer, Long> {
      * @param licenseState the state that issued the license
      * @return an Optional containing the customer if found
      */
-    Optional<Customer> findByDriverLicenseNumberAndLicenseState(String driverLicenseNumber, String licenseState);
+    Optional<Customer> findByDriverLicenseNumberAndDriverLicenseState(String driverLicenseNumber, String licenseState);
     
     /**
      * Find customers by credit rating range.
@@ -63,44 +88,61 @@ public interface CustomerRepository extends BaseRepository<Customer, Long> {
     
     /**
      * Find customers with active policies.
-     * Uses a custom query to join with the policies table.
+     * The subquery reads the policy holder index rather than joining and de-duplicating customers.
      *
      * @param pageable pagination information
      * @return a page of customers with active policies
      */
-    @Query("SELECT DISTINCT c FROM Customer c JOIN c.policies p WHERE p.active = true")
+    @Query(value = "SELECT c FROM Customer c WHERE c.id IN " +
+                   "(SELECT p.policyHolder.id FROM Policy p WHERE p.active = true)",
+           countQuery = "SELECT COUNT(DISTINCT p.policyHolder.id) FROM Policy p WHERE p.active = true")
     Page<Customer> findCustomersWithActivePolicies(Pageable pageable);
 
     /**
      * Find customers with expired policies.
-     * Uses a custom query to join with the policies table.
+     * The subquery reads the policy holder index rather than joining and de-duplicating customers.
      *
      * @param pageable pagination information
      * @return a page of customers with expired policies
      */
-    @Query("SELECT DISTINCT c FROM Customer c JOIN c.policies p WHERE p.active = false")
+    @Query(value = "SELECT c FROM Customer c WHERE c.id IN " +
+                   "(SELECT p.policyHolder.id FROM Policy p WHERE p.active = false)",
+           countQuery = "SELECT COUNT(DISTINCT p.policyHolder.id) FROM Policy p WHERE p.active = false")
     Page<Customer> findCustomersWithExpiredPolicies(Pageable pageable);
 
     /**
      * Find customers with claims in the last N months.
+     * The subquery is a range scan of the claim date index.
      *
      * @param cutoffDate the cutoff date for recent claims
      * @param pageable pagination information
      * @return a page of customers with recent claims
      */
-    @Query("SELECT DISTINCT c FROM Customer c JOIN c.claims cl WHERE cl.dateOfClaim >= :cutoffDate")
+    @Query(value = "SELECT c FROM Customer c WHERE c.id IN " +
+                   "(SELECT cl.customer.id FROM Claim cl WHERE cl.dateOfClaim >= :cutoffDate)",
+           countQuery = "SELECT COUNT(DISTINCT cl.customer.id) FROM Claim cl WHERE cl.dateOfClaim >= :cutoffDate")
     Page<Customer> findCustomersWithRecentClaims(@Param("cutoffDate") LocalDate cutoffDate, Pageable pageable);
     
     /**
      * Find customers by city.
-     * Uses the embedded address relationship.
+     * Matches case- and accent-insensitively through the indexed normalized city column.
      *
      * @param city the city to search for
      * @param pageable pagination information
      * @return a page of customers in the specified city
      */
-    @Query("SELECT c FROM Customer c WHERE LOWER(c.address.city) = LOWER(:city)")
-    Page<Customer> findByCity(@Param("city") String city, Pageable pageable);
+    default Page<Customer> findByCity(String city, Pageable pageable) {
+        return findBySearchCity(SearchNormalizer.text(city), pageable);
+    }
+    
+    /**
+     * Find customers by normalized city.
+     *
+     * @param searchCity the city, normalized with {@link SearchNormalizer#text(String)}
+     * @param pageable pagination information
+     * @return a page of customers in the specified city
+     */
+    Page<Customer> findBySearchCity(String searchCity, Pageable pageable);
     
     /**
      * Find customers by state.
@@ -141,16 +183,53 @@ public interface CustomerRepository extends BaseRepository<Customer, Long> {
      * @param licenseState the state that issued the license
      * @return true if a customer with the license exists and is active
      */
-    boolean existsByDriverLicenseNumberAndLicenseStateAndActiveTrue(String driverLicenseNumber, String licenseState);
+    boolean existsByDriverLicenseNumberAndDriverLicenseStateAndActiveTrue(String driverLicenseNumber, String licenseState);
     
     // Legacy method - kept for backward compatibility
     /**
      * Find a customer by their full name (first + last name).
      * This is a legacy method and may be removed in future versions.
+     * Matches case- and accent-insensitively through the indexed normalized name column;
+     * if several customers share the name, the earliest created is returned.
      *
      * @param name the full name to search for (format: "firstName lastName")
      * @return the customer if found, null otherwise
      */
-    @Query("SELECT c FROM Customer c WHERE CONCAT(c.firstName, ' ', c.lastName) = :name")
-    Customer findByName(@Param("name") String name);
+    default Customer findByName(String name) {
+        return findFirstBySearchNameOrderByIdAsc(SearchNormalizer.text(name));
+    }
+    
+    /**
+     * Find the first customer with the given normalized full name.
+     *
+     * @param searchName the full name, normalized with {@link SearchNormalizer#text(String)}
+     * @return the customer if found, null otherwise
+     */
+    Customer findFirstBySearchNameOrderByIdAsc(String searchName);
+    
+    /**
+     * Read the lookup fields of customers in ID order, for building the customer search index.
+     * Keyset pagination: pass the last ID of the previous batch.
+     *
+     * @param afterId the last ID already read (exclusive)
+     * @param pageable the batch size
+     * @return the next batch of lookup projections
+     */
+    @Query("SELECT new com.insurancemegacorp.model.CustomerLookupFields(c.id, c.active, c.firstName, c.lastName, " +
+           "c.email, c.driverLicenseNumber) FROM Customer c WHERE c.id > :afterId ORDER BY c.id")
+    List<CustomerLookupFields> findLookupFields(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Read the lookup fields of customers updated on or after a date, in ID order, for
+     * catching the customer search index up after a restart.
+     *
+     * @param afterId the last ID already read (exclusive)
+     * @param since the earliest update date to include
+     * @param pageable the batch size
+     * @return the next batch of lookup projections
+     */
+    @Query("SELECT new com.insurancemegacorp.model.CustomerLookupFields(c.id, c.active, c.firstName, c.lastName, " +
+           "c.email, c.driverLicenseNumber) FROM Customer c WHERE c.id > :afterId AND c.updatedAt >= :since ORDER BY c.id")
+    List<CustomerLookupFields> findLookupFieldsUpdatedSince(@Param("afterId") Long afterId, @Param("since") LocalDate since,
+                                                            Pageable pageable);
 }
\ No newline at end of file
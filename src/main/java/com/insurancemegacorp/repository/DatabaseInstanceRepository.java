@@ -0,0 +1,36 @@
+package com.insurancemegacorp.repository;
+
+import com.insurancemegacorp.model.DatabaseInstance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for the database instance identifier.
+ */
+@Repository
+public interface DatabaseInstanceRepository extends JpaRepository<DatabaseInstance, Long> {
+
+    /**
+     * Find the first identifier recorded for this database. If concurrently starting
+     * instances each created one, they all agree on the oldest.
+     *
+     * @return the database's identifier, or empty if none has been created yet
+     */
+    Optional<DatabaseInstance> findFirstByOrderByIdAsc();
+
+    /**
+     * Returns this database's identifier, creating it on first use.
+     *
+     * @return the database instance identifier
+     */
+    default String getOrCreateInstanceId() {
+        return findFirstByOrderByIdAsc()
+            .orElseGet(() -> {
+                save(DatabaseInstance.create());
+                return findFirstByOrderByIdAsc().orElseThrow();
+            })
+            .getInstanceId();
+    }
+}
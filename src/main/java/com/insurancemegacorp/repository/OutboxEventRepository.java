@@ -0,0 +1,23 @@
+package com.insurancemegacorp.repository;
+
+import com.insurancemegacorp.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for change events awaiting relay.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Find the oldest pending events, in the order they were written.
+     *
+     * @param pageable the batch size
+     * @return pending events ordered by ID
+     */
+    List<OutboxEvent> findAllByOrderByIdAsc(Pageable pageable);
+}
@@ -1,12 +1,17 @@
 package com.insurancemegacorp.repository;
 
 import com.insurancemegacorp.model.Policy;
+import com.insurancemegacorp.model.PolicyRatingSnapshot;
 import com.insurancemegacorp.model.PolicyStatus;
+import com.insurancemegacorp.model.SearchableText;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -58,6 +63,25 @@ public interface PolicyRepository extends BaseRepository<Policy, Long> {
      */
     List<Policy> findByPolicyHolderIdAndPolicyStatus(Long customerId, PolicyStatus status);
     
+    /**
+     * Find a policy by ID, provided it is held by the given customer.
+     *
+     * @param id the policy ID
+     * @param customerId the ID of the customer
+     * @return the policy if it exists and belongs to the customer
+     */
+    Optional<Policy> findByIdAndPolicyHolderId(Long id, Long customerId);
+    
+    /**
+     * Check whether a customer holds any active policy in one of the given statuses.
+     * Answered from the (customer_id, is_active) index without loading any policies.
+     *
+     * @param customerId the ID of the customer
+     * @param statuses the policy statuses to count
+     * @return true if the customer holds at least one matching policy
+     */
+    boolean existsByPolicyHolderIdAndActiveTrueAndPolicyStatusIn(Long customerId, Collection<String> statuses);
+    
     /**
      * Find policies that are effective on a specific date.
      *
@@ -123,7 +147,8 @@ public interface PolicyRepository extends BaseRepository<Policy, Long> {
      * @param cancelled whether to find cancelled or non-cancelled policies
      * @return list of cancelled/non-cancelled policies
      */
-    @Query("SELECT p FROM Policy p WHERE (p.cancellationDate IS NOT NULL) = :cancelled")
+    @Query("SELECT p FROM Policy p WHERE (:cancelled = true AND p.cancellationDate IS NOT NULL) " +
+           "OR (:cancelled = false AND p.cancellationDate IS NULL)")
     List<Policy> findCancelledPolicies(@Param("cancelled") boolean cancelled);
     
     /**
@@ -155,6 +180,24 @@ public interface PolicyRepository extends BaseRepository<Policy, Long> {
     @Query("SELECT p.policyType, SUM(p.totalPremium) FROM Policy p GROUP BY p.policyType")
     List<Object[]> calculateTotalPremiumByPolicyType();
     
+    /**
+     * Count active (not soft-deleted) policies by status.
+     * Used to reconcile the incrementally maintained dashboard aggregates.
+     *
+     * @return list of Object arrays containing status and count
+     */
+    @Query("SELECT p.policyStatus, COUNT(p) FROM Policy p WHERE p.active = true GROUP BY p.policyStatus")
+    List<Object[]> countActivePoliciesByStatus();
+    
+    /**
+     * Calculate total written premium of active (not soft-deleted) policies by policy type.
+     * Used to reconcile the incrementally maintained dashboard aggregates.
+     *
+     * @return list of Object arrays containing policy type and total premium
+     */
+    @Query("SELECT p.policyType, SUM(p.totalPremium) FROM Policy p WHERE p.active = true GROUP BY p.policyType")
+    List<Object[]> sumActivePremiumByPolicyType();
+    
     /**
      * Find policies that include a specific vehicle.
      *
@@ -179,8 +222,7 @@ public interface PolicyRepository extends BaseRepository<Policy, Long> {
      * @param customerId the ID of the customer
      * @return an Optional containing the most recent policy if found
      */
-    @Query("SELECT p FROM Policy p WHERE p.policyHolder.id = :customerId ORDER BY p.issueDate DESC LIMIT 1")
-    Optional<Policy> findMostRecentPolicyByCustomerId(@Param("customerId") Long customerId);
+    Optional<Policy> findFirstByPolicyHolderIdOrderByIssueDateDesc(Long customerId);
     
     /**
      * Find policies that were bound within a date range.
@@ -208,4 +250,145 @@ public interface PolicyRepository extends BaseRepository<Policy, Long> {
      * @return true if a policy with the number exists and is active
      */
     boolean existsByPolicyNumberAndActiveTrue(String policyNumber);
+    
+    /**
+     * Find which of the given policy numbers already exist.
+     *
+     * @param policyNumbers the policy numbers to check
+     * @return the subset of policy numbers that are already stored
+     */
+    @Query("SELECT p.policyNumber FROM Policy p WHERE p.policyNumber IN :policyNumbers")
+    List<String> findExistingPolicyNumbers(@Param("policyNumbers") Collection<String> policyNumbers);
+    
+    /**
+     * Find a quoted policy by policy number, fetching the policy holder, coverages and
+     * vehicles needed to rebuild the quote in a single query.
+     *
+     * @param policyNumber the policy number (the quote ID)
+     * @return an Optional containing the quoted policy if found
+     */
+    @Query("SELECT DISTINCT p FROM Policy p JOIN FETCH p.policyHolder " +
+           "LEFT JOIN FETCH p.coverages LEFT JOIN FETCH p.coveredVehicles " +
+           "WHERE p.policyNumber = :policyNumber AND p.policyStatus = 'QUOTED'")
+    Optional<Policy> findQuotedPolicy(@Param("policyNumber") String policyNumber);
+    
+    /**
+     * Find the lowest policy ID.
+     *
+     * @return the lowest policy ID, or null if there are no policies
+     */
+    @Query("SELECT MIN(p.id) FROM Policy p")
+    Long findMinId();
+    
+    /**
+     * Find the highest policy ID.
+     *
+     * @return the highest policy ID, or null if there are no policies
+     */
+    @Query("SELECT MAX(p.id) FROM Policy p")
+    Long findMaxId();
+    
+    /**
+     * Find the rating inputs for every covered vehicle on active, in-force policies within an ID range.
+     * Returns read-only projections; no entities are loaded into the persistence context.
+     *
+     * @param fromId the lowest policy ID (inclusive)
+     * @param toId the highest policy ID (inclusive)
+     * @param claimsSince the earliest claim date counted against the policyholder
+     * @return list of rating snapshots, one per policy/vehicle pair
+     */
+    @Query("SELECT new com.insurancemegacorp.model.PolicyRatingSnapshot(" +
+           "p.id, p.policyNumber, c.dateOfBirth, c.licenseIssueDate, c.creditScore, c.isGoodStudent, " +
+           "c.hasDUI, c.accidentCount, c.violationCount, " +
+           "(SELECT COUNT(cl) FROM Claim cl WHERE cl.customer = c AND cl.dateOfClaim >= :claimsSince " +
+           "AND cl.status <> com.insurancemegacorp.model.ClaimStatus.DENIED), " +
+           "c.address.state, " +
+           "(SELECT COUNT(o) FROM Policy o WHERE o.policyHolder = c AND o.active = true), " +
+           "v.year, v.make, v.isHighPerformance, v.purchasePrice, v.isConvertible, v.hasAntiTheft, " +
+           "v.safetyFeatures, p.totalPremium) " +
+           "FROM Policy p JOIN p.policyHolder c JOIN p.coveredVehicles v " +
+           "WHERE p.id BETWEEN :fromId AND :toId AND p.active = true AND p.policyStatus = 'ACTIVE'")
+    List<PolicyRatingSnapshot> findRatingSnapshots(@Param("fromId") Long fromId, @Param("toId") Long toId,
+                                                   @Param("claimsSince") LocalDate claimsSince);
+    
+    /**
+     * Move active policies within an ID range that expire on or before the renewal horizon
+     * to RENEWAL_PENDING.
+     *
+     * @param fromId the lowest policy ID (inclusive)
+     * @param toId the highest policy ID (inclusive)
+     * @param renewalHorizon the last expiration date to open for renewal
+     * @return the number of policies updated
+     */
+    @Modifying
+    @Query("UPDATE Policy p SET p.policyStatus = 'RENEWAL_PENDING' " +
+           "WHERE p.id BETWEEN :fromId AND :toId AND p.active = true AND p.policyStatus = 'ACTIVE' " +
+           "AND p.expirationDate <= :renewalHorizon")
+    int markRenewalPending(@Param("fromId") Long fromId, @Param("toId") Long toId,
+                           @Param("renewalHorizon") LocalDate renewalHorizon);
+    
+    /**
+     * Find RENEWAL_PENDING policies within an ID range that have expired and for which an
+     * active renewal term has been issued (a policy naming them as its prior policy).
+     *
+     * @param fromId the lowest policy ID (inclusive)
+     * @param toId the highest policy ID (inclusive)
+     * @param asOf the sweep date; policies expiring before it are due
+     * @return the IDs of renewed policies
+     */
+    @Query("SELECT p.id FROM Policy p WHERE p.id BETWEEN :fromId AND :toId " +
+           "AND p.policyStatus = 'RENEWAL_PENDING' AND p.expirationDate < :asOf " +
+           "AND EXISTS (SELECT r.id FROM Policy r WHERE r.priorPolicyNumber = p.policyNumber AND r.active = true)")
+    List<Long> findRenewedIds(@Param("fromId") Long fromId, @Param("toId") Long toId, @Param("asOf") LocalDate asOf);
+    
+    /**
+     * Update the status of the given RENEWAL_PENDING policies.
+     *
+     * @param ids the policy IDs
+     * @param status the new status
+     * @return the number of policies updated
+     */
+    @Modifying
+    @Query("UPDATE Policy p SET p.policyStatus = :status WHERE p.id IN :ids AND p.policyStatus = 'RENEWAL_PENDING'")
+    int updateRenewalPendingStatus(@Param("ids") Collection<Long> ids, @Param("status") String status);
+    
+    /**
+     * Move RENEWAL_PENDING policies within an ID range that have expired to EXPIRED.
+     * Run after renewed policies have been moved, so what remains was not renewed.
+     *
+     * @param fromId the lowest policy ID (inclusive)
+     * @param toId the highest policy ID (inclusive)
+     * @param asOf the sweep date; policies expiring before it are due
+     * @return the number of policies updated
+     */
+    @Modifying
+    @Query("UPDATE Policy p SET p.policyStatus = 'EXPIRED' " +
+           "WHERE p.id BETWEEN :fromId AND :toId AND p.policyStatus = 'RENEWAL_PENDING' AND p.expirationDate < :asOf")
+    int markExpired(@Param("fromId") Long fromId, @Param("toId") Long toId, @Param("asOf") LocalDate asOf);
+    
+    /**
+     * Read the free-text columns of policies in ID order, for building the text search index.
+     * Keyset pagination: pass the last ID of the previous batch.
+     *
+     * @param afterId the last ID already read (exclusive)
+     * @param pageable the batch size
+     * @return the next batch of text projections
+     */
+    @Query("SELECT new com.insurancemegacorp.model.SearchableText(p.id, p.active, p.underwritingNotes, p.specialConditions) " +
+           "FROM Policy p WHERE p.id > :afterId ORDER BY p.id")
+    List<SearchableText> findSearchableText(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Read the free-text columns of policies updated on or after a date, in ID order, for
+     * catching the text search index up after a restart.
+     *
+     * @param afterId the last ID already read (exclusive)
+     * @param since the earliest update date to include
+     * @param pageable the batch size
+     * @return the next batch of text projections
+     */
+    @Query("SELECT new com.insurancemegacorp.model.SearchableText(p.id, p.active, p.underwritingNotes, p.specialConditions) " +
+           "FROM Policy p WHERE p.id > :afterId AND p.updatedAt >= :since ORDER BY p.id")
+    List<SearchableText> findSearchableTextUpdatedSince(@Param("afterId") Long afterId, @Param("since") LocalDate since,
+                                                        Pageable pageable);
 }
@@ -0,0 +1,26 @@
+package com.insurancemegacorp.repository;
+
+import com.insurancemegacorp.model.PolicySweepCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for policy lifecycle sweep checkpoints.
+ */
+@Repository
+public interface PolicySweepCheckpointRepository extends JpaRepository<PolicySweepCheckpoint, Long> {
+
+    /**
+     * Find the partitions already applied for a run date.
+     *
+     * @param runDate the sweep's run date
+     * @return the lower policy ID bound of each completed partition
+     */
+    @Query("SELECT c.fromId FROM PolicySweepCheckpoint c WHERE c.runDate = :runDate")
+    List<Long> findCompletedPartitions(@Param("runDate") LocalDate runDate);
+}
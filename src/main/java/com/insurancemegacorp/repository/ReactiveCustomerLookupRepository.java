@@ -0,0 +1,71 @@
+package com.insurancemegacorp.repository;
+
+import com.insurancemegacorp.model.CustomerRatingFacts;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PreDestroy;
+
+/**
+ * Non-blocking (R2DBC) lookups for the reactive quote path. The rating facts query is shared
+ * with the blocking path through {@link CustomerRatingFactsQuery}.
+ * <p>
+ * The connection pool is owned here rather than exposed as a bean: a ConnectionFactory bean
+ * would make Spring Boot back off from auto-configuring the JDBC DataSource used by JPA.
+ */
+@Repository
+@Profile("!quote-only")
+public class ReactiveCustomerLookupRepository {
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ReactiveCustomerLookupRepository(@Value("${quote.reactive.r2dbc-url:r2dbc:h2:mem:///quotes?options=DB_CLOSE_DELAY=-1}") String url,
+                                            @Value("${spring.datasource.username:sa}") String username,
+                                            @Value("${spring.datasource.password:}") String password,
+                                            @Value("${quote.reactive.pool-size:10}") int poolSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+            .option(ConnectionFactoryOptions.USER, username)
+            .option(ConnectionFactoryOptions.PASSWORD, password)
+            .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+            .builder(ConnectionFactories.get(options))
+            .maxSize(poolSize)
+            .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    /**
+     * Find the rating facts for an active customer by business customer ID.
+     *
+     * @param customerId the business customer ID
+     * @return the customer's rating facts, or empty if there is no such active customer
+     */
+    public Mono<CustomerRatingFacts> findRatingFacts(String customerId) {
+        return databaseClient.sql(CustomerRatingFactsQuery.SQL)
+            .bind(CustomerRatingFactsQuery.CUSTOMER_ID, customerId)
+            .bind(CustomerRatingFactsQuery.CLAIMS_SINCE, CustomerRatingFactsQuery.claimsSince())
+            .map((row, metadata) -> CustomerRatingFactsQuery.toFacts(
+                row.get("id", Long.class),
+                row.get("has_dui", Boolean.class),
+                row.get("accident_count", Integer.class),
+                row.get("violation_count", Integer.class),
+                row.get("has_policies", Boolean.class),
+                row.get("has_recent_claims", Boolean.class)))
+            .first();
+    }
+
+    @PreDestroy
+    public void close() {
+        connectionPool.dispose();
+    }
+}
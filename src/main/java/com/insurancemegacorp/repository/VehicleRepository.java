@@ -122,7 +122,7 @@ public interface VehicleRepository extends BaseRepository<Vehicle, Long> {
      * @param hasAntiTheft whether to find vehicles with anti-theft devices
      * @return list of vehicles matching the anti-theft criteria
      */
-    List<Vehicle> findByHasAntiTheftDevice(boolean hasAntiTheft);
+    List<Vehicle> findByHasAntiTheft(boolean hasAntiTheft);
     
     /**
      * Find vehicles by safety features.
@@ -130,7 +130,7 @@ public interface VehicleRepository extends BaseRepository<Vehicle, Long> {
      * @param safetyFeatures the safety features to search for
      * @return list of vehicles with the specified safety features
      */
-    @Query("SELECT v FROM Vehicle v WHERE :safetyFeatures MEMBER OF v.safetyFeatures")
+    @Query("SELECT v FROM Vehicle v WHERE v.safetyFeatures LIKE CONCAT('%', :safetyFeatures, '%')")
     List<Vehicle> findBySafetyFeature(@Param("safetyFeatures") String safetyFeatures);
     
     /**
@@ -156,10 +156,10 @@ public interface VehicleRepository extends BaseRepository<Vehicle, Long> {
     /**
      * Find vehicles by owner (customer) ID.
      *
-     * @param ownerId the ID of the owner (customer)
+     * @param customerId the ID of the owning customer
      * @return list of vehicles owned by the specified customer
      */
-    List<Vehicle> findByOwnerId(Long ownerId);
+    List<Vehicle> findByCustomerId(Long customerId);
     
     /**
      * Find vehicles by license plate number and state.
@@ -187,20 +187,21 @@ public interface VehicleRepository extends BaseRepository<Vehicle, Long> {
     List<Vehicle> findByIsAntique(boolean isAntique);
     
     /**
-     * Find vehicles that are used for ridesharing.
+     * Count vehicles by make.
      *
-     * @param isRideshare whether to find rideshare vehicles
-     * @return list of rideshare vehicles
+     * @return list of Object arrays containing make and count
      */
-    List<Vehicle> findByIsRideshare(boolean isRideshare);
+    @Query("SELECT v.make, COUNT(v) FROM Vehicle v GROUP BY v.make ORDER BY COUNT(v) DESC")
+    List<Object[]> countVehiclesByMake();
     
     /**
-     * Count vehicles by make.
+     * Count active (not soft-deleted) vehicles by make.
+     * Used to reconcile the incrementally maintained dashboard aggregates.
      *
      * @return list of Object arrays containing make and count
      */
-    @Query("SELECT v.make, COUNT(v) FROM Vehicle v GROUP BY v.make ORDER BY COUNT(v) DESC")
-    List<Object[]> countVehiclesByMake();
+    @Query("SELECT v.make, COUNT(v) FROM Vehicle v WHERE v.active = true GROUP BY v.make")
+    List<Object[]> countActiveVehiclesByMake();
     
     /**
      * Find vehicles that are due for renewal within a date range.
@@ -209,7 +210,7 @@ public interface VehicleRepository extends BaseRepository<Vehicle, Long> {
      * @param endDate the end date (inclusive)
      * @return list of vehicles due for renewal in the specified date range
      */
-    @Query("SELECT v FROM Vehicle v JOIN v.policies p WHERE p.expirationDate BETWEEN :startDate AND :endDate")
+    @Query("SELECT DISTINCT v FROM Policy p JOIN p.coveredVehicles v WHERE p.expirationDate BETWEEN :startDate AND :endDate")
     List<Vehicle> findVehiclesDueForRenewal(
         @Param("startDate") LocalDate startDate, 
         @Param("endDate") LocalDate endDate
@@ -0,0 +1,29 @@
+package com.insurancemegacorp.search;
+
+/**
+ * One ranked result from the {@link TextSearchIndex}.
+ */
+public class SearchHit {
+
+    private final SearchableType type;
+    private final long id;
+    private final float score;
+
+    public SearchHit(SearchableType type, long id, float score) {
+        this.type = type;
+        this.id = id;
+        this.score = score;
+    }
+
+    public SearchableType getType() {
+        return type;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public float getScore() {
+        return score;
+    }
+}
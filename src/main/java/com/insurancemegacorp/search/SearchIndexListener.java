@@ -0,0 +1,160 @@
+package com.insurancemegacorp.search;
+
+import com.insurancemegacorp.model.Coverage;
+import com.insurancemegacorp.model.Customer;
+import com.insurancemegacorp.model.Policy;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.tuple.entity.EntityMetamodel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+
+/**
+ * Hibernate post-commit listener that keeps the {@link TextSearchIndex} in step with
+ * committed Coverage, Policy and Customer changes.
+ * <p>
+ * Documents are built from the committed entity state, so no query is issued. Updates
+ * that touch none of the indexed columns or the active flag are skipped, and
+ * soft-deleted records are removed from the index. A failed index write is logged; the
+ * row's update date brings it into the catch-up window on the next restart.
+ */
+public class SearchIndexListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexListener.class);
+
+    private static final String[] COVERAGE_TEXT = {"customDescription", "coverageNotes"};
+    private static final String[] POLICY_TEXT = {"underwritingNotes", "specialConditions"};
+    private static final String[] CUSTOMER_LOOKUP = {"firstName", "lastName", "email", "driverLicenseNumber"};
+    private static final String ACTIVE = "active";
+
+    private final TextSearchIndex index;
+
+    public SearchIndexListener(TextSearchIndex index) {
+        this.index = index;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        apply(event.getPersister(), event.getId(), event.getState());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (touchesIndexedState(event)) {
+            apply(event.getPersister(), event.getId(), event.getState());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        SearchableType type = typeOf(event.getPersister());
+        try {
+            index.delete(type, ((Number) event.getId()).longValue());
+        } catch (RuntimeException e) {
+            log.warn("Failed to remove {} {} from the search index", type, event.getId(), e);
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was applied before commit, so there is nothing to undo
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was applied before commit, so there is nothing to undo
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was applied before commit, so there is nothing to undo
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return Coverage.class.isAssignableFrom(type) || Policy.class.isAssignableFrom(type)
+            || Customer.class.isAssignableFrom(type);
+    }
+
+    // Still abstract in Hibernate 5.4; superseded by the correctly spelled method above
+    @Override
+    @Deprecated
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return requiresPostCommitHandling(persister);
+    }
+
+    private void apply(EntityPersister persister, Serializable id, Object[] state) {
+        SearchableType type = typeOf(persister);
+        EntityMetamodel metamodel = persister.getEntityMetamodel();
+        long recordId = ((Number) id).longValue();
+        try {
+            if (!Boolean.TRUE.equals(state[metamodel.getPropertyIndex(ACTIVE)])) {
+                index.delete(type, recordId);
+                return;
+            }
+            String[] properties = indexedProperties(type);
+            String[] values = new String[properties.length];
+            for (int i = 0; i < properties.length; i++) {
+                values[i] = (String) state[metamodel.getPropertyIndex(properties[i])];
+            }
+            if (type == SearchableType.CUSTOMER) {
+                index.indexCustomer(recordId, values[0], values[1], values[2], values[3]);
+            } else {
+                index.index(type, recordId, values);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to index {} {}", type, recordId, e);
+        }
+    }
+
+    private static boolean touchesIndexedState(PostUpdateEvent event) {
+        int[] dirty = event.getDirtyProperties();
+        if (dirty == null) {
+            // Detached update without a prior select; re-index to be safe
+            return true;
+        }
+        EntityMetamodel metamodel = event.getPersister().getEntityMetamodel();
+        String[] names = metamodel.getPropertyNames();
+        for (int property : dirty) {
+            String name = names[property];
+            if (ACTIVE.equals(name)) {
+                return true;
+            }
+            for (String indexed : indexedProperties(typeOf(event.getPersister()))) {
+                if (indexed.equals(name)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static SearchableType typeOf(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        if (Coverage.class.isAssignableFrom(type)) {
+            return SearchableType.COVERAGE;
+        }
+        return Policy.class.isAssignableFrom(type) ? SearchableType.POLICY : SearchableType.CUSTOMER;
+    }
+
+    // Customer values are passed to TextSearchIndex.indexCustomer in this order
+    private static String[] indexedProperties(SearchableType type) {
+        switch (type) {
+            case COVERAGE:
+                return COVERAGE_TEXT;
+            case POLICY:
+                return POLICY_TEXT;
+            default:
+                return CUSTOMER_LOOKUP;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.insurancemegacorp.search;
+
+import com.insurancemegacorp.model.CustomerLookupFields;
+import com.insurancemegacorp.model.SearchableText;
+import com.insurancemegacorp.repository.CoverageRepository;
+import com.insurancemegacorp.repository.CustomerRepository;
+import com.insurancemegacorp.repository.DatabaseInstanceRepository;
+import com.insurancemegacorp.repository.PolicyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Brings the {@link TextSearchIndex} up to date with the database at startup.
+ * <p>
+ * The index is first attached to the current database instance, before the application
+ * serves requests; an index from another database is emptied. A new index is built in full; an existing one only re-reads the coverages, policies and
+ * customers updated since its last commit. Rows are read as text projections in ID order with keyset
+ * pagination, on a background thread so startup is not held up; searches return partial
+ * results until it finishes. Live changes keep flowing through {@link SearchIndexListener}
+ * meanwhile; a record changed while its batch is in flight may keep the text the batch
+ * read until it next changes or the next startup catches it up.
+ */
+@Component
+@Profile("!quote-only")
+public class SearchIndexRebuilder {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexRebuilder.class);
+
+    private final TextSearchIndex index;
+    private final CoverageRepository coverageRepository;
+    private final PolicyRepository policyRepository;
+    private final CustomerRepository customerRepository;
+    private final DatabaseInstanceRepository databaseInstanceRepository;
+    private final int batchSize;
+
+    @Autowired
+    public SearchIndexRebuilder(TextSearchIndex index,
+                                CoverageRepository coverageRepository,
+                                PolicyRepository policyRepository,
+                                CustomerRepository customerRepository,
+                                DatabaseInstanceRepository databaseInstanceRepository,
+                                @Value("${quote.search.rebuild-batch-size:1000}") int batchSize) {
+        this.index = index;
+        this.coverageRepository = coverageRepository;
+        this.policyRepository = policyRepository;
+        this.customerRepository = customerRepository;
+        this.databaseInstanceRepository = databaseInstanceRepository;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        index.attach(databaseInstanceRepository.getOrCreateInstanceId());
+        Thread thread = new Thread(this::rebuild, "search-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Re-indexes every record updated since the index's last commit, or every record if
+     * the index has no dated commit.
+     */
+    public void rebuild() {
+        LocalDate since = index.getLastCommitDate();
+        long started = System.currentTimeMillis();
+        long coverages;
+        long policies;
+        long customers;
+        if (since == null) {
+            coverages = loadText(SearchableType.COVERAGE, coverageRepository::findSearchableText);
+            policies = loadText(SearchableType.POLICY, policyRepository::findSearchableText);
+            customers = load(customerRepository::findLookupFields, CustomerLookupFields::getId, this::indexCustomer);
+        } else {
+            coverages = loadText(SearchableType.COVERAGE,
+                (afterId, page) -> coverageRepository.findSearchableTextUpdatedSince(afterId, since, page));
+            policies = loadText(SearchableType.POLICY,
+                (afterId, page) -> policyRepository.findSearchableTextUpdatedSince(afterId, since, page));
+            customers = load((afterId, page) -> customerRepository.findLookupFieldsUpdatedSince(afterId, since, page),
+                CustomerLookupFields::getId, this::indexCustomer);
+        }
+        index.markCaughtUp();
+        index.commit();
+        log.info("Search index {} with {} coverages, {} policies and {} customers in {} ms",
+            since == null ? "rebuilt" : "caught up since " + since, coverages, policies, customers,
+            System.currentTimeMillis() - started);
+    }
+
+    private long loadText(SearchableType type, BiFunction<Long, Pageable, List<SearchableText>> batches) {
+        return load(batches, SearchableText::getId, row -> {
+            if (row.isActive()) {
+                index.index(type, row.getId(), row.getPrimaryText(), row.getSecondaryText());
+            } else {
+                index.delete(type, row.getId());
+            }
+        });
+    }
+
+    private void indexCustomer(CustomerLookupFields row) {
+        if (row.isActive()) {
+            index.indexCustomer(row.getId(), row.getFirstName(), row.getLastName(), row.getEmail(),
+                row.getDriverLicenseNumber());
+        } else {
+            index.delete(SearchableType.CUSTOMER, row.getId());
+        }
+    }
+
+    private <T> long load(BiFunction<Long, Pageable, List<T>> batches, Function<T, Long> idOf, Consumer<T> apply) {
+        Pageable page = PageRequest.of(0, batchSize);
+        long count = 0;
+        long afterId = 0;
+        while (true) {
+            List<T> batch = batches.apply(afterId, page);
+            batch.forEach(apply);
+            count += batch.size();
+            if (batch.size() < batchSize) {
+                return count;
+            }
+            afterId = idOf.apply(batch.get(batch.size() - 1));
+        }
+    }
+}
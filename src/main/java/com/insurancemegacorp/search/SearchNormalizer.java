@@ -0,0 +1,68 @@
+package com.insurancemegacorp.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical forms for customer lookup keys, shared by the normalized search columns and
+ * the customer search index so stored values and query input always compare alike.
+ */
+public final class SearchNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+");
+
+    private SearchNormalizer() {
+    }
+
+    /**
+     * Normalizes free text: accents stripped, lower case, and runs of punctuation or
+     * whitespace collapsed to a single space. {@code "  O'Brien-Núñez "} becomes
+     * {@code "o brien nunez"}.
+     *
+     * @param text the text, may be null
+     * @return the normalized text, or null if the input is null
+     */
+    public static String text(String text) {
+        if (text == null) {
+            return null;
+        }
+        String decomposed = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(decomposed.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Normalizes a full name as "first last".
+     *
+     * @param firstName the first name, may be null
+     * @param lastName the last name, may be null
+     * @return the normalized full name
+     */
+    public static String fullName(String firstName, String lastName) {
+        return text((firstName != null ? firstName : "") + " " + (lastName != null ? lastName : ""));
+    }
+
+    /**
+     * Normalizes an email address: trimmed and lower case.
+     *
+     * @param email the email address, may be null
+     * @return the normalized address, or null if the input is null
+     */
+    public static String email(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Normalizes a driver's license number to upper-case letters and digits only, so
+     * {@code "d123-456 78"} and {@code "D12345678"} compare equal.
+     *
+     * @param licenseNumber the license number, may be null
+     * @return the normalized number, or null if the input is null
+     */
+    public static String licenseNumber(String licenseNumber) {
+        return licenseNumber != null
+            ? NON_ALPHANUMERIC.matcher(licenseNumber.toUpperCase(Locale.ROOT)).replaceAll("")
+            : null;
+    }
+}
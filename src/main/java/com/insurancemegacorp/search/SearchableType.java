@@ -0,0 +1,13 @@
+package com.insurancemegacorp.search;
+
+/**
+ * Kinds of record held in the {@link TextSearchIndex}.
+ */
+public enum SearchableType {
+    /** Coverage custom description and notes. */
+    COVERAGE,
+    /** Policy underwriting notes and special conditions. */
+    POLICY,
+    /** Customer name, email and driver's license number. */
+    CUSTOMER
+}
@@ -0,0 +1,437 @@
+package com.insurancemegacorp.search;
+
+import org.apache.commons.codec.language.DoubleMetaphone;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Embedded Lucene inverted index over coverage and policy free text and customer lookup keys.
+ * <p>
+ * One document per record, keyed by {@code TYPE:id}, so re-indexing a record replaces its
+ * document. Writes are buffered by the {@link IndexWriter} and become searchable through a
+ * near-real-time reader that a background thread reopens every
+ * {@code quote.search.refresh-interval-ms}; nothing waits for a commit. Commits run on a
+ * schedule and record the date they were taken, so after a restart only records updated
+ * since then need to be re-read (see {@link SearchIndexRebuilder}). Commits also record the
+ * {@link com.insurancemegacorp.model.DatabaseInstance} they were taken against; an index
+ * left over from another database, such as the previous run's in-memory one whose IDs
+ * have since been reused, is discarded when {@link #attach} is called at startup and
+ * rebuilt in full. The database is only consulted then, not at construction, because the
+ * index is created while the entity manager factory that registers its listener is still
+ * being built. Free-text results are
+ * ranked by BM25 over the analyzed query terms.
+ * <p>
+ * Customers are indexed by normalized name tokens, their Double Metaphone codes, email and
+ * license number, and matched with exact, prefix, edit-distance and phonetic variants of
+ * the query so a misspelled or half-typed name still finds the caller. Edit-distance
+ * matching runs as a Levenshtein automaton over the term dictionary rather than a scan, so
+ * lookups stay fast as the customer base grows.
+ */
+@Component
+@Profile("!quote-only")
+public class TextSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TextSearchIndex.class);
+
+    private static final String KEY_FIELD = "key";
+    private static final String TYPE_FIELD = "type";
+    private static final String ID_FIELD = "id";
+    private static final String TEXT_FIELD = "text";
+    private static final String NAME_FIELD = "name";
+    private static final String PHONETIC_FIELD = "phonetic";
+    private static final String EMAIL_FIELD = "email";
+    private static final String LICENSE_FIELD = "license";
+    private static final String COMMITTED_ON = "committedOn";
+    private static final String DATABASE_INSTANCE = "databaseInstance";
+    private static final Set<String> HIT_FIELDS = Collections.singleton(ID_FIELD);
+    private static final int MAX_QUERY_TERMS = 64;
+
+    // Customer lookup scoring: each matching variant adds its boost, so exact beats prefix beats fuzzy
+    private static final float EXACT_BOOST = 8f;
+    private static final float PREFIX_BOOST = 4f;
+    private static final float FUZZY_BOOST = 2f;
+    private static final float PHONETIC_BOOST = 1f;
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    // Changes applied while a commit is being taken may miss it; the margin keeps them in the catch-up window
+    private static final Duration COMMIT_MARGIN = Duration.ofMinutes(5);
+
+    private final Directory directory;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final DoubleMetaphone metaphone = new DoubleMetaphone();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    private final Map<String, String> openedCommitData;
+    private volatile String databaseInstanceId;
+    private volatile LocalDate lastCommitDate;
+    private volatile boolean caughtUp;
+
+    @Autowired
+    public TextSearchIndex(@Value("${quote.search.index-dir:${java.io.tmpdir}/customer-quote-search}") String indexDir,
+                           @Value("${quote.search.refresh-interval-ms:500}") long refreshIntervalMs) throws IOException {
+        this.directory = FSDirectory.open(Paths.get(indexDir));
+        this.openedCommitData = DirectoryReader.indexExists(directory)
+            ? SegmentInfos.readLatestCommit(directory).getUserData()
+            : Collections.emptyMap();
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+            .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        // Until attached, a commit records no database, so the next startup rebuilds in full
+        writer.setLiveCommitData(Collections.<String, String>emptyMap().entrySet());
+        this.searcherManager = new SearcherManager(writer, null);
+
+        double maxStaleSeconds = refreshIntervalMs / 1000.0;
+        this.reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager,
+            maxStaleSeconds, Math.min(0.025, maxStaleSeconds));
+        reopenThread.setName("search-index-refresh");
+        reopenThread.setDaemon(true);
+        reopenThread.start();
+        log.info("Opened text search index at {} with {} documents", indexDir, writer.getDocStats().numDocs);
+    }
+
+    /**
+     * Adds or replaces the document for a record. A record with no text is removed instead.
+     *
+     * @param type the record type
+     * @param id the record ID
+     * @param texts the record's free-text values; nulls are skipped
+     */
+    public void index(SearchableType type, long id, String... texts) {
+        StringBuilder text = new StringBuilder();
+        for (String value : texts) {
+            if (value != null && !value.isBlank()) {
+                text.append(value).append('\n');
+            }
+        }
+        if (text.length() == 0) {
+            delete(type, id);
+            return;
+        }
+
+        Document document = new Document();
+        document.add(new StringField(KEY_FIELD, key(type, id), Field.Store.NO));
+        document.add(new StringField(TYPE_FIELD, type.name(), Field.Store.NO));
+        document.add(new StoredField(ID_FIELD, id));
+        document.add(new TextField(TEXT_FIELD, text.toString(), Field.Store.NO));
+        try {
+            writer.updateDocument(new Term(KEY_FIELD, key(type, id)), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Removes the document for a record, if any.
+     *
+     * @param type the record type
+     * @param id the record ID
+     */
+    public void delete(SearchableType type, long id) {
+        try {
+            writer.deleteDocuments(new Term(KEY_FIELD, key(type, id)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Adds or replaces the lookup document for a customer. Inactive customers should be
+     * removed with {@link #delete} instead.
+     *
+     * @param id the customer ID
+     * @param firstName the first name
+     * @param lastName the last name
+     * @param email the email address, may be null
+     * @param licenseNumber the driver's license number, may be null
+     */
+    public void indexCustomer(long id, String firstName, String lastName, String email, String licenseNumber) {
+        Document document = new Document();
+        document.add(new StringField(KEY_FIELD, key(SearchableType.CUSTOMER, id), Field.Store.NO));
+        document.add(new StringField(TYPE_FIELD, SearchableType.CUSTOMER.name(), Field.Store.NO));
+        document.add(new StoredField(ID_FIELD, id));
+        for (String token : nameTokens(SearchNormalizer.fullName(firstName, lastName))) {
+            document.add(new StringField(NAME_FIELD, token, Field.Store.NO));
+            for (String code : phoneticCodes(token)) {
+                document.add(new StringField(PHONETIC_FIELD, code, Field.Store.NO));
+            }
+        }
+        if (email != null && !email.isBlank()) {
+            document.add(new StringField(EMAIL_FIELD, SearchNormalizer.email(email), Field.Store.NO));
+        }
+        String license = SearchNormalizer.licenseNumber(licenseNumber);
+        if (license != null && !license.isEmpty()) {
+            document.add(new StringField(LICENSE_FIELD, license, Field.Store.NO));
+        }
+        try {
+            writer.updateDocument(new Term(KEY_FIELD, key(SearchableType.CUSTOMER, id)), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Finds the records of one type best matching the given text.
+     * <p>
+     * For coverages and policies a record matches if it contains any of the query terms;
+     * records containing more, and rarer, terms rank higher. For customers the text is
+     * treated as a name, and also as an email address or license number when it looks like
+     * one; exact matches rank above prefix, misspelled and sound-alike matches.
+     *
+     * @param text the search text
+     * @param type the record type to search
+     * @param limit the maximum number of hits
+     * @return hits in descending score order
+     */
+    public List<SearchHit> search(String text, SearchableType type, int limit) {
+        if (text == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+            .add(new TermQuery(new Term(TYPE_FIELD, type.name())), BooleanClause.Occur.FILTER)
+            .setMinimumNumberShouldMatch(1);
+        int clauses = type == SearchableType.CUSTOMER ? addLookupClauses(query, text) : addTextClauses(query, text);
+        if (clauses == 0) {
+            return Collections.emptyList();
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query.build(), limit);
+                List<SearchHit> hits = new ArrayList<>(top.scoreDocs.length);
+                for (ScoreDoc scoreDoc : top.scoreDocs) {
+                    long id = searcher.doc(scoreDoc.doc, HIT_FIELDS).getField(ID_FIELD).numericValue().longValue();
+                    hits.add(new SearchHit(type, id, scoreDoc.score));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Binds the index to the database it mirrors. An index committed against another
+     * database is emptied, and {@link #getLastCommitDate} then reports a full rebuild.
+     *
+     * @param databaseInstanceId the ID of the current database instance
+     */
+    public void attach(String databaseInstanceId) {
+        boolean sameDatabase = databaseInstanceId.equals(openedCommitData.get(DATABASE_INSTANCE));
+        if (!sameDatabase) {
+            if (!openedCommitData.isEmpty()) {
+                log.info("Text search index was built against another database; rebuilding it");
+            }
+            try {
+                writer.deleteAll();
+                // Stop serving the discarded documents before the rebuild starts
+                searcherManager.maybeRefreshBlocking();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        this.databaseInstanceId = databaseInstanceId;
+        // An index without a dated commit against this database is rebuilt in full
+        String committedOn = sameDatabase ? openedCommitData.get(COMMITTED_ON) : null;
+        this.lastCommitDate = committedOn != null ? LocalDate.parse(committedOn) : null;
+        writer.setLiveCommitData(commitData(committedOn).entrySet());
+    }
+
+    /**
+     * Returns the date recorded by the commit the index was opened from, once
+     * {@link #attach attached} to the same database.
+     *
+     * @return the last commit date, or null if the index must be rebuilt in full
+     */
+    public LocalDate getLastCommitDate() {
+        return lastCommitDate;
+    }
+
+    /**
+     * Records that the index reflects every row as of startup, so later commits may advance
+     * the catch-up date. Until then, commits keep the date the index was opened with.
+     */
+    public void markCaughtUp() {
+        caughtUp = true;
+    }
+
+    /**
+     * Durably commits everything indexed so far, recording the commit date for catch-up.
+     */
+    @Scheduled(fixedDelayString = "${quote.search.commit-interval-ms:60000}",
+        initialDelayString = "${quote.search.commit-interval-ms:60000}")
+    public void commit() {
+        if (!writer.hasUncommittedChanges()) {
+            return;
+        }
+        if (caughtUp && databaseInstanceId != null) {
+            String committedOn = LocalDateTime.now().minus(COMMIT_MARGIN).toLocalDate().toString();
+            writer.setLiveCommitData(commitData(committedOn).entrySet());
+        }
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        reopenThread.close();
+        commit();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private int addTextClauses(BooleanQuery.Builder query, String text) {
+        Set<String> terms = analyze(text);
+        for (String term : terms) {
+            query.add(new TermQuery(new Term(TEXT_FIELD, term)), BooleanClause.Occur.SHOULD);
+        }
+        return terms.size();
+    }
+
+    private int addLookupClauses(BooleanQuery.Builder query, String text) {
+        int clauses = 0;
+        String email = SearchNormalizer.email(text);
+        if (email.indexOf('@') > 0) {
+            clauses += should(query, new TermQuery(new Term(EMAIL_FIELD, email)), EXACT_BOOST);
+            clauses += should(query, new FuzzyQuery(new Term(EMAIL_FIELD, email), 2, 2), FUZZY_BOOST);
+        }
+        String license = SearchNormalizer.licenseNumber(text);
+        if (license.length() >= MIN_FUZZY_LENGTH && license.chars().anyMatch(Character::isDigit)) {
+            clauses += should(query, new TermQuery(new Term(LICENSE_FIELD, license)), EXACT_BOOST);
+            clauses += should(query, new FuzzyQuery(new Term(LICENSE_FIELD, license), 1, 1), FUZZY_BOOST);
+        }
+        int tokens = 0;
+        for (String token : nameTokens(SearchNormalizer.text(text))) {
+            if (++tokens > MAX_QUERY_TERMS) {
+                break;
+            }
+            clauses += should(query, new TermQuery(new Term(NAME_FIELD, token)), EXACT_BOOST);
+            if (token.length() >= MIN_PREFIX_LENGTH) {
+                clauses += should(query, new PrefixQuery(new Term(NAME_FIELD, token)), PREFIX_BOOST);
+            }
+            if (token.length() >= MIN_FUZZY_LENGTH) {
+                // One edit for short names, two for long ones; the first letter is assumed right
+                int maxEdits = token.length() >= 8 ? 2 : 1;
+                clauses += should(query, new FuzzyQuery(new Term(NAME_FIELD, token), maxEdits, 1), FUZZY_BOOST);
+            }
+            for (String code : phoneticCodes(token)) {
+                clauses += should(query, new TermQuery(new Term(PHONETIC_FIELD, code)), PHONETIC_BOOST);
+            }
+        }
+        return clauses;
+    }
+
+    private static int should(BooleanQuery.Builder query, Query clause, float boost) {
+        query.add(new BoostQuery(new ConstantScoreQuery(clause), boost), BooleanClause.Occur.SHOULD);
+        return 1;
+    }
+
+    private static List<String> nameTokens(String normalized) {
+        List<String> tokens = new ArrayList<>();
+        if (normalized != null) {
+            for (String token : normalized.split(" ")) {
+                if (!token.isEmpty()) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private Set<String> phoneticCodes(String token) {
+        Set<String> codes = new LinkedHashSet<>();
+        String primary = metaphone.doubleMetaphone(token);
+        if (primary != null && !primary.isEmpty()) {
+            codes.add(primary);
+        }
+        String alternate = metaphone.doubleMetaphone(token, true);
+        if (alternate != null && !alternate.isEmpty()) {
+            codes.add(alternate);
+        }
+        return codes;
+    }
+
+    private Set<String> analyze(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        try (TokenStream stream = analyzer.tokenStream(TEXT_FIELD, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken() && terms.size() < MAX_QUERY_TERMS) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private Map<String, String> commitData(String committedOn) {
+        Map<String, String> data = new HashMap<>();
+        data.put(DATABASE_INSTANCE, databaseInstanceId);
+        if (committedOn != null) {
+            data.put(COMMITTED_ON, committedOn);
+        }
+        return data;
+    }
+
+    private static String key(SearchableType type, long id) {
+        return type.name() + ':' + id;
+    }
+}
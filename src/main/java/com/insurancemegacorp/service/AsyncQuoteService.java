@@ -0,0 +1,21 @@
+package com.insurancemegacorp.service;
+
+import com.insurancemegacorp.model.QuoteRequest;
+import com.insurancemegacorp.model.QuoteResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Generates quotes off the calling thread with admission control.
+ */
+public interface AsyncQuoteService {
+
+    /**
+     * Admits and rates a quote request on the rating executor.
+     *
+     * @param quoteRequest the quote request
+     * @return a future completed with the quote
+     * @throws com.insurancemegacorp.exception.ServiceOverloadedException if the request is shed
+     */
+    CompletableFuture<QuoteResponse> generateQuote(QuoteRequest quoteRequest);
+}
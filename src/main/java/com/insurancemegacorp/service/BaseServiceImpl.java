@@ -1,19 +1,25 @@
 package com.insurancemegacorp.service;
 
 import com.insurancemegacorp.model.SoftDeletable;
+import com.insurancemegacorp.outbox.ChangeEventRecorder;
+import com.insurancemegacorp.outbox.ChangeEventType;
 import com.insurancemegacorp.repository.BaseRepository;
 import org.springframework.beans.BeanUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Base service implementation with common CRUD operations.
+ * Every mutation records a change event in the outbox within the same transaction.
  *
  * @param <T>  the entity type
  * @param <ID> the type of the entity's identifier
@@ -22,23 +28,34 @@ public abstract class BaseServiceImpl<T extends SoftDeletable, ID extends Serial
         implements BaseService<T, ID> {
 
     protected final BaseRepository<T, ID> repository;
+    protected final Class<T> entityType;
+    protected final ChangeEventRecorder changeEvents;
 
-    protected BaseServiceImpl(BaseRepository<T, ID> repository) {
+    protected BaseServiceImpl(BaseRepository<T, ID> repository, Class<T> entityType, ChangeEventRecorder changeEvents) {
         this.repository = repository;
+        this.entityType = entityType;
+        this.changeEvents = changeEvents;
     }
 
     @Override
     @Transactional
     public T save(T entity) {
         Assert.notNull(entity, "Entity must not be null");
-        return repository.save(entity);
+        boolean created = isNew(entity);
+        return saveAndRecord(entity, created ? ChangeEventType.CREATED : ChangeEventType.UPDATED, null);
     }
 
     @Override
     @Transactional
     public List<T> saveAll(Iterable<T> entities) {
         Assert.notNull(entities, "Entities must not be null");
-        return repository.saveAll(entities);
+        List<Boolean> created = new ArrayList<>();
+        entities.forEach(entity -> created.add(isNew(entity)));
+        List<T> saved = repository.saveAll(entities);
+        for (int i = 0; i < saved.size(); i++) {
+            changeEvents.record(saved.get(i), created.get(i) ? ChangeEventType.CREATED : ChangeEventType.UPDATED, null);
+        }
+        return saved;
     }
 
     @Override
@@ -86,6 +103,7 @@ public abstract class BaseServiceImpl<T extends SoftDeletable, ID extends Serial
     public void deleteById(ID id) {
         Assert.notNull(id, "Id must not be null");
         repository.softDeleteById(id);
+        changeEvents.record(entityType, id, ChangeEventType.DELETED, null);
     }
 
     @Override
@@ -93,6 +111,7 @@ public abstract class BaseServiceImpl<T extends SoftDeletable, ID extends Serial
     public void delete(T entity) {
         Assert.notNull(entity, "Entity must not be null");
         repository.softDelete(entity);
+        changeEvents.record(entity, ChangeEventType.DELETED, null);
     }
 
     @Override
@@ -100,12 +119,16 @@ public abstract class BaseServiceImpl<T extends SoftDeletable, ID extends Serial
     public void deleteAll(Iterable<? extends T> entities) {
         Assert.notNull(entities, "Entities must not be null");
         repository.softDeleteAll(entities);
+        for (T entity : entities) {
+            changeEvents.record(entity, ChangeEventType.DELETED, null);
+        }
     }
 
     @Override
     @Transactional
     public void deleteAll() {
         repository.softDeleteAll();
+        changeEvents.record(entityType, ChangeEventRecorder.ALL_AGGREGATES, ChangeEventType.DELETED, null);
     }
 
     @Override
@@ -115,11 +138,43 @@ public abstract class BaseServiceImpl<T extends SoftDeletable, ID extends Serial
         Optional<T> entityOpt = repository.findById(id);
         entityOpt.ifPresent(entity -> {
             entity.setActive(true);
-            repository.save(entity);
+            saveAndRecord(entity, ChangeEventType.RESTORED, null);
         });
         return entityOpt;
     }
 
+    /**
+     * Saves an entity and records a single change event describing what changed.
+     *
+     * @param entity the entity to save
+     * @param type the kind of change
+     * @param payload the changed fields, or null if the event type says enough
+     * @return the saved entity
+     */
+    protected T saveAndRecord(T entity, ChangeEventType type, Map<String, ?> payload) {
+        // The event is recorded after a flush anyway; flushing through the repository surfaces
+        // version conflicts and constraint violations as Spring DataAccessExceptions
+        T saved = repository.saveAndFlush(entity);
+        changeEvents.record(saved, type, payload);
+        return saved;
+    }
+
+    /**
+     * Returns whether a failed write violated the named unique or check constraint.
+     *
+     * @param e the failure
+     * @param constraintName the constraint name as declared on the entity
+     * @return true if the database reported that constraint
+     */
+    protected static boolean violates(DataIntegrityViolationException e, String constraintName) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains(constraintName.toLowerCase());
+    }
+
+    private boolean isNew(T entity) {
+        return changeEvents.getAggregateId(entity) == null;
+    }
+
     /**
      * Copies non-null properties from source to target.
      *
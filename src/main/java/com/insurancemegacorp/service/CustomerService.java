@@ -1,10 +1,12 @@
 package com.insurancemegacorp.service;
 
 import com.insurancemegacorp.model.Address;
+import com.insurancemegacorp.model.Claim;
 import com.insurancemegacorp.model.Customer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -164,21 +166,30 @@ public interface CustomerService extends BaseService<Customer, Long> {
      * Add a claim to a customer's record.
      *
      * @param customerId the ID of the customer
-     * @param claimId the ID of the claim to add
-     * @return the updated customer
-     * @throws RuntimeException if the customer is not found
+     * @param claimNumber the claim number
+     * @param dateOfClaim the date of the claim
+     * @param amount the claimed amount, or null if not yet known
+     * @return the new claim, in OPEN status
+     * @throws RuntimeException if the customer is not found or the claim number is already in use
      */
-    Customer addClaim(Long customerId, String claimId);
+    Claim addClaim(Long customerId, String claimNumber, LocalDate dateOfClaim, BigDecimal amount);
     
     /**
      * Remove a claim from a customer's record.
      *
      * @param customerId the ID of the customer
-     * @param claimId the ID of the claim to remove
-     * @return the updated customer
-     * @throws RuntimeException if the customer is not found
+     * @param claimNumber the claim number
+     * @throws RuntimeException if the customer has no such claim
+     */
+    void removeClaim(Long customerId, String claimNumber);
+    
+    /**
+     * Find a customer's claim history.
+     *
+     * @param customerId the ID of the customer
+     * @return the customer's claims, newest first
      */
-    Customer removeClaim(Long customerId, String claimId);
+    List<Claim> findClaimHistory(Long customerId);
     
     /**
      * Add a vehicle to a customer's record.
@@ -202,16 +213,25 @@ public interface CustomerService extends BaseService<Customer, Long> {
     
     /**
      * Add a policy to a customer's record.
+     * Reactivates a policy the customer already holds that was previously removed, or makes
+     * the customer the holder of a policy without one. The policy is active afterwards.
+     * A policy held by another customer is never moved.
      *
      * @param customerId the ID of the customer
      * @param policyId the ID of the policy to add
      * @return the updated customer
      * @throws RuntimeException if the customer or policy is not found
+     * @throws IllegalStateException if the policy is held by another customer, or is already
+     *         active for this one
      */
     Customer addPolicy(Long customerId, Long policyId);
     
     /**
      * Remove a policy from a customer's record.
+     * A policy always has a holder, so removal is the policy's soft delete: it clears the
+     * {@link com.insurancemegacorp.model.SoftDeletable} active flag, which hides the policy
+     * from active-only queries and discounts. The policy keeps its holder and its
+     * {@code policyStatus}, and {@link #addPolicy} restores it.
      *
      * @param customerId the ID of the customer
      * @param policyId the ID of the policy to remove
@@ -248,7 +268,8 @@ public interface CustomerService extends BaseService<Customer, Long> {
     /**
      * Checks if a customer qualifies as a good driver.
      * A good driver is defined as someone with no DUIs, no at-fault accidents,
-     * and no more than one minor traffic violation in the past 3 years.
+     * no more than one minor traffic violation and no claims other than denied ones
+     * in the past 3 years. Prospects created from quote requests never qualify.
      *
      * @param customerId the ID of the customer to check
      * @return true if the customer qualifies as a good driver, false otherwise
@@ -259,7 +280,7 @@ public interface CustomerService extends BaseService<Customer, Long> {
      * Checks if a customer has other policies.
      *
      * @param customerId the ID of the customer to check
-     * @return true if the customer has other policies, false otherwise
+     * @return true if the customer holds an in-force policy, false otherwise
      */
     boolean hasOtherPolicies(Long customerId);
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.insurancemegacorp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates time-ordered, node-aware 64-bit IDs (Snowflake layout).
+ * <p>
+ * Bit layout, most significant first: 1 unused sign bit, 41 bits of milliseconds since
+ * {@link #EPOCH_MILLIS}, 10 bits of node ID and a 12-bit per-millisecond sequence. The last
+ * issued ID is kept in a single {@link AtomicLong} and advanced with compare-and-set, so
+ * generation never blocks. If the clock moves backwards the generator keeps counting from
+ * the last issued timestamp rather than reusing IDs.
+ */
+@Component
+public class IdGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(IdGenerator.class);
+
+    /** 2024-01-01T00:00:00Z; 41 bits of milliseconds lasts roughly 69 years from here. */
+    private static final long EPOCH_MILLIS = 1704067200000L;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+
+    // Crockford base32: no I, L, O or U, so IDs survive being read aloud or retyped
+    private static final char[] BASE32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int BASE32_LENGTH = 13;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    private final AtomicLong lastId = new AtomicLong();
+
+    @Autowired
+    public IdGenerator(@Value("${quote.id.node-id:-1}") long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    IdGenerator(long nodeId, LongSupplier clock) {
+        this.nodeId = nodeId >= 0 ? validateNodeId(nodeId) : defaultNodeId();
+        this.clock = clock;
+        log.info("Using ID generator node ID {}", this.nodeId);
+    }
+
+    /**
+     * Returns the next ID.
+     *
+     * @return a unique, time-ordered ID
+     */
+    public long nextId() {
+        while (true) {
+            long last = lastId.get();
+            long lastTimestamp = last >>> TIMESTAMP_SHIFT;
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+
+            long next;
+            if (now > lastTimestamp) {
+                next = (now << TIMESTAMP_SHIFT) | (nodeId << SEQUENCE_BITS);
+            } else {
+                long sequence = (last + 1) & SEQUENCE_MASK;
+                if (sequence == 0) {
+                    // Sequence exhausted for this millisecond; borrow the next one
+                    next = ((lastTimestamp + 1) << TIMESTAMP_SHIFT) | (nodeId << SEQUENCE_BITS);
+                } else {
+                    next = last + 1;
+                }
+            }
+            if (lastId.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Returns the next ID rendered as base32.
+     *
+     * @return a 13-character, lexicographically time-ordered ID
+     */
+    public String nextCompactId() {
+        return toBase32(nextId());
+    }
+
+    /**
+     * Renders an ID as fixed-width Crockford base32, so string order matches numeric order.
+     *
+     * @param id the ID
+     * @return the 13-character encoding
+     */
+    public static String toBase32(long id) {
+        char[] chars = new char[BASE32_LENGTH];
+        for (int i = BASE32_LENGTH - 1; i >= 0; i--) {
+            chars[i] = BASE32[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Parses an ID rendered by {@link #toBase32(long)}. Lower case is accepted.
+     *
+     * @param encoded the 13-character encoding
+     * @return the ID
+     * @throws IllegalArgumentException if the string is not a valid encoding
+     */
+    public static long fromBase32(String encoded) {
+        if (encoded == null || encoded.length() != BASE32_LENGTH) {
+            throw new IllegalArgumentException("Encoded ID must be " + BASE32_LENGTH + " characters");
+        }
+        long id = 0;
+        for (int i = 0; i < BASE32_LENGTH; i++) {
+            int digit = Arrays.binarySearch(BASE32, Character.toUpperCase(encoded.charAt(i)));
+            if (digit < 0 || (i == 0 && digit > 15)) {
+                throw new IllegalArgumentException("Invalid encoded ID: " + encoded);
+            }
+            id = (id << 5) | digit;
+        }
+        return id;
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    private static long validateNodeId(long nodeId) {
+        if (nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID);
+        }
+        return nodeId;
+    }
+
+    private static long defaultNodeId() {
+        // Not guaranteed unique across hosts; set quote.id.node-id explicitly in multi-node deployments
+        try {
+            return (InetAddress.getLocalHost().getHostName().hashCode() & Integer.MAX_VALUE) % (MAX_NODE_ID + 1);
+        } catch (UnknownHostException e) {
+            log.warn("Unable to resolve host name, using node ID 0", e);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.insurancemegacorp.service;
+
+import com.insurancemegacorp.model.PolicySweepResult;
+
+import java.time.LocalDate;
+
+/**
+ * Service interface for moving policies through their end-of-term lifecycle
+ * (ACTIVE to RENEWAL_PENDING, then RENEWED or EXPIRED).
+ */
+public interface PolicyLifecycleService {
+
+    /**
+     * Sweeps the whole book as of a date. Policies within the renewal window become
+     * RENEWAL_PENDING; pending policies past their expiration date become RENEWED if a
+     * renewal term was issued and EXPIRED otherwise. Safe to re-run for the same date:
+     * partitions already applied for that date are skipped.
+     *
+     * @param runDate the date the sweep is evaluated as of
+     * @return the sweep outcome
+     */
+    PolicySweepResult sweep(LocalDate runDate);
+}
@@ -0,0 +1,178 @@
+package com.insurancemegacorp.service;
+
+import com.insurancemegacorp.model.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Builds the pieces of a quote that do not depend on how customer data is fetched:
+ * request validation, the transient customer and vehicle, the rating profile and the
+ * quote record. Shared by the blocking and reactive quote paths so both price identically.
+ */
+@Component
+public class QuoteAssembler {
+    
+    private final IdGenerator idGenerator;
+    
+    @Autowired
+    public QuoteAssembler(IdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+    
+    /**
+     * Validates a quote request.
+     *
+     * @param request the quote request
+     * @throws IllegalArgumentException if the request is not quotable
+     */
+    public void validate(QuoteRequest request) {
+        Objects.requireNonNull(request, "Quote request cannot be null");
+        
+        if (request.getCustomerAge() < 16) {
+            throw new IllegalArgumentException("Customer must be at least 16 years old");
+        }
+        
+        if (request.getCustomerAge() > 100) {
+            throw new IllegalArgumentException("Customer age is not valid");
+        }
+        
+        int currentYear = LocalDate.now().getYear();
+        if (request.getVehicleYear() < 1900 || request.getVehicleYear() > currentYear + 1) {
+            throw new IllegalArgumentException("Vehicle year must be between 1900 and " + (currentYear + 1));
+        }
+        
+        if (request.getVehicleMake() == null || request.getVehicleMake().trim().isEmpty()) {
+            throw new IllegalArgumentException("Vehicle make is required");
+        }
+    }
+    
+    /**
+     * Creates a transient customer from the request, filling collected-later fields with defaults.
+     *
+     * @param request the quote request
+     * @return the unsaved customer
+     */
+    public Customer newCustomer(QuoteRequest request) {
+        // In a real application, we would look up the customer by ID
+        // For this example, we'll create a new customer with the provided information
+        Customer customer = new Customer();
+        customer.setFirstName(request.getCustomerName().split(" ")[0]);
+        customer.setLastName(request.getCustomerName().contains(" ") ? 
+                           request.getCustomerName().substring(request.getCustomerName().lastIndexOf(' ') + 1) : "");
+        customer.setDateOfBirth(LocalDate.now().minusYears(request.getCustomerAge()));
+        customer.setEmail("temp-email@example.com"); // In a real app, this would be collected from the request
+        customer.setPhoneNumber("000-000-0000"); // In a real app, this would be collected from the request
+        customer.setDriverLicenseNumber("TEMP" + idGenerator.nextCompactId());
+        customer.setDriverLicenseState("CA"); // Default state
+        customer.setLicenseIssueDate(LocalDate.now().minusYears(5)); // Assume 5 years of driving experience
+        customer.setCreditScore(700); // Default good credit score
+        
+        return customer;
+    }
+    
+    /**
+     * Creates a transient vehicle from the request, filling unknown attributes with defaults.
+     *
+     * @param request the quote request
+     * @return the unsaved vehicle
+     */
+    public Vehicle newVehicle(QuoteRequest request) {
+        // In a real application, we would look up the vehicle by VIN or other identifier
+        // For this example, we'll create a new vehicle with the provided information
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVehicleId("VIN-" + idGenerator.nextCompactId());
+        vehicle.setVin("VIN" + idGenerator.nextCompactId());
+        vehicle.setYear(request.getVehicleYear());
+        vehicle.setMake(request.getVehicleMake());
+        vehicle.setModel("Unknown"); // Default model
+        vehicle.setBodyStyle("SEDAN"); // Default body style
+        vehicle.setVehicleType("PASSENGER"); // Default vehicle type
+        vehicle.setFuelType("GAS"); // Default fuel type
+        vehicle.setTransmissionType("AUTOMATIC"); // Default transmission
+        vehicle.setEngineSize(2.4); // Default engine size in liters
+        vehicle.setPurchasePrice(new BigDecimal("25000.0")); // Default purchase price
+        
+        // Determine if this is a high-performance or luxury vehicle based on make
+        List<String> performanceMakes = Arrays.asList("BMW", "MERCEDES", "AUDI", "PORSCHE", "FERRARI", "LAMBORGHINI");
+        boolean isPerformance = performanceMakes.contains(request.getVehicleMake().toUpperCase());
+        vehicle.setHighPerformance(isPerformance);
+        vehicle.setLuxury(isPerformance);
+        
+        // Set safety features - using the actual field names from Vehicle class
+        vehicle.setHasAntiTheft(false); // Will be set to true for some vehicles
+        // Note: hasAirbags and hasAntiLockBrakes are not defined in Vehicle class
+        // Using safetyFeatures string field instead
+        vehicle.setSafetyFeatures("AIRBAG,ANTI_LOCK_BRAKES");
+        
+        return vehicle;
+    }
+    
+    /**
+     * Builds the rating inputs for a customer and vehicle.
+     *
+     * @param customer the customer
+     * @param vehicle the vehicle
+     * @param multiPolicy whether the customer holds other policies
+     * @param goodDriver whether the customer qualifies as a good driver
+     * @return the rating profile
+     */
+    public RatingProfile buildRatingProfile(Customer customer, Vehicle vehicle, boolean multiPolicy, boolean goodDriver) {
+        RatingProfile profile = new RatingProfile();
+        profile.setDriverAge(Period.between(customer.getDateOfBirth(), LocalDate.now()).getYears());
+        profile.setYearsLicensed(Period.between(customer.getLicenseIssueDate(), LocalDate.now()).getYears());
+        profile.setCreditScore(customer.getCreditScore());
+        profile.setGoodStudent(Boolean.TRUE.equals(customer.getGoodStudent()));
+        
+        profile.setMultiPolicy(multiPolicy);
+        profile.setGoodDriver(goodDriver);
+        
+        // Customer does not record defensive driving courses, so the discount never applies
+        profile.setDefensiveDriving(false);
+        
+        profile.setVehicleYear(vehicle.getYear());
+        profile.setVehicleMake(vehicle.getMake());
+        profile.setHighPerformance(Boolean.TRUE.equals(vehicle.getHighPerformance()));
+        profile.setPurchasePrice(vehicle.getPurchasePrice());
+        profile.setConvertible(Boolean.TRUE.equals(vehicle.getConvertible()));
+        profile.setAntiTheft(Boolean.TRUE.equals(vehicle.getHasAntiTheft()));
+        profile.setAirbags(vehicle.getHasAirbags());
+        profile.setAntiLockBrakes(vehicle.getHasAntiLockBrakes());
+        return profile;
+    }
+
+    /**
+     * Assigns a quote ID and expiration date (30 days from now) to a rated quote.
+     *
+     * @param request the quote request
+     * @param customer the customer the quote was rated for
+     * @param vehicle the vehicle the quote was rated for
+     * @param coverages the rated coverages including {@code totalPremium}
+     * @return the quote record to store
+     */
+    public QuoteRecord newQuoteRecord(QuoteRequest request, Customer customer, Vehicle vehicle, Map<String, Double> coverages) {
+        Date expirationDate = Date.from(
+            LocalDate.now().plusDays(30).atStartOfDay(ZoneId.systemDefault()).toInstant()
+        );
+        return new QuoteRecord(
+            "QUOTE-" + idGenerator.nextCompactId(),
+            request.getCustomerId(),
+            request.getCustomerName(),
+            request.getCustomerAge(),
+            customer.getDriverLicenseNumber(),
+            vehicle.getVehicleId(),
+            vehicle.getVin(),
+            vehicle.getYear(),
+            vehicle.getMake(),
+            coverages,
+            Instant.now(),
+            expirationDate
+        );
+    }
+}
@@ -5,4 +5,6 @@ import com.insurancemegacorp.model.QuoteResponse;
 
 public interface QuoteService {
     QuoteResponse generateQuote(QuoteRequest quoteRequest);
+
+    QuoteResponse getQuote(String quoteId);
 }
@@ -0,0 +1,27 @@
+package com.insurancemegacorp.service;
+
+import com.insurancemegacorp.model.QuoteRecord;
+
+import java.util.Optional;
+
+/**
+ * Durable store for issued quotes so they can be retrieved and bound later.
+ */
+public interface QuoteStore {
+
+    /**
+     * Records an issued quote. Implementations must make the quote durable before
+     * returning, but may defer writing it to the database.
+     *
+     * @param quote the quote to store
+     */
+    void save(QuoteRecord quote);
+
+    /**
+     * Looks up an unexpired quote.
+     *
+     * @param quoteId the quote ID
+     * @return the quote, or empty if it does not exist or has expired
+     */
+    Optional<QuoteRecord> findByQuoteId(String quoteId);
+}
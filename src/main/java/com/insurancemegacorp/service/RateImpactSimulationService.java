@@ -0,0 +1,24 @@
+package com.insurancemegacorp.service;
+
+import com.insurancemegacorp.model.RateImpactReport;
+import com.insurancemegacorp.model.RatingPlan;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Service interface for "what-if" rate-change simulations over the in-force book.
+ */
+public interface RateImpactSimulationService {
+
+    /**
+     * Re-rates a snapshot of all active policies under the current and the candidate rating plan
+     * and aggregates the premium movement. Never writes to the policy tables.
+     *
+     * @param candidatePlan the proposed rating plan
+     * @param progressListener receives an interim report each time a partition completes; may be null
+     * @return a future completing with the final report
+     * @throws IllegalArgumentException if the candidate plan contains non-positive factors
+     */
+    CompletableFuture<RateImpactReport> simulate(RatingPlan candidatePlan, Consumer<RateImpactReport> progressListener);
+}
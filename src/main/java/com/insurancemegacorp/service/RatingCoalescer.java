@@ -0,0 +1,128 @@
+package com.insurancemegacorp.service;
+
+import com.insurancemegacorp.concurrency.SingleFlight;
+import com.insurancemegacorp.metrics.QuoteRatedEvent;
+import com.insurancemegacorp.metrics.QuoteStage;
+import com.insurancemegacorp.metrics.QuoteStageTimers;
+import com.insurancemegacorp.model.RatingPlan;
+import com.insurancemegacorp.model.RatingProfile;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Single-flight layer in front of {@link RatingEngine#rate}: concurrent quotes with identical
+ * normalized rating inputs share one computation. Only the premium computation is shared;
+ * every caller still gets its own copy of the coverages and its own quote ID.
+ */
+@Component
+public class RatingCoalescer implements MeterBinder {
+
+    private final RatingEngine ratingEngine;
+    private final QuoteStageTimers stageTimers;
+    private final SingleFlight<RatingKey, Map<String, Double>> singleFlight = new SingleFlight<>();
+
+    @Autowired
+    public RatingCoalescer(RatingEngine ratingEngine, QuoteStageTimers stageTimers) {
+        this.ratingEngine = ratingEngine;
+        this.stageTimers = stageTimers;
+    }
+
+    /**
+     * Rates a profile, joining an identical in-flight computation if there is one.
+     *
+     * @param profile the rating inputs
+     * @param plan the rating plan to apply
+     * @return a caller-owned coverages map including the {@code totalPremium} entry
+     */
+    public Map<String, Double> rate(RatingProfile profile, RatingPlan plan) {
+        QuoteRatedEvent event = new QuoteRatedEvent();
+        event.begin();
+        event.setCoalesced(true);
+        Map<String, Double> shared = singleFlight.execute(new RatingKey(profile, plan), () -> {
+            event.setCoalesced(false);
+            return computeTimed(profile, plan);
+        });
+        event.end();
+        if (event.shouldCommit()) {
+            event.setInputsHash(profile.hashCode());
+            event.setTotalPremium(shared.get("totalPremium"));
+            event.commit();
+        }
+        return new HashMap<>(shared);
+    }
+
+    // Same stages as RatingEngine#rate, timed individually; only the executing caller records them
+    private Map<String, Double> computeTimed(RatingProfile profile, RatingPlan plan) {
+        long lap = System.nanoTime();
+        Map<String, Double> coverages = ratingEngine.calculateCoverageRates(profile, plan);
+        lap = stageTimers.lap(QuoteStage.COVERAGE_RATES, lap);
+        ratingEngine.applyDiscountsAndSurcharges(profile, plan, coverages);
+        lap = stageTimers.lap(QuoteStage.DISCOUNTS, lap);
+        coverages.put("totalPremium", ratingEngine.calculateTotalPremium(coverages));
+        stageTimers.lap(QuoteStage.TOTAL_PREMIUM, lap);
+        return coverages;
+    }
+
+    public long getComputations() {
+        return singleFlight.getExecutions();
+    }
+
+    public long getDeduplicated() {
+        return singleFlight.getDeduplicated();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("quote.rating.coalescer.computations", singleFlight, SingleFlight::getExecutions)
+            .description("Rating computations actually executed")
+            .register(registry);
+        FunctionCounter.builder("quote.rating.coalescer.deduplicated", singleFlight, SingleFlight::getDeduplicated)
+            .description("Quotes that shared an identical in-flight rating computation")
+            .register(registry);
+        Gauge.builder("quote.rating.coalescer.in.flight", singleFlight, SingleFlight::getInFlight)
+            .description("Distinct rating computations currently in progress")
+            .register(registry);
+    }
+
+    /**
+     * Profiles compare by normalized value; plans by identity, since a plan object is a
+     * specific set of rates and may be mutated between uses.
+     */
+    private static final class RatingKey {
+
+        private final RatingProfile profile;
+        private final RatingPlan plan;
+        private final int hash;
+
+        RatingKey(RatingProfile profile, RatingPlan plan) {
+            this.profile = profile;
+            this.plan = plan;
+            this.hash = 31 * profile.hashCode() + System.identityHashCode(plan);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RatingKey)) {
+                return false;
+            }
+            RatingKey that = (RatingKey) o;
+            return plan == that.plan && Objects.equals(profile, that.profile);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.insurancemegacorp.service;
+
+import com.insurancemegacorp.model.RatingPlan;
+import com.insurancemegacorp.model.RatingProfile;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stateless premium calculator shared by quote generation and rate-change simulation.
+ * Each stage takes the {@link RatingPlan} explicitly so candidate plans can be
+ * evaluated side by side with the production plan.
+ */
+@Component
+public class RatingEngine {
+
+    private static final List<String> LUXURY_MAKES =
+        Arrays.asList("BMW", "MERCEDES", "AUDI", "PORSCHE", "FERRARI", "LAMBORGHINI");
+
+    private final RatingPlan currentPlan = RatingPlan.standard();
+
+    /**
+     * Returns the rating plan currently used for live quotes.
+     *
+     * @return the production rating plan
+     */
+    public RatingPlan getCurrentPlan() {
+        return currentPlan;
+    }
+
+    /**
+     * Returns whether the given make is rated as a luxury/high-performance make.
+     *
+     * @param make the vehicle make
+     * @return true if the make carries the luxury surcharge
+     */
+    public boolean isLuxuryMake(String make) {
+        return make != null && LUXURY_MAKES.contains(make.toUpperCase());
+    }
+
+    /**
+     * Rates a profile end to end: coverage rates, discounts and total premium.
+     *
+     * @param profile the rating inputs
+     * @param plan the rating plan to apply
+     * @return the coverages map including the {@code totalPremium} entry
+     */
+    public Map<String, Double> rate(RatingProfile profile, RatingPlan plan) {
+        Map<String, Double> coverages = calculateCoverageRates(profile, plan);
+        applyDiscountsAndSurcharges(profile, plan, coverages);
+        coverages.put("totalPremium", calculateTotalPremium(coverages));
+        return coverages;
+    }
+
+    public Map<String, Double> calculateCoverageRates(RatingProfile profile, RatingPlan plan) {
+        Map<String, Double> coverages = new HashMap<>();
+
+        // Calculate base rates for each coverage type
+        double liability = calculateLiabilityPremium(profile, plan);
+        double collision = calculateCollisionPremium(profile, plan);
+        double comprehensive = calculateComprehensivePremium(profile, plan);
+        double uninsuredMotorist = plan.getBaseUninsuredMotoristRate();
+        double medicalPayments = plan.getBaseMedicalPaymentsRate();
+        double rentalReimbursement = plan.getBaseRentalReimbursementRate();
+        double roadsideAssistance = plan.getBaseRoadsideAssistanceRate();
+
+        // Add to coverages map
+        coverages.put("liability", round(liability, 2));
+        coverages.put("collision", round(collision, 2));
+        coverages.put("comprehensive", round(comprehensive, 2));
+        coverages.put("uninsuredMotorist", round(uninsuredMotorist, 2));
+        coverages.put("medicalPayments", round(medicalPayments, 2));
+        coverages.put("rentalReimbursement", round(rentalReimbursement, 2));
+        coverages.put("roadsideAssistance", round(roadsideAssistance, 2));
+
+        return coverages;
+    }
+
+    private double calculateLiabilityPremium(RatingProfile profile, RatingPlan plan) {
+        double rate = plan.getBaseLiabilityRate();
+
+        // Adjust based on customer age
+        int age = profile.getDriverAge();
+        if (age < 25) {
+            rate *= plan.getYoungDriverSurcharge();
+        } else if (age > 70) {
+            rate *= plan.getSeniorDriverSurcharge();
+        }
+
+        // Adjust based on driving experience
+        if (profile.getYearsLicensed() < 3) {
+            rate *= plan.getNewDriverSurcharge();
+        }
+
+        // Adjust based on credit score
+        Integer creditScore = profile.getCreditScore();
+        if (creditScore != null) {
+            if (creditScore < 600) {
+                rate *= plan.getPoorCreditSurcharge();
+            } else if (creditScore > 750) {
+                rate *= plan.getExcellentCreditDiscount();
+            }
+        }
+
+        return rate;
+    }
+
+    private double calculateCollisionPremium(RatingProfile profile, RatingPlan plan) {
+        double rate = plan.getBaseCollisionRate();
+
+        // Adjust based on vehicle age (newer cars are more expensive to repair)
+        int currentYear = LocalDate.now().getYear();
+        int vehicleAge = currentYear - profile.getVehicleYear();
+        if (vehicleAge < 3) {
+            rate *= plan.getNewVehicleSurcharge();
+        } else if (vehicleAge > 10) {
+            rate *= plan.getOlderVehicleDiscount();
+        }
+
+        // Adjust based on vehicle type
+        if (profile.isHighPerformance()) {
+            rate *= plan.getHighPerformanceSurcharge();
+        }
+
+        // Check if vehicle is luxury based on make
+        if (isLuxuryMake(profile.getVehicleMake())) {
+            rate *= plan.getLuxuryVehicleSurcharge();
+        }
+
+        return rate;
+    }
+
+    private double calculateComprehensivePremium(RatingProfile profile, RatingPlan plan) {
+        double rate = plan.getBaseComprehensiveRate();
+
+        // Adjust based on vehicle value (simplified)
+        BigDecimal purchasePrice = profile.getPurchasePrice();
+        if (purchasePrice != null) {
+            if (purchasePrice.compareTo(new BigDecimal("50000")) > 0) {
+                rate *= plan.getHighValueSurcharge();
+            } else if (purchasePrice.compareTo(new BigDecimal("30000")) > 0) {
+                rate *= plan.getMidValueSurcharge();
+            }
+        }
+
+        // Adjust based on vehicle type
+        if (profile.isConvertible()) {
+            rate *= plan.getConvertibleSurcharge();
+        }
+
+        return rate;
+    }
+
+    public void applyDiscountsAndSurcharges(RatingProfile profile, RatingPlan plan, Map<String, Double> coverages) {
+        for (Map.Entry<String, Double> discount : applicableDiscounts(profile, plan).entrySet()) {
+            applyDiscount(coverages, discount.getValue(), discount.getKey());
+        }
+    }
+
+    /**
+     * Returns the discounts a profile qualifies for, in the order they are applied.
+     *
+     * @param profile the rating inputs
+     * @param plan the rating plan supplying the discount factors
+     * @return discount names mapped to their multiplicative factors
+     */
+    public Map<String, Double> applicableDiscounts(RatingProfile profile, RatingPlan plan) {
+        Map<String, Double> discounts = new LinkedHashMap<>();
+
+        // Multi-policy discount if applicable
+        if (profile.isMultiPolicy()) {
+            discounts.put("multiPolicyDiscount", plan.getMultiPolicyDiscount());
+        }
+
+        // Good driver discount
+        if (profile.isGoodDriver()) {
+            discounts.put("goodDriverDiscount", plan.getGoodDriverDiscount());
+        }
+
+        // Good student discount
+        if (profile.isGoodStudent()) {
+            discounts.put("goodStudentDiscount", plan.getGoodStudentDiscount());
+        }
+
+        // Anti-theft device discount
+        if (profile.isAntiTheft()) {
+            discounts.put("antiTheftDiscount", plan.getAntiTheftDiscount());
+        }
+
+        // Safety features discount
+        if (profile.isAirbags() && profile.isAntiLockBrakes()) {
+            discounts.put("safetyFeaturesDiscount", plan.getSafetyFeaturesDiscount());
+        }
+
+        // Defensive driving course discount if applicable
+        if (profile.isDefensiveDriving()) {
+            discounts.put("defensiveDrivingDiscount", plan.getDefensiveDrivingDiscount());
+        }
+
+        return discounts;
+    }
+
+    private void applyDiscount(Map<String, Double> coverages, double discountFactor, String discountName) {
+        // Apply discount to all coverages except total premium
+        for (Map.Entry<String, Double> entry : new HashMap<>(coverages).entrySet()) {
+            if (!entry.getKey().equals("totalPremium") && !entry.getKey().endsWith("Discount")) {
+                double discountedAmount = entry.getValue() * discountFactor;
+                coverages.put(entry.getKey(), round(discountedAmount, 2));
+
+                // Track the discount amount for this coverage type
+                String discountKey = entry.getKey() + "Discount";
+                double discountAmount = entry.getValue() - discountedAmount;
+                coverages.put(discountKey, round(discountAmount, 2));
+            }
+        }
+    }
+
+    public double calculateTotalPremium(Map<String, Double> coverages) {
+        double total = 0.0;
+
+        // Sum up all coverages that aren't discounts or the total itself
+        for (Map.Entry<String, Double> entry : coverages.entrySet()) {
+            String key = entry.getKey();
+            if (!key.endsWith("Discount") && !key.equals("totalPremium")) {
+                total += entry.getValue();
+            }
+        }
+
+        return round(total, 2);
+    }
+
+    private double round(double value, int places) {
+        if (places < 0) throw new IllegalArgumentException();
+
+        BigDecimal bd = BigDecimal.valueOf(value);
+        bd = bd.setScale(places, RoundingMode.HALF_UP);
+        return bd.doubleValue();
+    }
+}
@@ -0,0 +1,33 @@
+package com.insurancemegacorp.service;
+
+import com.insurancemegacorp.model.QuoteRequest;
+import com.insurancemegacorp.model.QuoteResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking quote generation: customer lookups go through R2DBC and rating runs on a
+ * small fixed scheduler, so open quote sessions do not each hold a thread.
+ */
+public interface ReactiveQuoteService {
+
+    /**
+     * Generates a single quote.
+     *
+     * @param quoteRequest the quote request
+     * @return the quote
+     */
+    Mono<QuoteResponse> generateQuote(QuoteRequest quoteRequest);
+
+    /**
+     * Generates quotes for a batch of requests, in request order. At most a bounded number of
+     * quotes are in progress at once, and no more are started than the subscriber has requested.
+     *
+     * @param quoteRequests the quote requests
+     * @return the quotes, emitted in request order
+     * @throws IllegalArgumentException if the batch is too large or any request is invalid
+     */
+    Flux<QuoteResponse> generateQuotes(List<QuoteRequest> quoteRequests);
+}
@@ -0,0 +1,55 @@
+package com.insurancemegacorp.service;
+
+import com.insurancemegacorp.model.Coverage;
+import com.insurancemegacorp.model.Customer;
+import com.insurancemegacorp.model.Policy;
+import com.insurancemegacorp.search.SearchHit;
+import com.insurancemegacorp.search.SearchableType;
+
+import java.util.List;
+
+/**
+ * Service interface for ranked free-text search over coverage notes and descriptions and
+ * policy underwriting notes and special conditions, and typo-tolerant customer lookup by
+ * name, email or driver's license number.
+ */
+public interface TextSearchService {
+
+    /**
+     * Finds the IDs and scores of the records best matching the given text, without loading them.
+     *
+     * @param text the search text
+     * @param type the record type to search
+     * @param limit the maximum number of hits
+     * @return hits in descending score order
+     */
+    List<SearchHit> search(String text, SearchableType type, int limit);
+
+    /**
+     * Finds the active coverages whose description or notes best match the given text.
+     *
+     * @param text the search text
+     * @param limit the maximum number of coverages
+     * @return matching coverages, best match first
+     */
+    List<Coverage> searchCoverages(String text, int limit);
+
+    /**
+     * Finds the active policies whose underwriting notes or special conditions best match the given text.
+     *
+     * @param text the search text
+     * @param limit the maximum number of policies
+     * @return matching policies, best match first
+     */
+    List<Policy> searchPolicies(String text, int limit);
+
+    /**
+     * Finds the active customers whose name, email or license number best match the given
+     * text, tolerating misspellings, partial input and sound-alike names.
+     *
+     * @param text the search text
+     * @param limit the maximum number of customers
+     * @return matching customers, best match first
+     */
+    List<Customer> searchCustomers(String text, int limit);
+}
@@ -0,0 +1,134 @@
+package com.insurancemegacorp.service.impl;
+
+import com.insurancemegacorp.concurrency.AdaptiveConcurrencyLimiter;
+import com.insurancemegacorp.concurrency.VirtualThreads;
+import com.insurancemegacorp.exception.ServiceOverloadedException;
+import com.insurancemegacorp.model.QuoteRequest;
+import com.insurancemegacorp.model.QuoteResponse;
+import com.insurancemegacorp.service.AsyncQuoteService;
+import com.insurancemegacorp.service.QuoteService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of the AsyncQuoteService interface.
+ * Requests are admitted by an AIMD concurrency limiter and rated on a dedicated, bounded
+ * executor, so servlet threads are released while rating runs and excess load is shed
+ * with a retry hint instead of queueing without bound. With
+ * {@code quote.execution.virtual-threads} enabled on Java 21+, each quote runs on its own
+ * virtual thread instead and the limiter alone bounds concurrency.
+ */
+@Service
+public class AsyncQuoteServiceImpl implements AsyncQuoteService {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncQuoteServiceImpl.class);
+
+    private final QuoteService quoteService;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+
+    @Autowired
+    public AsyncQuoteServiceImpl(QuoteService quoteService,
+                                 @Value("${quote.async.threads:0}") int threads,
+                                 @Value("${quote.async.initial-concurrency:20}") int initialConcurrency,
+                                 @Value("${quote.async.min-concurrency:4}") int minConcurrency,
+                                 @Value("${quote.async.max-concurrency:200}") int maxConcurrency,
+                                 @Value("${quote.async.latency-target-ms:250}") long latencyTargetMillis,
+                                 @Value("${quote.async.backoff-ratio:0.9}") double backoffRatio,
+                                 @Value("${quote.async.timeout-ms:5000}") long timeoutMillis,
+                                 @Value("${quote.async.retry-after-seconds:1}") long retryAfterSeconds,
+                                 @Value("${quote.execution.virtual-threads:false}") boolean virtualThreads) {
+        this.quoteService = quoteService;
+        this.limiter = new AdaptiveConcurrencyLimiter(initialConcurrency, minConcurrency, maxConcurrency,
+            latencyTargetMillis, TimeUnit.MILLISECONDS, backoffRatio);
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        ExecutorService virtualExecutor = null;
+        if (virtualThreads) {
+            virtualExecutor = VirtualThreads.newThreadPerTaskExecutor("quote-rating-").orElse(null);
+            if (virtualExecutor == null) {
+                log.warn("Virtual threads requested but not supported by this JVM; using a platform thread pool");
+            }
+        }
+        this.executor = virtualExecutor != null ? virtualExecutor : newPlatformExecutor(threads, maxConcurrency);
+    }
+
+    private static ExecutorService newPlatformExecutor(int threads, int maxConcurrency) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors() * 2;
+        AtomicInteger threadCount = new AtomicInteger();
+        // Admission is bounded by the limiter, so the queue never needs to hold more than its maximum
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(maxConcurrency), runnable -> {
+                Thread thread = new Thread(runnable, "quote-rating-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @Override
+    public CompletableFuture<QuoteResponse> generateQuote(QuoteRequest quoteRequest) {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire()
+            .orElseThrow(() -> new ServiceOverloadedException(
+                "Quote service at capacity (limit " + limiter.getLimit() + ")", retryAfterSeconds));
+
+        CompletableFuture<QuoteResponse> work;
+        try {
+            work = CompletableFuture.supplyAsync(() -> rate(quoteRequest, permit), executor);
+        } catch (RejectedExecutionException e) {
+            permit.onDropped();
+            throw new ServiceOverloadedException("Quote executor saturated", retryAfterSeconds);
+        }
+
+        // Time out a dependent copy: the caller stops waiting, but the permit stays held until
+        // the worker actually finishes, so the limiter keeps counting work still in flight
+        return work.copy()
+            .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+            .exceptionally(error -> {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (cause instanceof TimeoutException) {
+                    throw new ServiceOverloadedException("Quote timed out after " + timeoutMillis + " ms", retryAfterSeconds);
+                }
+                throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(cause);
+            });
+    }
+
+    /**
+     * Rates a quote on the worker thread and completes its permit when rating finishes.
+     */
+    private QuoteResponse rate(QuoteRequest quoteRequest, AdaptiveConcurrencyLimiter.Permit permit) {
+        try {
+            QuoteResponse response = quoteService.generateQuote(quoteRequest);
+            permit.onSuccess();
+            return response;
+        } catch (IllegalArgumentException | NullPointerException e) {
+            // Bad input says nothing about load
+            permit.onIgnore();
+            throw e;
+        } catch (RuntimeException | Error e) {
+            permit.onDropped();
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,31 +1,49 @@
 package com.insurancemegacorp.service.impl;
 
+import com.insurancemegacorp.concurrency.RetryOnConflict;
 import com.insurancemegacorp.exception.ResourceNotFoundException;
 import com.insurancemegacorp.model.Address;
+import com.insurancemegacorp.model.Claim;
+import com.insurancemegacorp.model.ClaimStatus;
 import com.insurancemegacorp.model.Customer;
 import com.insurancemegacorp.model.Policy;
+import com.insurancemegacorp.model.PolicyStatus;
 import com.insurancemegacorp.model.Vehicle;
+import com.insurancemegacorp.outbox.ChangeEventRecorder;
+import com.insurancemegacorp.outbox.ChangeEventType;
+import com.insurancemegacorp.repository.ClaimRepository;
 import com.insurancemegacorp.repository.CustomerRepository;
 import com.insurancemegacorp.repository.PolicyRepository;
 import com.insurancemegacorp.repository.VehicleRepository;
+import com.insurancemegacorp.search.SearchNormalizer;
 import com.insurancemegacorp.service.BaseServiceImpl;
 import com.insurancemegacorp.service.CustomerService;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
 /**
  * Implementation of the CustomerService interface.
+ * <p>
+ * Customers are versioned, so a concurrent update fails with an optimistic-locking conflict
+ * instead of silently overwriting; mutating methods are retried on conflict from a fresh
+ * transaction. Email and driver license uniqueness are enforced by database constraints
+ * rather than checked with a query first.
  */
 @Service
 @Transactional
@@ -34,20 +52,23 @@ public class CustomerServiceImpl extends BaseServiceImpl<Customer, Long> impleme
     private final CustomerRepository customerRepository;
     private final VehicleRepository vehicleRepository;
     private final PolicyRepository policyRepository;
+    private final ClaimRepository claimRepository;
 
     @Autowired
-    public CustomerServiceImpl(CustomerRepository customerRepository, VehicleRepository vehicleRepository, PolicyRepository policyRepository) {
-        super(customerRepository);
+    public CustomerServiceImpl(CustomerRepository customerRepository, VehicleRepository vehicleRepository, PolicyRepository policyRepository,
+                               ClaimRepository claimRepository, ChangeEventRecorder changeEvents) {
+        super(customerRepository, Customer.class, changeEvents);
         this.customerRepository = customerRepository;
         this.vehicleRepository = vehicleRepository;
         this.policyRepository = policyRepository;
+        this.claimRepository = claimRepository;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<Customer> findByEmail(String email) {
         validateEmail(email);
-        return customerRepository.findByEmail(email.toLowerCase());
+        return customerRepository.findByEmail(SearchNormalizer.email(email));
     }
 
     // Additional helper methods for validation
@@ -89,7 +110,7 @@ public class CustomerServiceImpl extends BaseServiceImpl<Customer, Long> impleme
     @Transactional(readOnly = true)
     public Optional<Customer> findByDriverLicenseNumberAndLicenseState(String driverLicenseNumber, String licenseState) {
         validateDriverLicense(driverLicenseNumber, licenseState);
-        return customerRepository.findByDriverLicenseNumberAndLicenseState(
+        return customerRepository.findByDriverLicenseNumberAndDriverLicenseState(
             driverLicenseNumber, 
             licenseState.toUpperCase()
         );
@@ -108,19 +129,30 @@ public class CustomerServiceImpl extends BaseServiceImpl<Customer, Long> impleme
     
     @Override
     @Transactional
+    @RetryOnConflict
     public Customer updateEmail(Long customerId, String newEmail) {
         Objects.requireNonNull(customerId, "Customer ID must not be null");
         validateEmail(newEmail);
         
-        if (existsByEmail(newEmail)) {
-            throw new IllegalStateException("Email " + newEmail + " is already in use");
-        }
-        
         Customer customer = getCustomerOrThrow(customerId);
-        customer.setEmail(newEmail.toLowerCase());
+        customer.setEmail(SearchNormalizer.email(newEmail));
         customer.setLastUpdated(LocalDateTime.now());
         
-        return save(customer);
+        try {
+            return saveAndRecord(customer, ChangeEventType.EMAIL_UPDATED, Map.of("email", customer.getEmail()));
+        } catch (DataIntegrityViolationException e) {
+            if (violates(e, Customer.EMAIL_CONSTRAINT)) {
+                throw new IllegalStateException("Email " + newEmail + " is already in use", e);
+            }
+            throw e;
+        }
+    }
+    
+    // Claim events are recorded on the customer, so they are ordered by its row lock like its own changes
+    private void lockCustomer(Long id) {
+        if (customerRepository.lockById(id).isEmpty()) {
+            throw new ResourceNotFoundException("Customer not found with id: " + id);
+        }
     }
     
     private Customer getCustomerOrThrow(Long id) {
@@ -179,14 +211,14 @@ public class CustomerServiceImpl extends BaseServiceImpl<Customer, Long> impleme
     @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         validateEmail(email);
-        return customerRepository.existsByEmailAndActiveTrue(email.toLowerCase());
+        return customerRepository.existsByEmailAndActiveTrue(SearchNormalizer.email(email));
     }
     
     @Override
     @Transactional(readOnly = true)
     public boolean existsByDriverLicense(String driverLicenseNumber, String licenseState) {
         validateDriverLicense(driverLicenseNumber, licenseState);
-        return customerRepository.existsByDriverLicenseNumberAndLicenseStateAndActiveTrue(
+        return customerRepository.existsByDriverLicenseNumberAndDriverLicenseStateAndActiveTrue(
             driverLicenseNumber, 
             licenseState.toUpperCase()
         );
@@ -194,6 +226,7 @@ public class CustomerServiceImpl extends BaseServiceImpl<Customer, Long> impleme
     
     @Override
     @Transactional
+    @RetryOnConflict
     public Customer updateAddress(Long customerId, Address newAddress) {
         Objects.requireNonNull(customerId, "Customer ID must not be null");
         if (newAddress == null) {
@@ -214,11 +247,12 @@ public class CustomerServiceImpl extends BaseServiceImpl<Customer, Long> impleme
         customer.setAddress(address);
         customer.setLastUpdated(LocalDateTime.now());
         
-        return save(customer);
+        return saveAndRecord(customer, ChangeEventType.ADDRESS_UPDATED, addressPayload(address));
     }
     
     @Override
     @Transactional
+    @RetryOnConflict
     public Customer updateDriverLicenseInfo(
         Long customerId, 
         String driverLicenseNumber, 
@@ -232,26 +266,29 @@ public class CustomerServiceImpl extends BaseServiceImpl<Customer, Long> impleme
             throw new IllegalArgumentException("License expiry date must be in the future");
         }
         
-        // Check if the driver's license is already in use by another customer
-        Optional<Customer> existingCustomer = customerRepository
-            .findByDriverLicenseNumberAndLicenseState(driverLicenseNumber, licenseState);
-            
-        if (existingCustomer.isPresent() && !existingCustomer.get().getId().equals(customerId)) {
-            throw new IllegalStateException("Driver license number " + driverLicenseNumber + 
-                " is already in use by another customer");
-        }
-        
         Customer customer = getCustomerOrThrow(customerId);
         customer.setDriverLicenseNumber(driverLicenseNumber);
         customer.setDriverLicenseState(licenseState.toUpperCase());
         customer.setLicenseExpiryDate(licenseExpiryDate);
         customer.setLastUpdated(LocalDateTime.now());
         
-        return save(customer);
+        try {
+            // The license number itself stays out of the event stream
+            return saveAndRecord(customer, ChangeEventType.DRIVER_LICENSE_UPDATED, Map.of(
+                "driverLicenseState", customer.getDriverLicenseState(),
+                "licenseExpiryDate", licenseExpiryDate.toString()));
+        } catch (DataIntegrityViolationException e) {
+            if (violates(e, Customer.DRIVER_LICENSE_CONSTRAINT)) {
+                throw new IllegalStateException("Driver license number " + driverLicenseNumber +
+                    " is already in use by another customer", e);
+            }
+            throw e;
+        }
     }
     
     @Override
     @Transactional
+    @RetryOnConflict
     public Customer updateCreditRating(
         Long customerId,
         String creditBureau,
@@ -278,7 +315,10 @@ public class CustomerServiceImpl extends BaseServiceImpl<Customer, Long> impleme
         customer.setCreditReportDate(reportDate);
         customer.setLastUpdated(LocalDateTime.now());
         
-        return save(customer);
+        return saveAndRecord(customer, ChangeEventType.CREDIT_RATING_UPDATED, Map.of(
+            "creditBureau", creditBureau,
+            "creditRating", creditRating,
+            "creditReportDate", reportDate.toString()));
     }
     
     private void validateCreditBureau(String creditBureau) {
@@ -301,48 +341,56 @@ public class CustomerServiceImpl extends BaseServiceImpl<Customer, Long> impleme
     
     @Override
     @Transactional
-    public Customer addClaim(Long customerId, String claimId) {
+    public Claim addClaim(Long customerId, String claimNumber, LocalDate dateOfClaim, BigDecimal amount) {
         Objects.requireNonNull(customerId, "Customer ID must not be null");
-        if (!StringUtils.hasText(claimId)) {
-            throw new IllegalArgumentException("Claim ID must not be empty");
+        if (!StringUtils.hasText(claimNumber)) {
+            throw new IllegalArgumentException("Claim number must not be empty");
         }
-        
-        Customer customer = getCustomerOrThrow(customerId);
-        
-        // Initialize claims list if null
-        if (customer.getClaims() == null) {
-            customer.setClaims(new ArrayList<>());
+        if (dateOfClaim == null || dateOfClaim.isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("Claim date must not be in the future");
         }
         
-        // Check if claim already exists
-        if (customer.getClaims().contains(claimId)) {
-            throw new IllegalStateException("Claim with ID " + claimId + " already exists for customer " + customerId);
+        lockCustomer(customerId);
+        // The customer is referenced without being loaded, and the unique claim number is
+        // checked by the database
+        Claim claim = new Claim(customerRepository.getOne(customerId), claimNumber, dateOfClaim, amount);
+        try {
+            claimRepository.saveAndFlush(claim);
+        } catch (DataIntegrityViolationException e) {
+            if (violates(e, Claim.CLAIM_NUMBER_CONSTRAINT)) {
+                throw new IllegalStateException("Claim with number " + claimNumber + " already exists", e);
+            }
+            throw e;
         }
         
-        customer.getClaims().add(claimId);
-        customer.setLastUpdated(LocalDateTime.now());
-        
-        return save(customer);
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("claimNumber", claimNumber);
+        payload.put("dateOfClaim", dateOfClaim.toString());
+        payload.put("amount", amount);
+        changeEvents.record(Customer.class, customerId, ChangeEventType.CLAIM_ADDED, payload);
+        return claim;
     }
     
     @Override
     @Transactional
-    public Customer removeClaim(Long customerId, String claimId) {
+    public void removeClaim(Long customerId, String claimNumber) {
         Objects.requireNonNull(customerId, "Customer ID must not be null");
-        if (!StringUtils.hasText(claimId)) {
-            throw new IllegalArgumentException("Claim ID must not be empty");
+        if (!StringUtils.hasText(claimNumber)) {
+            throw new IllegalArgumentException("Claim number must not be empty");
         }
         
-        Customer customer = getCustomerOrThrow(customerId);
-        
-        if (customer.getClaims() == null || !customer.getClaims().contains(claimId)) {
-            throw new ResourceNotFoundException("Claim with ID " + claimId + " not found for customer " + customerId);
+        lockCustomer(customerId);
+        if (claimRepository.deleteByCustomerIdAndClaimNumber(customerId, claimNumber) == 0) {
+            throw new ResourceNotFoundException("Claim with number " + claimNumber + " not found for customer " + customerId);
         }
-        
-        customer.getClaims().remove(claimId);
-        customer.setLastUpdated(LocalDateTime.now());
-        
-        return save(customer);
+        changeEvents.record(Customer.class, customerId, ChangeEventType.CLAIM_REMOVED, Map.of("claimNumber", claimNumber));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Claim> findClaimHistory(Long customerId) {
+        Objects.requireNonNull(customerId, "Customer ID must not be null");
+        return claimRepository.findByCustomerIdOrderByDateOfClaimDesc(customerId);
     }
     
     @Override
@@ -373,6 +421,7 @@ public class CustomerServiceImpl extends BaseServiceImpl<Customer, Long> impleme
     
     @Override
     @Transactional
+    @RetryOnConflict
     public Customer addVehicle(Long customerId, Long vehicleId) {
         Objects.requireNonNull(customerId, "Customer ID must not be null");
         Objects.requireNonNull(vehicleId, "Vehicle ID must not be null");
@@ -396,11 +445,12 @@ public class CustomerServiceImpl extends BaseServiceImpl<Customer, Long> impleme
         customer.getVehicles().add(vehicle);
         customer.setLastUpdated(LocalDateTime.now());
         
-        return save(customer);
+        return saveAndRecord(customer, ChangeEventType.VEHICLE_ADDED, Map.of("vehicleId", vehicleId));
     }
     
     @Override
     @Transactional
+    @RetryOnConflict
     public Customer removeVehicle(Long customerId, Long vehicleId) {
         Objects.requireNonNull(customerId, "Customer ID must not be null");
         Objects.requireNonNull(vehicleId, "Vehicle ID must not be null");
@@ -416,86 +466,113 @@ public class CustomerServiceImpl extends BaseServiceImpl<Customer, Long> impleme
         customer.getVehicles().remove(vehicleToRemove);
         customer.setLastUpdated(LocalDateTime.now());
         
-        return save(customer);
+        return saveAndRecord(customer, ChangeEventType.VEHICLE_REMOVED, Map.of("vehicleId", vehicleId));
     }
     
     @Override
     @Transactional
+    @RetryOnConflict
     public Customer addPolicy(Long customerId, Long policyId) {
         Objects.requireNonNull(customerId, "Customer ID must not be null");
         Objects.requireNonNull(policyId, "Policy ID must not be null");
         
         Customer customer = getCustomerOrThrow(customerId);
         
-        // Check if policy exists and is active
         Policy policy = policyRepository.findById(policyId)
             .orElseThrow(() -> new ResourceNotFoundException("Policy not found with id: " + policyId));
         
-        // Initialize policies list if null
-        if (customer.getPolicies() == null) {
-            customer.setPolicies(new ArrayList<>());
+        // The association is the policy's own customer_id, so adding is a single-row update
+        Customer holder = policy.getPolicyHolder();
+        if (holder != null && !customerId.equals(holder.getId())) {
+            throw new IllegalStateException("Policy " + policyId + " is held by customer " + holder.getId());
         }
-        
-        // Check if policy is already associated with the customer
-        if (customer.getPolicies().contains(policy)) {
+        if (holder != null && policy.isActive()) {
             throw new IllegalStateException("Policy " + policyId + " is already associated with customer " + customerId);
         }
-        
-        customer.getPolicies().add(policy);
+        policy.setPolicyHolder(customer);
+        // An added policy is always active: this undoes removePolicy's soft delete
+        policy.setActive(true);
+        if (Hibernate.isInitialized(customer.getPolicies())) {
+            customer.getPolicies().add(policy);
+        }
         customer.setLastUpdated(LocalDateTime.now());
         
-        return save(customer);
+        return saveAndRecord(customer, ChangeEventType.POLICY_ADDED, Map.of("policyId", policyId));
     }
     
     @Override
     @Transactional
+    @RetryOnConflict
     public Customer removePolicy(Long customerId, Long policyId) {
         Objects.requireNonNull(customerId, "Customer ID must not be null");
         Objects.requireNonNull(policyId, "Policy ID must not be null");
         
         Customer customer = getCustomerOrThrow(customerId);
         
-        // Find the policy in the customer's policies
-        Policy policyToRemove = customer.getPolicies().stream()
-            .filter(p -> p.getId().equals(policyId))
-            .findFirst()
+        // Every policy needs a holder, so removal soft-deletes the row rather than detaching it
+        Policy policyToRemove = policyRepository.findByIdAndPolicyHolderId(policyId, customerId)
+            .filter(Policy::isActive)
             .orElseThrow(() -> new ResourceNotFoundException("Policy " + policyId + " not found for customer " + customerId));
         
-        customer.getPolicies().remove(policyToRemove);
+        policyToRemove.setActive(false);
         customer.setLastUpdated(LocalDateTime.now());
         
-        return save(customer);
+        return saveAndRecord(customer, ChangeEventType.POLICY_REMOVED, Map.of("policyId", policyId));
     }
 
     @Override
     public boolean isGoodDriver(Long customerId) {
         Customer customer = getCustomerOrThrow(customerId);
-        return !customer.getHasDUI() && customer.getAccidentCount() == 0 && customer.getViolationCount() <= 1;
+        // A prospect's clean record is a placeholder, not a verified history
+        return !customer.isProspect() && !customer.getHasDUI() && customer.getAccidentCount() == 0 && customer.getViolationCount() <= 1
+            && !claimRepository.existsByCustomerIdAndDateOfClaimGreaterThanEqualAndStatusNot(
+                customerId, LocalDate.now().minusYears(Claim.RATING_LOOKBACK_YEARS), ClaimStatus.DENIED);
     }
 
     @Override
     public boolean hasOtherPolicies(Long customerId) {
-        Customer customer = getCustomerOrThrow(customerId);
-        return customer.getPolicies() != null && !customer.getPolicies().isEmpty();
+        // Quoted policies, such as those the quote write-behind stores, are not held yet
+        return policyRepository.existsByPolicyHolderIdAndActiveTrueAndPolicyStatusIn(customerId, PolicyStatus.IN_FORCE);
     }
 
     @Override
     public void hardDelete(Customer entity) {
+        Object id = changeEvents.getAggregateId(entity);
         customerRepository.delete(entity);
+        changeEvents.record(Customer.class, id, ChangeEventType.HARD_DELETED, null);
     }
 
     @Override
     public void hardDeleteById(Long id) {
         customerRepository.deleteById(id);
+        changeEvents.record(Customer.class, id, ChangeEventType.HARD_DELETED, null);
     }
 
     @Override
     public void hardDeleteAll() {
         customerRepository.deleteAll();
+        changeEvents.record(Customer.class, ChangeEventRecorder.ALL_AGGREGATES, ChangeEventType.HARD_DELETED, null);
     }
 
     @Override
     public void hardDeleteAll(Iterable<? extends Customer> entities) {
+        List<Object> ids = new ArrayList<>();
+        entities.forEach(entity -> ids.add(changeEvents.getAggregateId(entity)));
         customerRepository.deleteAll(entities);
+        for (Object id : ids) {
+            changeEvents.record(Customer.class, id, ChangeEventType.HARD_DELETED, null);
+        }
+    }
+
+    private static Map<String, Object> addressPayload(Address address) {
+        // LinkedHashMap rather than Map.of: street2 and country may be null
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("street1", address.getStreet1());
+        payload.put("street2", address.getStreet2());
+        payload.put("city", address.getCity());
+        payload.put("state", address.getState());
+        payload.put("postalCode", address.getPostalCode());
+        payload.put("country", address.getCountry());
+        return payload;
     }
 }
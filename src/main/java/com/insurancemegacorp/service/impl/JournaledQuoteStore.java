@@ -0,0 +1,543 @@
+package com.insurancemegacorp.service.impl;
+
+import com.insurancemegacorp.cache.ExpiringCache;
+import com.insurancemegacorp.journal.QuoteDeadLetterFile;
+import com.insurancemegacorp.journal.QuoteJournal;
+import com.insurancemegacorp.journal.QuoteRecordCodec;
+import com.insurancemegacorp.model.Address;
+import com.insurancemegacorp.model.Coverage;
+import com.insurancemegacorp.model.Customer;
+import com.insurancemegacorp.model.Policy;
+import com.insurancemegacorp.model.PolicyStatus;
+import com.insurancemegacorp.model.QuoteRecord;
+import com.insurancemegacorp.model.Vehicle;
+import com.insurancemegacorp.repository.CustomerRepository;
+import com.insurancemegacorp.repository.PolicyRepository;
+import com.insurancemegacorp.repository.VehicleRepository;
+import com.insurancemegacorp.service.QuoteStore;
+import com.insurancemegacorp.service.RatingEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Paths;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * QuoteStore that journals each quote on the calling thread and writes it to the
+ * policies table (as a QUOTED policy) asynchronously in batches.
+ * <p>
+ * The journal checkpoint only advances past a quote once it is stored durably: committed to
+ * the database or, if the database rejects it outright (a constraint or data error), written
+ * to a dead-letter file for an operator to fix and re-submit. While the database is
+ * unreachable the batch is retried with exponential backoff and the queue waits, so quotes
+ * accepted before a crash or shutdown are replayed on the next start. Replayed quotes that
+ * already reached the database are detected by policy number and skipped.
+ * <p>
+ * Unexpired quotes are also kept in a bounded in-memory index so repeat lookups do not
+ * touch the database; lookups that miss the index fall back to the policies table.
+ */
+@Service
+public class JournaledQuoteStore implements QuoteStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JournaledQuoteStore.class);
+
+    private static final long RETRY_BACKOFF_MILLIS = 1000;
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 30000;
+
+    private final CustomerRepository customerRepository;
+    private final VehicleRepository vehicleRepository;
+    private final PolicyRepository policyRepository;
+    private final RatingEngine ratingEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ExpiringCache<String, QuoteRecord> index;
+    private final String journalDirectory;
+    private final String deadLetterFile;
+    private final int segmentSize;
+    private final boolean fsync;
+    private final int batchSize;
+    private final long maxDelayMillis;
+
+    // A lock rather than a monitor: enqueue can block on a full queue, which would pin a virtual thread
+    private final Lock appendLock = new ReentrantLock();
+    private final BlockingQueue<PendingQuote> pending;
+    private QuoteJournal journal;
+    private QuoteDeadLetterFile deadLetters;
+    private Thread writer;
+    private volatile boolean running;
+
+    @Autowired
+    public JournaledQuoteStore(CustomerRepository customerRepository,
+                               VehicleRepository vehicleRepository,
+                               PolicyRepository policyRepository,
+                               RatingEngine ratingEngine,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${quote.journal.dir:${java.io.tmpdir}/customer-quote/journal}") String journalDirectory,
+                               @Value("${quote.journal.segment-size:67108864}") int segmentSize,
+                               @Value("${quote.journal.fsync:false}") boolean fsync,
+                               @Value("${quote.write-behind.dead-letter-file:${java.io.tmpdir}/customer-quote/dead-letters.jsonl}") String deadLetterFile,
+                               @Value("${quote.write-behind.batch-size:500}") int batchSize,
+                               @Value("${quote.write-behind.max-delay-ms:200}") long maxDelayMillis,
+                               @Value("${quote.write-behind.queue-capacity:100000}") int queueCapacity,
+                               @Value("${quote.index.max-entries:100000}") int indexMaxEntries) {
+        this.customerRepository = customerRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.policyRepository = policyRepository;
+        this.ratingEngine = ratingEngine;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.index = new ExpiringCache<>(indexMaxEntries);
+        this.journalDirectory = journalDirectory;
+        this.deadLetterFile = deadLetterFile;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        this.batchSize = batchSize;
+        this.maxDelayMillis = maxDelayMillis;
+        this.pending = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        journal = new QuoteJournal(Paths.get(journalDirectory), segmentSize, fsync);
+        deadLetters = new QuoteDeadLetterFile(Paths.get(deadLetterFile));
+
+        running = true;
+        writer = new Thread(this::drainLoop, "quote-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+
+        // Re-queue everything accepted after the last committed batch, ahead of any new quotes
+        long checkpoint = journal.readCheckpoint();
+        int[] replayed = {0};
+        journal.replay(checkpoint, (endPosition, payload) -> {
+            QuoteRecord record = QuoteRecordCodec.decode(payload);
+            index(record);
+            enqueue(new PendingQuote(endPosition, record));
+            replayed[0]++;
+        });
+        if (replayed[0] > 0) {
+            log.info("Replaying {} journaled quotes not yet written to the database", replayed[0]);
+        }
+    }
+
+    @Override
+    public void save(QuoteRecord quote) {
+        Objects.requireNonNull(quote, "Quote must not be null");
+        byte[] payload = QuoteRecordCodec.encode(quote);
+        try {
+            // Queue order must match journal order, otherwise the checkpoint could skip a quote
+            appendLock.lock();
+            try {
+                long endPosition = journal.append(payload);
+                enqueue(new PendingQuote(endPosition, quote));
+            } finally {
+                appendLock.unlock();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to journal quote " + quote.getQuoteId(), e);
+        }
+        index(quote);
+    }
+
+    @Override
+    public Optional<QuoteRecord> findByQuoteId(String quoteId) {
+        Optional<QuoteRecord> indexed = index.get(quoteId);
+        if (indexed.isPresent()) {
+            return indexed;
+        }
+
+        Optional<QuoteRecord> stored = readOnlyTransactionTemplate.execute(status ->
+            policyRepository.findQuotedPolicy(quoteId).map(this::toQuoteRecord));
+        if (stored == null || !stored.isPresent() || isExpired(stored.get())) {
+            return Optional.empty();
+        }
+        index(stored.get());
+        return stored;
+    }
+
+    private void index(QuoteRecord quote) {
+        if (!isExpired(quote)) {
+            index.put(quote.getQuoteId(), quote, quote.getExpirationDate().getTime());
+        }
+    }
+
+    private static boolean isExpired(QuoteRecord quote) {
+        return quote.getExpirationDate() == null || quote.getExpirationDate().getTime() <= System.currentTimeMillis();
+    }
+
+    private void enqueue(PendingQuote quote) {
+        try {
+            // Blocks when the database falls too far behind, pushing back on callers
+            pending.put(quote);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing quote " + quote.record.getQuoteId(), e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        if (journal != null) {
+            journal.close();
+        }
+        if (deadLetters != null) {
+            deadLetters.close();
+        }
+    }
+
+    private void drainLoop() {
+        List<PendingQuote> batch = new ArrayList<>(batchSize);
+        while (running || !pending.isEmpty()) {
+            try {
+                PendingQuote first = pending.poll(maxDelayMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pending.drainTo(batch, batchSize - 1);
+                if (!persist(batch)) {
+                    // Stopped while the database was unavailable; the journal replays the rest on the next start
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected failure in quote write-behind, dead-lettering {} quotes", batch.size(), e);
+                deadLetter(batch, e);
+            } finally {
+                // Never carry a failed batch into the next one
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Stores every quote in the batch, then advances the checkpoint past it.
+     * <p>
+     * The batch is written in one transaction and retried with backoff while the failure is
+     * transient. Any other failure falls back to one transaction per quote, so a quote the
+     * database rejects is dead-lettered without holding up the rest of the batch.
+     *
+     * @return false if the store was stopped before the whole batch was stored
+     */
+    private boolean persist(List<PendingQuote> batch) throws InterruptedException {
+        long backoff = RETRY_BACKOFF_MILLIS;
+        while (true) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeQuotes(batch));
+                break;
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) {
+                    log.warn("Batch write of {} quotes failed, retrying individually", batch.size(), e);
+                    for (PendingQuote quote : batch) {
+                        if (!persistOne(quote)) {
+                            return false;
+                        }
+                    }
+                    break;
+                }
+                log.warn("Database unavailable for a batch of {} quotes, retrying in {} ms", batch.size(), backoff, e);
+                if (!backOff(backoff)) {
+                    return false;
+                }
+                backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MILLIS);
+            }
+        }
+        checkpoint(batch.get(batch.size() - 1).endPosition);
+        return true;
+    }
+
+    /**
+     * Writes one quote, or dead-letters it if the database rejects it.
+     *
+     * @return false if the store was stopped before the quote was stored
+     */
+    private boolean persistOne(PendingQuote quote) throws InterruptedException {
+        long backoff = RETRY_BACKOFF_MILLIS;
+        while (true) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeQuotes(List.of(quote)));
+                return true;
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) {
+                    try {
+                        deadLetters.append(quote.record, e);
+                        log.error("Quote {} was rejected by the database and moved to {}",
+                            quote.record.getQuoteId(), deadLetterFile, e);
+                        return true;
+                    } catch (IOException deadLetterFailure) {
+                        log.error("Unable to dead-letter quote {}, retrying in {} ms",
+                            quote.record.getQuoteId(), backoff, deadLetterFailure);
+                    }
+                } else {
+                    log.warn("Database unavailable for quote {}, retrying in {} ms", quote.record.getQuoteId(), backoff, e);
+                }
+            }
+            if (!backOff(backoff)) {
+                return false;
+            }
+            backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MILLIS);
+        }
+    }
+
+    private void deadLetter(List<PendingQuote> batch, RuntimeException failure) {
+        for (PendingQuote quote : batch) {
+            try {
+                deadLetters.append(quote.record, failure);
+            } catch (IOException e) {
+                log.error("Unable to dead-letter quote {}", quote.record.getQuoteId(), e);
+            }
+        }
+    }
+
+    /**
+     * Waits before a retry, waking early if the store is stopped.
+     *
+     * @return false if the store was stopped
+     */
+    private boolean backOff(long millis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + millis;
+        while (running) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return true;
+            }
+            Thread.sleep(Math.min(remaining, maxDelayMillis));
+        }
+        return false;
+    }
+
+    /**
+     * Whether a write failed because the database could not be reached or the transaction
+     * lost a race, as opposed to the database rejecting the data itself.
+     */
+    private static boolean isTransient(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                || cause instanceof RecoverableDataAccessException
+                || cause instanceof DataAccessResourceFailureException
+                || cause instanceof CannotCreateTransactionException
+                || cause instanceof SQLTransientException
+                || cause instanceof SQLRecoverableException
+                || cause instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void checkpoint(long position) {
+        try {
+            journal.checkpoint(position);
+        } catch (IOException e) {
+            // Not fatal: a stale checkpoint only means already-written quotes are replayed and skipped
+            log.warn("Unable to advance quote journal checkpoint", e);
+        }
+    }
+
+    private void writeQuotes(List<PendingQuote> batch) {
+        Set<String> quoteIds = batch.stream().map(quote -> quote.record.getQuoteId()).collect(Collectors.toSet());
+        Set<String> existing = new HashSet<>(policyRepository.findExistingPolicyNumbers(quoteIds));
+        Map<String, Customer> customers = new HashMap<>();
+
+        for (PendingQuote quote : batch) {
+            QuoteRecord record = quote.record;
+            if (!existing.add(record.getQuoteId())) {
+                continue;
+            }
+            Customer customer = resolveCustomer(record, customers);
+            Vehicle vehicle = toVehicle(record);
+            vehicle.setCustomer(customer);
+            vehicle = vehicleRepository.save(vehicle);
+            policyRepository.save(toPolicy(record, customer, vehicle));
+        }
+    }
+
+    /**
+     * Returns the customer row a quote belongs to. A returning customer, identified by
+     * business customer ID, keeps a single row across quotes; an anonymous quote gets its
+     * own row keyed by the quote ID.
+     */
+    private Customer resolveCustomer(QuoteRecord record, Map<String, Customer> customers) {
+        String customerId = record.getCustomerId();
+        if (customerId == null) {
+            return customerRepository.save(toCustomer(record));
+        }
+        Customer customer = customers.get(customerId);
+        if (customer == null) {
+            customer = customerRepository.findFirstByCustomerIdAndActiveTrueOrderByIdAsc(customerId)
+                .orElseGet(() -> customerRepository.save(toCustomer(record)));
+            customers.put(customerId, customer);
+        }
+        return customer;
+    }
+
+    private Customer toCustomer(QuoteRecord record) {
+        String name = record.getCustomerName() != null ? record.getCustomerName() : "";
+        LocalDate issueDate = issueDate(record);
+
+        Customer customer = new Customer();
+        customer.setCustomerId(record.getCustomerId() != null ? record.getCustomerId() : record.getQuoteId());
+        customer.setFirstName(name.split(" ")[0]);
+        customer.setLastName(name.contains(" ") ? name.substring(name.lastIndexOf(' ') + 1) : "");
+        customer.setDateOfBirth(issueDate.minusYears(record.getCustomerAge()));
+        // Personal details are not collected at quote time. Unique columns stay null rather
+        // than sharing a placeholder; the license number is the quote's own generated one
+        customer.setSsn("XXX-XX-XXXX");
+        customer.setPhoneNumber("000-000-0000");
+        customer.setDriverLicenseNumber(record.getDriverLicenseNumber());
+        customer.setLicenseIssueDate(issueDate.minusYears(5));
+        customer.setCreditScore(700);
+        customer.setAddress(placeholderAddress());
+        // The clean driving record above is a default, so the customer earns no record-based discounts
+        customer.setProspect(true);
+        return customer;
+    }
+
+    private Vehicle toVehicle(QuoteRecord record) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVehicleId(record.getVehicleId());
+        vehicle.setVin(record.getVin());
+        vehicle.setYear(record.getVehicleYear());
+        vehicle.setMake(record.getVehicleMake());
+        vehicle.setModel("Unknown");
+        vehicle.setBodyStyle("SEDAN");
+        vehicle.setVehicleType("PASSENGER");
+        vehicle.setPurchasePrice(new BigDecimal("25000.0"));
+        boolean isPerformance = ratingEngine.isLuxuryMake(record.getVehicleMake());
+        vehicle.setHighPerformance(isPerformance);
+        vehicle.setLuxury(isPerformance);
+        vehicle.setGaragingAddress(placeholderAddress());
+        return vehicle;
+    }
+
+    private Policy toPolicy(QuoteRecord record, Customer customer, Vehicle vehicle) {
+        Policy policy = new Policy();
+        policy.setPolicyNumber(record.getQuoteId());
+        policy.setPolicyHolder(customer);
+        policy.setPolicyType("AUTO");
+        policy.setPolicyStatus(PolicyStatus.QUOTED.name());
+        policy.setEffectiveDate(issueDate(record));
+        policy.setExpirationDate(record.getExpirationDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
+        policy.addVehicle(vehicle);
+
+        BigDecimal totalDiscounts = BigDecimal.ZERO;
+        for (Map.Entry<String, Double> entry : record.getCoverages().entrySet()) {
+            String key = entry.getKey();
+            BigDecimal amount = BigDecimal.valueOf(entry.getValue());
+            if (key.equals("totalPremium")) {
+                policy.setTotalPremium(amount);
+            } else if (key.endsWith("Discount")) {
+                totalDiscounts = totalDiscounts.add(amount);
+            } else {
+                Coverage coverage = new Coverage(toCoverageType(key), null, null, null, null, amount);
+                coverage.setCoverageCode(key);
+                policy.addCoverage(coverage);
+            }
+        }
+        policy.setTotalDiscounts(totalDiscounts);
+        return policy;
+    }
+
+    /**
+     * Rebuilds a quote from its persisted policy. Only the net premium of each coverage is
+     * stored, so the per-coverage discount breakdown of the original quote is not restored.
+     */
+    private QuoteRecord toQuoteRecord(Policy policy) {
+        Customer customer = policy.getPolicyHolder();
+        Vehicle vehicle = policy.getCoveredVehicles().stream().findFirst().orElse(null);
+        LocalDate issueDate = policy.getEffectiveDate();
+
+        Map<String, Double> coverages = new LinkedHashMap<>();
+        for (Coverage coverage : policy.getCoverages()) {
+            if (coverage.getCoverageCode() != null && coverage.getPremium() != null) {
+                coverages.put(coverage.getCoverageCode(), coverage.getPremium().doubleValue());
+            }
+        }
+        if (policy.getTotalPremium() != null) {
+            coverages.put("totalPremium", policy.getTotalPremium().doubleValue());
+        }
+
+        String customerId = policy.getPolicyNumber().equals(customer.getCustomerId()) ? null : customer.getCustomerId();
+        String customerName = (customer.getFirstName() + " " + customer.getLastName()).trim();
+        return new QuoteRecord(
+            policy.getPolicyNumber(),
+            customerId,
+            customerName,
+            Period.between(customer.getDateOfBirth(), issueDate).getYears(),
+            customer.getDriverLicenseNumber(),
+            vehicle != null ? vehicle.getVehicleId() : null,
+            vehicle != null ? vehicle.getVin() : null,
+            vehicle != null && vehicle.getYear() != null ? vehicle.getYear() : 0,
+            vehicle != null ? vehicle.getMake() : null,
+            coverages,
+            issueDate.atStartOfDay(ZoneId.systemDefault()).toInstant(),
+            Date.from(policy.getExpirationDate().atStartOfDay(ZoneId.systemDefault()).toInstant())
+        );
+    }
+
+    private static LocalDate issueDate(QuoteRecord record) {
+        return record.getIssuedAt().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private static String toCoverageType(String key) {
+        // uninsuredMotorist -> UNINSURED_MOTORIST
+        return key.replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase();
+    }
+
+    private static Address placeholderAddress() {
+        return new Address("UNKNOWN", null, "UNKNOWN", "CA", "00000");
+    }
+
+    private static class PendingQuote {
+
+        private final long endPosition;
+        private final QuoteRecord record;
+
+        PendingQuote(long endPosition, QuoteRecord record) {
+            this.endPosition = endPosition;
+            this.record = record;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.insurancemegacorp.service.impl;
+
+import com.insurancemegacorp.aggregate.DashboardAggregateReconciler;
+import com.insurancemegacorp.model.PolicyStatus;
+import com.insurancemegacorp.model.PolicySweepCheckpoint;
+import com.insurancemegacorp.model.PolicySweepResult;
+import com.insurancemegacorp.repository.PolicyRepository;
+import com.insurancemegacorp.repository.PolicySweepCheckpointRepository;
+import com.insurancemegacorp.service.PolicyLifecycleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of the PolicyLifecycleService interface.
+ * <p>
+ * The book is split into policy-ID ranges processed in parallel. Each partition is one short
+ * transaction: set-based UPDATEs for the status moves plus a checkpoint row, so no entities
+ * are loaded, row locks are held only for the duration of one partition, and a partition is
+ * either fully applied (and checkpointed) or not at all. Every UPDATE also matches on the
+ * current status, so even re-applying a partition changes nothing.
+ */
+@Service
+@Profile("!quote-only")
+public class PolicyLifecycleServiceImpl implements PolicyLifecycleService {
+
+    private static final Logger log = LoggerFactory.getLogger(PolicyLifecycleServiceImpl.class);
+
+    private final PolicyRepository policyRepository;
+    private final PolicySweepCheckpointRepository checkpointRepository;
+    private final DashboardAggregateReconciler aggregateReconciler;
+    private final TransactionTemplate transactionTemplate;
+    private final int partitionSize;
+    private final int renewalWindowDays;
+    private final ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    public PolicyLifecycleServiceImpl(PolicyRepository policyRepository,
+                                      PolicySweepCheckpointRepository checkpointRepository,
+                                      DashboardAggregateReconciler aggregateReconciler,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${quote.lifecycle.parallelism:4}") int parallelism,
+                                      @Value("${quote.lifecycle.partition-size:10000}") int partitionSize,
+                                      @Value("${quote.lifecycle.renewal-window-days:30}") int renewalWindowDays) {
+        if (partitionSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("Lifecycle partition size and parallelism must be greater than 0");
+        }
+        this.policyRepository = policyRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.aggregateReconciler = aggregateReconciler;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionSize = partitionSize;
+        this.renewalWindowDays = renewalWindowDays;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "policy-lifecycle-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(cron = "${quote.lifecycle.cron:0 30 1 * * *}")
+    public void scheduledSweep() {
+        sweep(LocalDate.now());
+    }
+
+    @Override
+    public PolicySweepResult sweep(LocalDate runDate) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A policy lifecycle sweep is already running");
+        }
+        try {
+            return doSweep(runDate);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private PolicySweepResult doSweep(LocalDate runDate) {
+        long start = System.currentTimeMillis();
+        Long minId = policyRepository.findMinId();
+        Long maxId = policyRepository.findMaxId();
+        if (minId == null || maxId == null) {
+            return new PolicySweepResult(runDate, 0, 0, 0, 0, 0, 0);
+        }
+
+        Set<Long> completed = new HashSet<>(checkpointRepository.findCompletedPartitions(runDate));
+        List<CompletableFuture<PolicySweepCheckpoint>> futures = new ArrayList<>();
+        int skipped = 0;
+        // Partition bounds are aligned to multiples of the partition size, so they stay
+        // stable across restarts even if the lowest ID changes
+        for (long from = minId - Math.floorMod(minId, partitionSize); from <= maxId; from += partitionSize) {
+            if (completed.contains(from)) {
+                skipped++;
+                continue;
+            }
+            long fromId = from;
+            long toId = from + partitionSize - 1;
+            futures.add(CompletableFuture.supplyAsync(() -> sweepPartition(runDate, fromId, toId), executor));
+        }
+
+        long renewalPending = 0;
+        long renewed = 0;
+        long expired = 0;
+        for (CompletableFuture<PolicySweepCheckpoint> future : futures) {
+            PolicySweepCheckpoint checkpoint = future.join();
+            renewalPending += checkpoint.getRenewalPendingCount();
+            renewed += checkpoint.getRenewedCount();
+            expired += checkpoint.getExpiredCount();
+        }
+
+        PolicySweepResult result = new PolicySweepResult(runDate, futures.size(), skipped,
+            renewalPending, renewed, expired, System.currentTimeMillis() - start);
+        log.info("Policy lifecycle sweep finished: {}", result);
+        if (renewalPending + renewed + expired > 0) {
+            // The sweep's bulk UPDATEs bypass entity events, so the dashboard totals are stale
+            aggregateReconciler.reconcile();
+        }
+        return result;
+    }
+
+    private PolicySweepCheckpoint sweepPartition(LocalDate runDate, long fromId, long toId) {
+        return transactionTemplate.execute(status -> {
+            int renewalPending = policyRepository.markRenewalPending(fromId, toId, runDate.plusDays(renewalWindowDays));
+
+            int renewed = 0;
+            List<Long> renewedIds = policyRepository.findRenewedIds(fromId, toId, runDate);
+            if (!renewedIds.isEmpty()) {
+                renewed = policyRepository.updateRenewalPendingStatus(renewedIds, PolicyStatus.RENEWED.name());
+            }
+            // Whatever is still pending and past expiration was not renewed
+            int expired = policyRepository.markExpired(fromId, toId, runDate);
+
+            return checkpointRepository.save(
+                new PolicySweepCheckpoint(runDate, fromId, toId, renewalPending, renewed, expired));
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
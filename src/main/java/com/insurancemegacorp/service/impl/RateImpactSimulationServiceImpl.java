@@ -0,0 +1,280 @@
+package com.insurancemegacorp.service.impl;
+
+import com.insurancemegacorp.model.Claim;
+import com.insurancemegacorp.model.PolicyRatingSnapshot;
+import com.insurancemegacorp.model.PremiumDistribution;
+import com.insurancemegacorp.model.RateImpactReport;
+import com.insurancemegacorp.model.RateMover;
+import com.insurancemegacorp.model.RatingPlan;
+import com.insurancemegacorp.model.RatingProfile;
+import com.insurancemegacorp.repository.PolicyRepository;
+import com.insurancemegacorp.service.RateImpactSimulationService;
+import com.insurancemegacorp.service.RatingEngine;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.beans.PropertyDescriptor;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of the RateImpactSimulationService interface.
+ * The book is split into policy-ID ranges that are re-rated in parallel from read-only
+ * projections; each partition aggregates locally and results are merged as they complete.
+ */
+@Service
+@Profile("!quote-only")
+public class RateImpactSimulationServiceImpl implements RateImpactSimulationService {
+
+    private static final int TOP_MOVERS = 100;
+
+    private final PolicyRepository policyRepository;
+    private final RatingEngine ratingEngine;
+    private final int partitionSize;
+    private final ExecutorService executor;
+
+    @Autowired
+    public RateImpactSimulationServiceImpl(PolicyRepository policyRepository,
+                                           RatingEngine ratingEngine,
+                                           @Value("${quote.simulation.parallelism:0}") int parallelism,
+                                           @Value("${quote.simulation.partition-size:5000}") int partitionSize) {
+        if (partitionSize <= 0) {
+            throw new IllegalArgumentException("Partition size must be greater than 0");
+        }
+        this.policyRepository = policyRepository;
+        this.ratingEngine = ratingEngine;
+        this.partitionSize = partitionSize;
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "rate-simulation-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CompletableFuture<RateImpactReport> simulate(RatingPlan candidatePlan, Consumer<RateImpactReport> progressListener) {
+        Objects.requireNonNull(candidatePlan, "Candidate plan must not be null");
+        validatePlan(candidatePlan);
+
+        // The ID bounds are captured once so policies written during the run are not picked up
+        Long minId = policyRepository.findMinId();
+        Long maxId = policyRepository.findMaxId();
+        if (minId == null || maxId == null) {
+            return CompletableFuture.completedFuture(new SegmentAggregates().toReport(true, 0, 0));
+        }
+
+        List<long[]> partitions = new ArrayList<>();
+        for (long from = minId; from <= maxId; from += partitionSize) {
+            partitions.add(new long[] {from, Math.min(from + partitionSize - 1, maxId)});
+        }
+
+        RatingPlan baselinePlan = ratingEngine.getCurrentPlan();
+        LocalDate asOf = LocalDate.now();
+        SimulationProgress progress = new SimulationProgress(partitions.size());
+
+        CompletableFuture<?>[] futures = partitions.stream()
+            .map(range -> CompletableFuture
+                .supplyAsync(() -> ratePartition(range[0], range[1], baselinePlan, candidatePlan, asOf), executor)
+                .thenAccept(result -> {
+                    RateImpactReport interim = progress.merge(result);
+                    if (progressListener != null) {
+                        progressListener.accept(interim);
+                    }
+                }))
+            .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(futures).thenApply(ignored -> progress.finish());
+    }
+
+    private void validatePlan(RatingPlan plan) {
+        for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(RatingPlan.class)) {
+            if (pd.getReadMethod() == null || pd.getPropertyType() != double.class) {
+                continue;
+            }
+            try {
+                double value = (double) pd.getReadMethod().invoke(plan);
+                if (!(value > 0.0)) {
+                    throw new IllegalArgumentException("Rating factor " + pd.getName() + " must be greater than 0");
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Unable to read rating factor " + pd.getName(), e);
+            }
+        }
+    }
+
+    private SegmentAggregates ratePartition(long fromId, long toId, RatingPlan baselinePlan,
+                                            RatingPlan candidatePlan, LocalDate asOf) {
+        SegmentAggregates aggregates = new SegmentAggregates();
+        LocalDate claimsSince = asOf.minusYears(Claim.RATING_LOOKBACK_YEARS);
+        for (PolicyRatingSnapshot snapshot : policyRepository.findRatingSnapshots(fromId, toId, claimsSince)) {
+            RatingProfile profile = toRatingProfile(snapshot, asOf);
+            double baseline = ratingEngine.rate(profile, baselinePlan).get("totalPremium");
+            double candidate = ratingEngine.rate(profile, candidatePlan).get("totalPremium");
+            aggregates.record(snapshot, profile.getDriverAge(), baseline, candidate);
+        }
+        return aggregates;
+    }
+
+    private RatingProfile toRatingProfile(PolicyRatingSnapshot snapshot, LocalDate asOf) {
+        RatingProfile profile = new RatingProfile();
+        profile.setDriverAge(Period.between(snapshot.getDateOfBirth(), asOf).getYears());
+        profile.setYearsLicensed(Period.between(snapshot.getLicenseIssueDate(), asOf).getYears());
+        profile.setCreditScore(snapshot.getCreditScore());
+        profile.setGoodStudent(Boolean.TRUE.equals(snapshot.getGoodStudent()));
+        profile.setGoodDriver(!Boolean.TRUE.equals(snapshot.getHasDUI())
+            && valueOf(snapshot.getAccidentCount()) == 0
+            && valueOf(snapshot.getViolationCount()) <= 1
+            && (snapshot.getRecentClaimCount() == null || snapshot.getRecentClaimCount() == 0));
+        profile.setMultiPolicy(snapshot.getActivePolicyCount() != null && snapshot.getActivePolicyCount() > 1);
+        profile.setVehicleYear(valueOf(snapshot.getVehicleYear()));
+        profile.setVehicleMake(snapshot.getVehicleMake());
+        profile.setHighPerformance(Boolean.TRUE.equals(snapshot.getHighPerformance()));
+        profile.setPurchasePrice(snapshot.getPurchasePrice());
+        profile.setConvertible(Boolean.TRUE.equals(snapshot.getConvertible()));
+        profile.setAntiTheft(Boolean.TRUE.equals(snapshot.getAntiTheft()));
+
+        String safetyFeatures = snapshot.getSafetyFeatures() != null ? snapshot.getSafetyFeatures().toLowerCase() : "";
+        profile.setAirbags(safetyFeatures.contains("airbags"));
+        profile.setAntiLockBrakes(safetyFeatures.contains("anti-lock brakes"));
+        return profile;
+    }
+
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static String ageBand(int age) {
+        if (age < 25) {
+            return "16-24";
+        } else if (age < 35) {
+            return "25-34";
+        } else if (age < 50) {
+            return "35-49";
+        } else if (age <= 70) {
+            return "50-70";
+        }
+        return "71+";
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Merges partition results as they complete. Merging happens once per partition,
+     * so a single monitor is cheap compared to the rating work it guards.
+     */
+    private static class SimulationProgress {
+
+        private final int partitionsTotal;
+        private final SegmentAggregates totals = new SegmentAggregates();
+        private int partitionsCompleted;
+
+        SimulationProgress(int partitionsTotal) {
+            this.partitionsTotal = partitionsTotal;
+        }
+
+        synchronized RateImpactReport merge(SegmentAggregates partition) {
+            totals.merge(partition);
+            partitionsCompleted++;
+            return totals.toReport(false, partitionsCompleted, partitionsTotal);
+        }
+
+        synchronized RateImpactReport finish() {
+            return totals.toReport(true, partitionsCompleted, partitionsTotal);
+        }
+    }
+
+    /**
+     * Distributions by segment plus a bounded heap of the largest absolute movers.
+     */
+    private static class SegmentAggregates {
+
+        private static final Comparator<RateMover> BY_ABSOLUTE_CHANGE =
+            Comparator.comparingDouble(mover -> Math.abs(mover.getChange()));
+
+        private final PremiumDistribution overall = new PremiumDistribution();
+        private final Map<String, PremiumDistribution> byState = new HashMap<>();
+        private final Map<String, PremiumDistribution> byMake = new HashMap<>();
+        private final Map<String, PremiumDistribution> byAgeBand = new HashMap<>();
+        private final PriorityQueue<RateMover> topMovers = new PriorityQueue<>(BY_ABSOLUTE_CHANGE);
+
+        void record(PolicyRatingSnapshot snapshot, int driverAge, double baseline, double candidate) {
+            String state = snapshot.getState() != null ? snapshot.getState().toUpperCase() : "UNKNOWN";
+            String make = snapshot.getVehicleMake() != null ? snapshot.getVehicleMake().toUpperCase() : "UNKNOWN";
+
+            overall.record(baseline, candidate);
+            byState.computeIfAbsent(state, key -> new PremiumDistribution()).record(baseline, candidate);
+            byMake.computeIfAbsent(make, key -> new PremiumDistribution()).record(baseline, candidate);
+            byAgeBand.computeIfAbsent(ageBand(driverAge), key -> new PremiumDistribution()).record(baseline, candidate);
+
+            if (baseline != candidate) {
+                offer(new RateMover(snapshot.getPolicyId(), snapshot.getPolicyNumber(), state, make, driverAge,
+                    baseline, candidate));
+            }
+        }
+
+        void merge(SegmentAggregates other) {
+            overall.merge(other.overall);
+            mergeSegments(byState, other.byState);
+            mergeSegments(byMake, other.byMake);
+            mergeSegments(byAgeBand, other.byAgeBand);
+            other.topMovers.forEach(this::offer);
+        }
+
+        private void offer(RateMover mover) {
+            topMovers.offer(mover);
+            if (topMovers.size() > TOP_MOVERS) {
+                topMovers.poll();
+            }
+        }
+
+        private static void mergeSegments(Map<String, PremiumDistribution> target, Map<String, PremiumDistribution> source) {
+            source.forEach((key, distribution) ->
+                target.computeIfAbsent(key, k -> new PremiumDistribution()).merge(distribution));
+        }
+
+        RateImpactReport toReport(boolean complete, int partitionsCompleted, int partitionsTotal) {
+            List<RateMover> movers = new ArrayList<>(topMovers);
+            movers.sort(BY_ABSOLUTE_CHANGE.reversed());
+            return new RateImpactReport(
+                complete,
+                partitionsCompleted,
+                partitionsTotal,
+                overall.copy(),
+                copyOf(byState),
+                copyOf(byMake),
+                copyOf(byAgeBand),
+                Collections.unmodifiableList(movers)
+            );
+        }
+
+        private static Map<String, PremiumDistribution> copyOf(Map<String, PremiumDistribution> segments) {
+            Map<String, PremiumDistribution> copy = new TreeMap<>();
+            segments.forEach((key, distribution) -> copy.put(key, distribution.copy()));
+            return Collections.unmodifiableMap(copy);
+        }
+    }
+}
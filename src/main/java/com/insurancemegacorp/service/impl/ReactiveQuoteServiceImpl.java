@@ -0,0 +1,111 @@
+package com.insurancemegacorp.service.impl;
+
+import com.insurancemegacorp.model.Customer;
+import com.insurancemegacorp.model.CustomerRatingFacts;
+import com.insurancemegacorp.model.QuoteRecord;
+import com.insurancemegacorp.model.QuoteRequest;
+import com.insurancemegacorp.model.QuoteResponse;
+import com.insurancemegacorp.model.RatingProfile;
+import com.insurancemegacorp.model.Vehicle;
+import com.insurancemegacorp.repository.ReactiveCustomerLookupRepository;
+import com.insurancemegacorp.service.QuoteAssembler;
+import com.insurancemegacorp.service.QuoteStore;
+import com.insurancemegacorp.service.RatingCoalescer;
+import com.insurancemegacorp.service.RatingEngine;
+import com.insurancemegacorp.service.ReactiveQuoteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Implementation of the ReactiveQuoteService interface.
+ * Prices exactly like QuoteServiceImpl: both resolve a known customer by business customer ID
+ * with the same rating facts query and go through QuoteAssembler and RatingEngine; only the
+ * database driver (R2DBC instead of JDBC) and the threading differ.
+ */
+@Service
+@Profile("!quote-only")
+public class ReactiveQuoteServiceImpl implements ReactiveQuoteService {
+
+    private final ReactiveCustomerLookupRepository customerLookupRepository;
+    private final QuoteAssembler quoteAssembler;
+    private final RatingEngine ratingEngine;
+    private final RatingCoalescer ratingCoalescer;
+    private final QuoteStore quoteStore;
+    private final int batchConcurrency;
+    private final int maxBatchSize;
+
+    @Autowired
+    public ReactiveQuoteServiceImpl(ReactiveCustomerLookupRepository customerLookupRepository,
+                                    QuoteAssembler quoteAssembler,
+                                    RatingEngine ratingEngine,
+                                    RatingCoalescer ratingCoalescer,
+                                    QuoteStore quoteStore,
+                                    @Value("${quote.reactive.batch-concurrency:32}") int batchConcurrency,
+                                    @Value("${quote.reactive.max-batch-size:10000}") int maxBatchSize) {
+        this.customerLookupRepository = customerLookupRepository;
+        this.quoteAssembler = quoteAssembler;
+        this.ratingEngine = ratingEngine;
+        this.ratingCoalescer = ratingCoalescer;
+        this.quoteStore = quoteStore;
+        this.batchConcurrency = batchConcurrency;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public Mono<QuoteResponse> generateQuote(QuoteRequest quoteRequest) {
+        return Mono.fromCallable(() -> {
+                quoteAssembler.validate(quoteRequest);
+                return quoteRequest;
+            })
+            .flatMap(this::quote);
+    }
+
+    @Override
+    public Flux<QuoteResponse> generateQuotes(List<QuoteRequest> quoteRequests) {
+        Objects.requireNonNull(quoteRequests, "Quote requests cannot be null");
+        if (quoteRequests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch size must not exceed " + maxBatchSize);
+        }
+        // Reject the whole batch up front rather than failing half way through the response stream
+        quoteRequests.forEach(quoteAssembler::validate);
+
+        // flatMapSequential keeps request order while bounding in-flight quotes; downstream
+        // demand (the client reading the stream) throttles how fast new quotes are started
+        return Flux.fromIterable(quoteRequests)
+            .flatMapSequential(this::quote, batchConcurrency);
+    }
+
+    private Mono<QuoteResponse> quote(QuoteRequest quoteRequest) {
+        Mono<CustomerRatingFacts> facts = StringUtils.hasText(quoteRequest.getCustomerId())
+            ? customerLookupRepository.findRatingFacts(quoteRequest.getCustomerId())
+            : Mono.empty();
+
+        return facts.defaultIfEmpty(CustomerRatingFacts.UNKNOWN)
+            .publishOn(Schedulers.parallel())
+            .map(known -> rate(quoteRequest, known))
+            // The journal append is quick but may block when write-behind falls behind
+            .flatMap(record -> Mono.fromRunnable(() -> quoteStore.save(record))
+                .subscribeOn(Schedulers.boundedElastic())
+                .thenReturn(record))
+            .map(QuoteResponse::from);
+    }
+
+    private QuoteRecord rate(QuoteRequest quoteRequest, CustomerRatingFacts facts) {
+        Customer customer = quoteAssembler.newCustomer(quoteRequest);
+        Vehicle vehicle = quoteAssembler.newVehicle(quoteRequest);
+
+        RatingProfile profile = quoteAssembler.buildRatingProfile(customer, vehicle, facts.isMultiPolicy(), facts.isGoodDriver());
+        Map<String, Double> coverages = ratingCoalescer.rate(profile, ratingEngine.getCurrentPlan());
+        return quoteAssembler.newQuoteRecord(quoteRequest, customer, vehicle, coverages);
+    }
+}
@@ -0,0 +1,90 @@
+package com.insurancemegacorp.service.impl;
+
+import com.insurancemegacorp.model.Coverage;
+import com.insurancemegacorp.model.Customer;
+import com.insurancemegacorp.model.Policy;
+import com.insurancemegacorp.model.SoftDeletable;
+import com.insurancemegacorp.repository.CoverageRepository;
+import com.insurancemegacorp.repository.CustomerRepository;
+import com.insurancemegacorp.repository.PolicyRepository;
+import com.insurancemegacorp.search.SearchHit;
+import com.insurancemegacorp.search.SearchableType;
+import com.insurancemegacorp.search.TextSearchIndex;
+import com.insurancemegacorp.service.TextSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the TextSearchService interface.
+ * Matching and ranking happen in the {@link TextSearchIndex}; only the top hits are then
+ * loaded by primary key, so no text column is scanned.
+ */
+@Service
+@Profile("!quote-only")
+public class TextSearchServiceImpl implements TextSearchService {
+
+    private final TextSearchIndex index;
+    private final CoverageRepository coverageRepository;
+    private final PolicyRepository policyRepository;
+    private final CustomerRepository customerRepository;
+
+    @Autowired
+    public TextSearchServiceImpl(TextSearchIndex index, CoverageRepository coverageRepository,
+                                 PolicyRepository policyRepository, CustomerRepository customerRepository) {
+        this.index = index;
+        this.coverageRepository = coverageRepository;
+        this.policyRepository = policyRepository;
+        this.customerRepository = customerRepository;
+    }
+
+    @Override
+    public List<SearchHit> search(String text, SearchableType type, int limit) {
+        return index.search(text, type, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Coverage> searchCoverages(String text, int limit) {
+        List<Long> ids = hitIds(index.search(text, SearchableType.COVERAGE, limit));
+        return inHitOrder(ids, coverageRepository.findAllById(ids), Coverage::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Policy> searchPolicies(String text, int limit) {
+        List<Long> ids = hitIds(index.search(text, SearchableType.POLICY, limit));
+        return inHitOrder(ids, policyRepository.findAllById(ids), Policy::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Customer> searchCustomers(String text, int limit) {
+        List<Long> ids = hitIds(index.search(text, SearchableType.CUSTOMER, limit));
+        return inHitOrder(ids, customerRepository.findAllById(ids), Customer::getId);
+    }
+
+    private static List<Long> hitIds(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::getId).collect(Collectors.toList());
+    }
+
+    // findAllById returns rows in no particular order; skips records deleted since they were indexed
+    private static <T extends SoftDeletable> List<T> inHitOrder(List<Long> ids, List<T> entities, Function<T, Long> idOf) {
+        Map<Long, T> byId = entities.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T entity = byId.get(id);
+            if (entity != null && entity.isActive()) {
+                ordered.add(entity);
+            }
+        }
+        return ordered;
+    }
+}
@@ -0,0 +1,40 @@
+package com.insurancemegacorp.web;
+
+import com.insurancemegacorp.aggregate.DashboardAggregates;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@RestController
+@Profile("!quote-only")
+@RequestMapping("/dashboard")
+public class DashboardController {
+
+    private final DashboardAggregates aggregates;
+
+    @Autowired
+    public DashboardController(DashboardAggregates aggregates) {
+        this.aggregates = aggregates;
+    }
+
+    // Served from the in-memory aggregates; no query is issued per request
+    @GetMapping("/policies/status-counts")
+    public Map<String, Long> policyCountsByStatus() {
+        return aggregates.getPolicyCountsByStatus();
+    }
+
+    @GetMapping("/policies/premium-by-type")
+    public Map<String, BigDecimal> totalPremiumByPolicyType() {
+        return aggregates.getTotalPremiumByPolicyType();
+    }
+
+    @GetMapping("/vehicles/make-counts")
+    public Map<String, Long> vehicleCountsByMake() {
+        return aggregates.getVehicleCountsByMake();
+    }
+}
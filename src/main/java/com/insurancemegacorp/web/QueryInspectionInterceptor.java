@@ -0,0 +1,47 @@
+package com.insurancemegacorp.web;
+
+import com.insurancemegacorp.metrics.QueryBudget;
+import com.insurancemegacorp.metrics.QueryInspector;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Opens a {@link QueryInspector} scope around sampled controller invocations, using the
+ * handler's {@link QueryBudget} if it declares one.
+ * <p>
+ * Scopes are thread-bound, so for async handlers only the statements issued on the request
+ * thread are counted.
+ */
+public class QueryInspectionInterceptor implements AsyncHandlerInterceptor {
+
+    private final QueryInspector queryInspector;
+
+    public QueryInspectionInterceptor(QueryInspector queryInspector) {
+        this.queryInspector = queryInspector;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod method = (HandlerMethod) handler;
+            QueryBudget budget = method.getMethodAnnotation(QueryBudget.class);
+            queryInspector.openSampledScope(
+                method.getBeanType().getSimpleName() + "." + method.getMethod().getName(),
+                budget != null ? budget.value() : -1);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        queryInspector.closeScope();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        queryInspector.closeScope();
+    }
+}
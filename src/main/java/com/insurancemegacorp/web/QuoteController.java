@@ -1,26 +1,85 @@
 package com.insurancemegacorp.web;
 
+import com.insurancemegacorp.exception.ServiceOverloadedException;
+import com.insurancemegacorp.metrics.QueryBudget;
 import com.insurancemegacorp.model.QuoteRequest;
 import com.insurancemegacorp.model.QuoteResponse;
+import com.insurancemegacorp.service.AsyncQuoteService;
 import com.insurancemegacorp.service.QuoteService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 public class QuoteController {
 
     private final QuoteService quoteService;
+    private final AsyncQuoteService asyncQuoteService;
 
     @Autowired
-    public QuoteController(QuoteService quoteService) {
+    public QuoteController(QuoteService quoteService, AsyncQuoteService asyncQuoteService) {
         this.quoteService = quoteService;
+        this.asyncQuoteService = asyncQuoteService;
     }
 
-    @PostMapping("/quote")
-    // Returns a QuoteResponse with customer, vehicle, and coverages (liability, collision, comprehensive)
+    // JSON is listed first so it is chosen when the client does not ask for a binary encoding
+    @PostMapping(value = "/quote", consumes = {
+        MediaType.APPLICATION_JSON_VALUE,
+        QuoteHttpMessageConverter.APPLICATION_SMILE_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE
+    }, produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        QuoteHttpMessageConverter.APPLICATION_SMILE_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE
+    })
+    // Returns a flat QuoteResponse with customer/vehicle identifiers and coverages (liability, collision, comprehensive)
+    // One rating facts lookup for a known customer; persistence is write-behind
+    @QueryBudget(1)
     public QuoteResponse getQuote(@RequestBody QuoteRequest quoteRequest) {
         return quoteService.generateQuote(quoteRequest);
     }
+
+    @PostMapping(value = "/quote/async", consumes = {
+        MediaType.APPLICATION_JSON_VALUE,
+        QuoteHttpMessageConverter.APPLICATION_SMILE_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE
+    }, produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        QuoteHttpMessageConverter.APPLICATION_SMILE_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE
+    })
+    // Same as POST /quote, but releases the servlet thread while rating; 503 with Retry-After when shed
+    public CompletableFuture<QuoteResponse> getQuoteAsync(@RequestBody QuoteRequest quoteRequest) {
+        return asyncQuoteService.generateQuote(quoteRequest);
+    }
+
+    @GetMapping(value = "/quote/{quoteId}", produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        QuoteHttpMessageConverter.APPLICATION_SMILE_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE
+    })
+    // Returns a previously issued quote; 404 if it does not exist or has expired
+    // Index hits issue none; a miss is a single join-fetch query
+    @QueryBudget(1)
+    public QuoteResponse getQuote(@PathVariable String quoteId) {
+        return quoteService.getQuote(quoteId);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    // No body, so the 503 can be rendered whatever encoding the client negotiated
+    public ResponseEntity<Void> handleOverload(ServiceOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .build();
+    }
 }
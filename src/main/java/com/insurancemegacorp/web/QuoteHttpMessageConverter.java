@@ -0,0 +1,66 @@
+package com.insurancemegacorp.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.insurancemegacorp.model.QuoteRequest;
+import com.insurancemegacorp.model.QuoteResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Reads {@link QuoteRequest} and writes {@link QuoteResponse} in a single Jackson format
+ * (JSON, Smile or CBOR, depending on the mapper's factory) through an {@link ObjectReader}
+ * and {@link ObjectWriter} resolved once at startup. This keeps the hot quote path off the
+ * per-call serializer lookup and type introspection of the general-purpose converters.
+ * Encode and decode buffers come from Jackson's thread-local buffer recycler and are
+ * streamed straight to and from the servlet streams, so no intermediate byte[] is built.
+ */
+public class QuoteHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+
+    private final ObjectReader requestReader;
+    private final ObjectWriter responseWriter;
+
+    public QuoteHttpMessageConverter(ObjectMapper objectMapper, MediaType mediaType) {
+        super(mediaType);
+        this.requestReader = objectMapper.readerFor(QuoteRequest.class);
+        this.responseWriter = objectMapper.writerFor(QuoteResponse.class);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return QuoteRequest.class == clazz || QuoteResponse.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return QuoteRequest.class == clazz && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return QuoteResponse.class == clazz && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return requestReader.readValue(inputMessage.getBody());
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("Unable to read quote request: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object quoteResponse, HttpOutputMessage outputMessage) throws IOException {
+        responseWriter.writeValue(outputMessage.getBody(), quoteResponse);
+    }
+}
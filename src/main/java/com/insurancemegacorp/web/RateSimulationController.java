@@ -0,0 +1,57 @@
+package com.insurancemegacorp.web;
+
+import com.insurancemegacorp.model.RateImpactReport;
+import com.insurancemegacorp.model.RatingPlan;
+import com.insurancemegacorp.service.RateImpactSimulationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@Profile("!quote-only")
+@RequestMapping("/simulations")
+public class RateSimulationController {
+
+    private static final long SIMULATION_TIMEOUT_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final RateImpactSimulationService simulationService;
+
+    @Autowired
+    public RateSimulationController(RateImpactSimulationService simulationService) {
+        this.simulationService = simulationService;
+    }
+
+    @PostMapping("/rate-impact")
+    // Streams "progress" events as partitions complete, then a single "complete" event with the final report
+    public SseEmitter simulateRateImpact(@RequestBody RatingPlan candidatePlan) {
+        SseEmitter emitter = new SseEmitter(SIMULATION_TIMEOUT_MILLIS);
+        simulationService.simulate(candidatePlan, report -> send(emitter, "progress", report))
+            .whenComplete((report, error) -> {
+                if (error != null) {
+                    emitter.completeWithError(error);
+                } else {
+                    send(emitter, "complete", report);
+                    emitter.complete();
+                }
+            });
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, String eventName, RateImpactReport report) {
+        // Partitions complete on several worker threads; serialize writes to the response
+        synchronized (emitter) {
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(report));
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the simulation is read-only so it is safe to let it finish
+            }
+        }
+    }
+}
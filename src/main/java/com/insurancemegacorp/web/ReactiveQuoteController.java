@@ -0,0 +1,49 @@
+package com.insurancemegacorp.web;
+
+import com.insurancemegacorp.model.QuoteRequest;
+import com.insurancemegacorp.model.QuoteResponse;
+import com.insurancemegacorp.service.ReactiveQuoteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@Profile("!quote-only")
+@RequestMapping("/reactive")
+public class ReactiveQuoteController {
+
+    private final ReactiveQuoteService reactiveQuoteService;
+
+    @Autowired
+    public ReactiveQuoteController(ReactiveQuoteService reactiveQuoteService) {
+        this.reactiveQuoteService = reactiveQuoteService;
+    }
+
+    @PostMapping(value = "/quote", consumes = {
+        MediaType.APPLICATION_JSON_VALUE,
+        QuoteHttpMessageConverter.APPLICATION_SMILE_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE
+    }, produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        QuoteHttpMessageConverter.APPLICATION_SMILE_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE
+    })
+    // Same response as POST /quote; no thread is held while the customer lookup is in flight
+    public Mono<QuoteResponse> getQuote(@RequestBody QuoteRequest quoteRequest) {
+        return reactiveQuoteService.generateQuote(quoteRequest);
+    }
+
+    @PostMapping(value = "/quotes", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    // Streams one QuoteResponse per line, in request order, as each quote completes
+    public Flux<QuoteResponse> getQuotes(@RequestBody List<QuoteRequest> quoteRequests) {
+        return reactiveQuoteService.generateQuotes(quoteRequests);
+    }
+}
@@ -0,0 +1,48 @@
+package com.insurancemegacorp.web;
+
+import com.insurancemegacorp.search.SearchHit;
+import com.insurancemegacorp.search.SearchableType;
+import com.insurancemegacorp.service.TextSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@Profile("!quote-only")
+@RequestMapping("/search")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final TextSearchService textSearchService;
+
+    @Autowired
+    public SearchController(TextSearchService textSearchService) {
+        this.textSearchService = textSearchService;
+    }
+
+    // Served from the search index; returns ranked IDs without loading the entities
+    @GetMapping("/coverages")
+    public List<SearchHit> searchCoverages(@RequestParam("q") String text,
+                                           @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return textSearchService.search(text, SearchableType.COVERAGE, Math.min(limit, MAX_LIMIT));
+    }
+
+    @GetMapping("/policies")
+    public List<SearchHit> searchPolicies(@RequestParam("q") String text,
+                                          @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return textSearchService.search(text, SearchableType.POLICY, Math.min(limit, MAX_LIMIT));
+    }
+
+    // Typo-tolerant lookup by name, email or license number
+    @GetMapping("/customers")
+    public List<SearchHit> searchCustomers(@RequestParam("q") String text,
+                                           @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return textSearchService.search(text, SearchableType.CUSTOMER, Math.min(limit, MAX_LIMIT));
+    }
+}
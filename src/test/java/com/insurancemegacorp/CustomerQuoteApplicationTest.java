@@ -0,0 +1,57 @@
+package com.insurancemegacorp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.insurancemegacorp.model.QuoteRequest;
+import com.insurancemegacorp.model.QuoteResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the full default-profile context, including the search index and the Hibernate
+ * listeners that feed it, and quotes over HTTP.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "quote.search.index-dir=target/test-search-index")
+class CustomerQuoteApplicationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void quotedCustomerBecomesSearchable() throws InterruptedException {
+        ResponseEntity<QuoteResponse> created = restTemplate.postForEntity("/quote", request("CUST-3003"), QuoteResponse.class);
+
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(created.getBody().getCoverages()).containsKeys("liability", "totalPremium");
+
+        // The write-behind persists the customer, and the post-commit listener indexes it
+        long deadline = System.currentTimeMillis() + 10_000;
+        JsonNode hits = search("Quinn Searchable");
+        while (hits.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            hits = search("Quinn Searchable");
+        }
+        assertThat(hits).isNotEmpty();
+    }
+
+    private JsonNode search(String text) {
+        return restTemplate.getForObject("/search/customers?q={q}", JsonNode.class, text);
+    }
+
+    private static QuoteRequest request(String customerId) {
+        QuoteRequest request = new QuoteRequest();
+        request.setCustomerId(customerId);
+        request.setCustomerName("Quinn Searchable");
+        request.setCustomerAge(40);
+        request.setVehicleId("VEH-3003");
+        request.setVehicleYear(2020);
+        request.setVehicleMake("Toyota");
+        return request;
+    }
+}
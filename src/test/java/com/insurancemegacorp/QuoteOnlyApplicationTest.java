@@ -0,0 +1,127 @@
+package com.insurancemegacorp;
+
+import com.insurancemegacorp.model.Customer;
+import com.insurancemegacorp.model.Policy;
+import com.insurancemegacorp.model.PolicyStatus;
+import com.insurancemegacorp.model.QuoteRequest;
+import com.insurancemegacorp.model.QuoteResponse;
+import com.insurancemegacorp.repository.CustomerRepository;
+import com.insurancemegacorp.repository.PolicyRepository;
+import com.insurancemegacorp.service.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Starts the quote-only slim context in JVM mode and quotes over HTTP, the same path the
+ * native image serves.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("quote-only")
+class QuoteOnlyApplicationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    void postsAQuoteAndReadsItBack() {
+        ResponseEntity<QuoteResponse> created = restTemplate.postForEntity("/quote", request("CUST-1001"), QuoteResponse.class);
+
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.OK);
+        QuoteResponse quote = created.getBody();
+        assertThat(quote.getQuoteId()).isNotBlank();
+        assertThat(quote.getCustomerId()).isEqualTo("CUST-1001");
+        assertThat(quote.getCoverages()).containsKeys("liability", "totalPremium");
+
+        ResponseEntity<QuoteResponse> fetched = restTemplate.getForEntity("/quote/{id}", QuoteResponse.class, quote.getQuoteId());
+        assertThat(fetched.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(fetched.getBody().getCoverages()).isEqualTo(quote.getCoverages());
+    }
+
+    @Test
+    void returningCustomerKeepsOneCustomerRowAcrossQuotes() throws InterruptedException {
+        String first = restTemplate.postForObject("/quote", request("CUST-2002"), QuoteResponse.class).getQuoteId();
+        String second = restTemplate.postForObject("/quote", request("CUST-2002"), QuoteResponse.class).getQuoteId();
+
+        awaitStored(first, second);
+
+        assertThat(customerRepository.findAll())
+            .filteredOn(customer -> "CUST-2002".equals(customer.getCustomerId()))
+            .extracting(Customer::getEmail, Customer::isProspect)
+            .containsExactly(tuple(null, true));
+    }
+
+    @Test
+    void repeatQuotesForTheSameCustomerArePricedAlike() throws InterruptedException {
+        QuoteResponse first = restTemplate.postForObject("/quote", request("CUST-REV-1"), QuoteResponse.class);
+        awaitStored(first.getQuoteId());
+
+        QuoteResponse second = restTemplate.postForObject("/quote", request("CUST-REV-1"), QuoteResponse.class);
+
+        assertThat(second.getCoverages()).isEqualTo(first.getCoverages());
+    }
+
+    @Test
+    void onlyInForcePoliciesEarnTheMultiPolicyDiscount() throws InterruptedException {
+        String quoteId = restTemplate.postForObject("/quote", request("CUST-REV-2"), QuoteResponse.class).getQuoteId();
+        awaitStored(quoteId);
+        Customer customer = customerRepository.findFirstByCustomerIdAndActiveTrueOrderByIdAsc("CUST-REV-2").get();
+        customer.setProspect(false);
+        customerRepository.save(customer);
+
+        double withQuotedPolicy = totalPremium("CUST-REV-2");
+        assertThat(customerService.hasOtherPolicies(customer.getId())).isFalse();
+        Policy policy = policyRepository.findByPolicyNumber(quoteId).get();
+        policy.setPolicyStatus(PolicyStatus.ACTIVE.name());
+        policyRepository.save(policy);
+        double withActivePolicy = totalPremium("CUST-REV-2");
+
+        assertThat(withActivePolicy).isLessThan(withQuotedPolicy);
+        assertThat(customerService.hasOtherPolicies(customer.getId())).isTrue();
+    }
+
+    private double totalPremium(String customerId) {
+        return restTemplate.postForObject("/quote", request(customerId), QuoteResponse.class)
+            .getCoverages().get("totalPremium");
+    }
+
+    // Quotes reach the database through the write-behind
+    private void awaitStored(String... quoteIds) throws InterruptedException {
+        List<String> policyNumbers = List.of(quoteIds);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (policyRepository.findExistingPolicyNumbers(policyNumbers).size() < quoteIds.length
+            && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(policyRepository.findExistingPolicyNumbers(policyNumbers)).hasSize(quoteIds.length);
+    }
+
+    private static QuoteRequest request(String customerId) {
+        QuoteRequest request = new QuoteRequest();
+        request.setCustomerId(customerId);
+        request.setCustomerName("Pat Driver");
+        request.setCustomerAge(40);
+        request.setVehicleId("VEH-1001");
+        request.setVehicleYear(2020);
+        request.setVehicleMake("Toyota");
+        return request;
+    }
+}
@@ -0,0 +1,59 @@
+package com.insurancemegacorp.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiringCacheTest {
+
+    private static final long FAR_FUTURE = Long.MAX_VALUE;
+
+    @Test
+    void evictsTheEntryClosestToExpiryWhenFull() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(2);
+        long now = System.currentTimeMillis();
+        cache.put("soon", "a", now + 10_000);
+        cache.put("later", "b", now + 20_000);
+        cache.put("latest", "c", now + 30_000);
+
+        assertThat(cache.get("soon")).isEmpty();
+        assertThat(cache.get("later")).contains("b");
+        assertThat(cache.get("latest")).contains("c");
+    }
+
+    @Test
+    void dropsExpiredEntriesOnRead() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10);
+        cache.put("expired", "a", System.currentTimeMillis() - 1);
+
+        assertThat(cache.get("expired")).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void invalidatedEntriesDoNotCountTowardsCapacity() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(2);
+        cache.put("kept", "a", FAR_FUTURE - 1);
+        for (int i = 0; i < 1000; i++) {
+            cache.put("churn-" + i, "x", FAR_FUTURE);
+            cache.invalidate("churn-" + i);
+        }
+        cache.put("added", "b", FAR_FUTURE);
+
+        assertThat(cache.get("kept")).contains("a");
+        assertThat(cache.get("added")).contains("b");
+    }
+
+    @Test
+    void replacedEntriesDoNotCountTowardsCapacity() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(2);
+        cache.put("kept", "a", FAR_FUTURE - 1);
+        for (int i = 0; i < 1000; i++) {
+            cache.put("replaced", "v" + i, FAR_FUTURE);
+        }
+
+        assertThat(cache.get("kept")).contains("a");
+        assertThat(cache.get("replaced")).contains("v999");
+        assertThat(cache.size()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,88 @@
+package com.insurancemegacorp.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InvalidationBusTest {
+
+    private final List<UdpInvalidationTransport> transports = new ArrayList<>();
+    private final List<InvalidationBus> buses = new ArrayList<>();
+
+    @AfterEach
+    void close() {
+        buses.forEach(InvalidationBus::shutdown);
+        transports.forEach(UdpInvalidationTransport::close);
+    }
+
+    @Test
+    void burstOfUpdatesReachesAPeerAsOneInvalidation() throws InterruptedException {
+        // Ephemeral ports: the receiving node binds first so the sender knows where to send
+        UdpInvalidationTransport receivingTransport = transport(List.of());
+        UdpInvalidationTransport sendingTransport = transport(List.of(
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), receivingTransport.getPort())));
+        InvalidationBus sender = bus(sendingTransport);
+        InvalidationBus receiver = bus(receivingTransport);
+        BlockingQueue<EntityInvalidation> local = new LinkedBlockingQueue<>();
+        BlockingQueue<EntityInvalidation> remote = new LinkedBlockingQueue<>();
+        sender.subscribe(local::add);
+        receiver.subscribe("Customer", remote::add);
+
+        sender.publish("Customer", "7", Set.of("email"));
+        sender.publish("Customer", "7", Set.of("lastName"));
+        sender.publish("Customer", "7", Set.of("email", "phoneNumber"));
+
+        EntityInvalidation received = remote.poll(5, TimeUnit.SECONDS);
+        assertThat(received).isNotNull();
+        assertThat(received.isRemote()).isTrue();
+        assertThat(received.getEntityId()).isEqualTo("7");
+        assertThat(received.getChangedFields()).containsExactlyInAnyOrder("email", "lastName", "phoneNumber");
+        assertThat(local.poll(1, TimeUnit.SECONDS).getChangedFields())
+            .containsExactlyInAnyOrder("email", "lastName", "phoneNumber");
+        // Nothing else follows once the coalescing window has passed
+        assertThat(remote.poll(500, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(local).isEmpty();
+    }
+
+    @Test
+    void wholeEntityInvalidationAbsorbsFieldChanges() throws InterruptedException {
+        InvalidationBus bus = bus(null);
+        BlockingQueue<EntityInvalidation> received = new LinkedBlockingQueue<>();
+        bus.subscribe(received::add);
+
+        bus.publish("Policy", "3", Set.of("premium"));
+        bus.publish("Policy", "3", Set.of());
+
+        assertThat(received.poll(5, TimeUnit.SECONDS).isWholeEntity()).isTrue();
+        assertThat(received.poll(500, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    private UdpInvalidationTransport transport(List<InetSocketAddress> peers) {
+        UdpInvalidationTransport transport = new UdpInvalidationTransport(0, peers);
+        transports.add(transport);
+        return transport;
+    }
+
+    @SuppressWarnings("unchecked")
+    private InvalidationBus bus(InvalidationTransport transport) {
+        ObjectProvider<InvalidationTransport> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(transport);
+        // Wide enough that the three publishes above always land in one window
+        InvalidationBus bus = new InvalidationBus(provider, 200);
+        buses.add(bus);
+        return bus;
+    }
+}
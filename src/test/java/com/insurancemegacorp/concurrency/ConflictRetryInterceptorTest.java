@@ -0,0 +1,161 @@
+package com.insurancemegacorp.concurrency;
+
+import com.insurancemegacorp.config.ConflictRetryConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringJUnitConfig(ConflictRetryInterceptorTest.Config.class)
+class ConflictRetryInterceptorTest {
+
+    @Autowired
+    private ConflictingService service;
+
+    @Autowired
+    private CountingTransactionManager transactionManager;
+
+    @BeforeEach
+    void reset() {
+        service.getAttempts().clear();
+        transactionManager.begun = 0;
+        transactionManager.committed = 0;
+        transactionManager.rolledBack = 0;
+    }
+
+    @Test
+    void conflictIsRetriedInAFreshTransaction() {
+        service.setConflicts(2);
+
+        assertThat(service.update()).isEqualTo("updated");
+
+        assertThat(service.getAttempts()).hasSize(3).doesNotHaveDuplicates();
+        assertThat(transactionManager.begun).isEqualTo(3);
+        assertThat(transactionManager.rolledBack).isEqualTo(2);
+        assertThat(transactionManager.committed).isEqualTo(1);
+    }
+
+    @Test
+    void conflictIsRethrownAfterTheLastAttempt() {
+        service.setConflicts(5);
+
+        assertThatThrownBy(service::update).isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(service.getAttempts()).hasSize(3);
+    }
+
+    @Test
+    void conflictInsideACallersTransactionIsNotRetried() {
+        service.setConflicts(1);
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+
+        assertThatThrownBy(() -> outer.execute(status -> service.update()))
+            .isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(service.getAttempts()).hasSize(1);
+        assertThat(transactionManager.begun).isEqualTo(1);
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @Import(ConflictRetryConfig.class)
+    static class Config {
+
+        @Bean
+        CountingTransactionManager transactionManager() {
+            return new CountingTransactionManager();
+        }
+
+        @Bean
+        ConflictingService conflictingService() {
+            return new ConflictingService();
+        }
+    }
+
+    static class ConflictingService {
+
+        // The transaction each attempt ran in
+        private final List<Object> attempts = new ArrayList<>();
+        private int conflictsLeft;
+
+        @Transactional
+        @RetryOnConflict
+        public String update() {
+            attempts.add(CountingTransactionManager.current.get());
+            if (conflictsLeft-- > 0) {
+                throw new OptimisticLockingFailureException("Row was updated by another transaction");
+            }
+            return "updated";
+        }
+
+        // Accessed through the proxy, which does not share the target's fields
+        public List<Object> getAttempts() {
+            return attempts;
+        }
+
+        public void setConflicts(int conflicts) {
+            this.conflictsLeft = conflicts;
+        }
+    }
+
+    static class CountingTransactionManager extends AbstractPlatformTransactionManager {
+
+        static final ThreadLocal<Object> current = new ThreadLocal<>();
+
+        int begun;
+        int committed;
+        int rolledBack;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object[] {current.get()};
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return ((Object[]) transaction)[0] != null;
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            begun++;
+            current.set(new Object());
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            committed++;
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            rolledBack++;
+        }
+
+        @Override
+        protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+            // The outer transaction is rolled back by the template when the conflict propagates
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transaction) {
+            current.remove();
+        }
+    }
+}
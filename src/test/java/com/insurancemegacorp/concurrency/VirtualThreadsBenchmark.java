@@ -0,0 +1,96 @@
+package com.insurancemegacorp.concurrency;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to finish 10,000 concurrent quote-shaped tasks (a little CPU around a blocking wait
+ * that stands in for a JDBC round trip) on a platform pool sized like Tomcat's default
+ * 200 threads versus one virtual thread per task. The virtual variant needs Java 21+ and
+ * fails its setup on older JVMs. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec@benchmark -Dbenchmark.include=VirtualThreadsBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class VirtualThreadsBenchmark {
+
+    private static final int PLATFORM_POOL_SIZE = 200;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"10000"})
+    private int concurrency;
+
+    @Param({"20"})
+    private long blockingMillis;
+
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("virtual".equals(threads)) {
+            executor = VirtualThreads.newThreadPerTaskExecutor("benchmark-")
+                .orElseThrow(() -> new IllegalStateException("Virtual threads need Java 21+, running on "
+                    + System.getProperty("java.version")));
+        } else {
+            executor = Executors.newFixedThreadPool(PLATFORM_POOL_SIZE);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    @Benchmark
+    public long completeConcurrentQuotes() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            int seed = i;
+            executor.execute(() -> {
+                try {
+                    rate(seed);
+                    Thread.sleep(blockingMillis);
+                    rate(seed + 1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        return done.getCount();
+    }
+
+    // A few microseconds of arithmetic, standing in for the rating work around the query
+    private static long rate(int seed) {
+        long value = seed;
+        for (int i = 0; i < 1_000; i++) {
+            value = value * 6364136223846793005L + 1442695040888963407L;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,34 @@
+package com.insurancemegacorp.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadsTest {
+
+    private static final boolean JAVA_21 = Runtime.version().feature() >= 21;
+
+    @Test
+    void supportFollowsTheRuntimeVersion() {
+        assertThat(VirtualThreads.isSupported()).isEqualTo(JAVA_21);
+        assertThat(VirtualThreads.threadFactory("quote-").isPresent()).isEqualTo(JAVA_21);
+    }
+
+    @Test
+    void executorRunsTasksOnNamedVirtualThreadsWhenSupported() throws Exception {
+        Optional<ExecutorService> executor = VirtualThreads.newThreadPerTaskExecutor("quote-rating-");
+        assertThat(executor.isPresent()).isEqualTo(JAVA_21);
+        if (executor.isPresent()) {
+            try {
+                String name = executor.get().submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+                assertThat(name).startsWith("quote-rating-");
+            } finally {
+                executor.get().shutdown();
+            }
+        }
+    }
+}
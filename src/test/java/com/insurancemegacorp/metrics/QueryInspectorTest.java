@@ -0,0 +1,105 @@
+package com.insurancemegacorp.metrics;
+
+import com.insurancemegacorp.exception.QueryBudgetExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryInspectorTest {
+
+    private static final String SELECT_POLICY = "select * from policies where id=?";
+    private static final String SELECT_CUSTOMER = "select * from customers where id=?";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private QueryInspector inspector;
+
+    @AfterEach
+    void closeScope() {
+        if (inspector != null) {
+            inspector.closeScope();
+        }
+    }
+
+    @Test
+    void enforceModeFailsTheStatementThatExceedsTheBudget() {
+        inspector = new QueryInspector("enforce", 0.0, 10, 3, meterRegistry);
+        inspector.openSampledScope("QuoteController.getQuote", 2);
+
+        inspector.inspect(SELECT_CUSTOMER);
+        inspector.inspect(SELECT_POLICY);
+
+        assertThatThrownBy(() -> inspector.inspect(SELECT_POLICY))
+            .isInstanceOf(QueryBudgetExceededException.class)
+            .hasMessageContaining("QuoteController.getQuote")
+            .hasMessageContaining("budget of 2");
+    }
+
+    @Test
+    void negativeBudgetFallsBackToTheDefault() {
+        inspector = new QueryInspector("enforce", 0.0, 3, 10, meterRegistry);
+        QueryScope scope = inspector.openScope("batch", -1);
+
+        assertThat(scope.getBudget()).isEqualTo(3);
+        for (int i = 0; i < 3; i++) {
+            inspector.inspect(SELECT_CUSTOMER);
+        }
+        assertThatThrownBy(() -> inspector.inspect(SELECT_CUSTOMER))
+            .isInstanceOf(QueryBudgetExceededException.class);
+    }
+
+    @Test
+    void repeatedIdenticalStatementsAreFlagged() {
+        inspector = new QueryInspector("enforce", 0.0, 100, 3, meterRegistry);
+        inspector.openScope("CustomerController.getCustomer", -1);
+
+        inspector.inspect(SELECT_CUSTOMER);
+        for (int i = 0; i < 5; i++) {
+            inspector.inspect(SELECT_POLICY);
+        }
+        QueryScope scope = inspector.closeScope().orElseThrow();
+
+        assertThat(scope.getStatementCount()).isEqualTo(6);
+        assertThat(scope.getDistinctStatementCount()).isEqualTo(2);
+        assertThat(scope.getMaxRepeats()).isEqualTo(5);
+        // Flagged once per scope, when the statement reaches the threshold
+        assertThat(meterRegistry.counter("quote.queries.repeated").count()).isEqualTo(1.0);
+        assertThat(inspector.getTopHotspots(10))
+            .extracting(QueryInspector.HotspotSummary::getSql)
+            .containsExactly(SELECT_POLICY);
+    }
+
+    @Test
+    void sampleModeReportsOverrunsWithoutThrowing() {
+        inspector = new QueryInspector("sample", 1.0, 10, 3, meterRegistry);
+        assertThat(inspector.openSampledScope("QuoteController.generateQuote", 1)).isPresent();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(inspector.inspect(SELECT_POLICY)).isEqualTo(SELECT_POLICY);
+        }
+        QueryScope scope = inspector.closeScope().orElseThrow();
+
+        assertThat(scope.isOverBudget()).isTrue();
+        assertThat(meterRegistry.counter("quote.queries.over.budget").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.summary("quote.queries.per.scope", "scope", "QuoteController.generateQuote").count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void sampleModeSkipsUnsampledWork() {
+        inspector = new QueryInspector("sample", 0.0, 10, 3, meterRegistry);
+
+        assertThat(inspector.openSampledScope("QuoteController.generateQuote", 1)).isEmpty();
+        inspector.inspect(SELECT_POLICY);
+        assertThat(inspector.closeScope()).isEmpty();
+    }
+
+    @Test
+    void offModeNeverOpensAScope() {
+        inspector = new QueryInspector("off", 1.0, 10, 3, meterRegistry);
+
+        assertThat(inspector.openSampledScope("QuoteController.generateQuote", 1)).isEmpty();
+    }
+}
@@ -0,0 +1,60 @@
+package com.insurancemegacorp.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuoteResponseTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void copiesTheQuoteRecord() {
+        QuoteRecord record = quoteRecord();
+
+        QuoteResponse response = QuoteResponse.from(record);
+
+        assertThat(response.getQuoteId()).isEqualTo(record.getQuoteId());
+        assertThat(response.getCustomerId()).isEqualTo(record.getCustomerId());
+        assertThat(response.getVehicleId()).isEqualTo(record.getVehicleId());
+        assertThat(response.getCoverages()).isEqualTo(record.getCoverages());
+        assertThat(response.getExpirationDate()).isEqualTo(record.getExpirationDate());
+    }
+
+    @Test
+    void serializesOnlyTheFlatQuoteFields() throws Exception {
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsBytes(QuoteResponse.from(quoteRecord())));
+
+        Set<String> fields = new TreeSet<>();
+        for (Iterator<String> names = json.fieldNames(); names.hasNext(); ) {
+            fields.add(names.next());
+        }
+        assertThat(fields).containsExactlyInAnyOrder("quoteId", "customerId", "customerName", "customerAge",
+            "vehicleId", "vin", "vehicleYear", "vehicleMake", "coverages", "expirationDate");
+        assertThat(json.get("coverages").get("totalPremium").asDouble()).isEqualTo(1240.5);
+    }
+
+    static QuoteRecord quoteRecord() {
+        Map<String, Double> coverages = new LinkedHashMap<>();
+        coverages.put("liability", 612.5);
+        coverages.put("collision", 288.0);
+        coverages.put("comprehensive", 190.0);
+        coverages.put("uninsuredMotorist", 150.0);
+        coverages.put("totalPremium", 1240.5);
+        Instant issuedAt = Instant.parse("2026-01-15T10:00:00Z");
+        return new QuoteRecord("0ABCDEFGHJKMN", "CUST-1001", "Jane Driver", 34, "D1234567",
+            "0ABCDEFGHJKMP", "1HGCM82633A004352", 2021, "Honda", coverages, issuedAt,
+            Date.from(issuedAt.plusSeconds(30L * 24 * 3600)));
+    }
+}
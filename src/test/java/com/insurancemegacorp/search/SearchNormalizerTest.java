@@ -0,0 +1,37 @@
+package com.insurancemegacorp.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchNormalizerTest {
+
+    @Test
+    void textStripsAccentsAndCollapsesPunctuation() {
+        assertThat(SearchNormalizer.text("  O'Brien-Núñez ")).isEqualTo("o brien nunez");
+        assertThat(SearchNormalizer.text("ZOË\tSMITH")).isEqualTo("zoe smith");
+        assertThat(SearchNormalizer.text("---")).isEmpty();
+        assertThat(SearchNormalizer.text(null)).isNull();
+    }
+
+    @Test
+    void fullNameToleratesMissingParts() {
+        assertThat(SearchNormalizer.fullName("José", "García")).isEqualTo("jose garcia");
+        assertThat(SearchNormalizer.fullName(null, "Smith")).isEqualTo("smith");
+        assertThat(SearchNormalizer.fullName("Pat", null)).isEqualTo("pat");
+        assertThat(SearchNormalizer.fullName(null, null)).isEmpty();
+    }
+
+    @Test
+    void emailIsTrimmedAndLowerCased() {
+        assertThat(SearchNormalizer.email("  Pat.Driver@Example.COM ")).isEqualTo("pat.driver@example.com");
+        assertThat(SearchNormalizer.email(null)).isNull();
+    }
+
+    @Test
+    void licenseNumberKeepsOnlyUpperCaseLettersAndDigits() {
+        assertThat(SearchNormalizer.licenseNumber("d123-456 78")).isEqualTo("D12345678");
+        assertThat(SearchNormalizer.licenseNumber("D12345678")).isEqualTo("D12345678");
+        assertThat(SearchNormalizer.licenseNumber(null)).isNull();
+    }
+}
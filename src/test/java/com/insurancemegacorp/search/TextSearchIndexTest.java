@@ -0,0 +1,153 @@
+package com.insurancemegacorp.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextSearchIndexTest {
+
+    @TempDir
+    Path indexDir;
+
+    @Test
+    void reopeningAgainstTheSameDatabaseCatchesUpFromTheLastCommit() throws Exception {
+        TextSearchIndex index = open("db-1");
+        assertThat(index.getLastCommitDate()).isNull();
+        index.index(SearchableType.POLICY, 1, "hail damage exclusion");
+        index.markCaughtUp();
+        index.close();
+
+        TextSearchIndex reopened = open("db-1");
+        try {
+            assertThat(reopened.getLastCommitDate()).isBeforeOrEqualTo(LocalDate.now());
+            assertThat(reopened.search("hail", SearchableType.POLICY, 10))
+                .extracting(SearchHit::getId)
+                .containsExactly(1L);
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void indexBuiltAgainstAnotherDatabaseIsDiscarded() throws Exception {
+        TextSearchIndex index = open("db-1");
+        index.index(SearchableType.POLICY, 1, "hail damage exclusion");
+        index.markCaughtUp();
+        index.close();
+
+        // A restarted in-memory database reuses ID 1 for an unrelated row
+        TextSearchIndex reopened = open("db-2");
+        try {
+            assertThat(reopened.getLastCommitDate()).isNull();
+            assertThat(reopened.search("hail", SearchableType.POLICY, 10)).isEmpty();
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void indexClosedBeforeCatchingUpIsRebuiltInFull() throws Exception {
+        TextSearchIndex index = open("db-1");
+        index.index(SearchableType.POLICY, 1, "hail damage exclusion");
+        index.close();
+
+        TextSearchIndex reopened = open("db-1");
+        try {
+            assertThat(reopened.getLastCommitDate()).isNull();
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void exactNameMatchRanksAboveFuzzyAndPhoneticMatches() throws Exception {
+        TextSearchIndex index = open("db-1");
+        try {
+            index.indexCustomer(1, "Jon", "Smith", null, null);
+            index.indexCustomer(2, "John", "Smith", null, null);
+
+            assertThat(customerIds(index, "John Smith")).containsExactly(2L, 1L);
+            assertThat(customerIds(index, "Jon Smith")).containsExactly(1L, 2L);
+        } finally {
+            index.close();
+        }
+    }
+
+    @Test
+    void soundAlikeNameMatchesPhonetically() throws Exception {
+        TextSearchIndex index = open("db-1");
+        try {
+            index.indexCustomer(1, "Katherine", "Smith", null, null);
+            index.indexCustomer(2, "Maria", "Lopez", null, null);
+
+            // Different first letter, so only the Double Metaphone codes match
+            assertThat(customerIds(index, "Catherine")).containsExactly(1L);
+        } finally {
+            index.close();
+        }
+    }
+
+    @Test
+    void halfTypedNameMatchesByPrefix() throws Exception {
+        TextSearchIndex index = open("db-1");
+        try {
+            index.indexCustomer(1, "Alexandra", "Jones", null, null);
+            index.indexCustomer(2, "Maria", "Lopez", null, null);
+
+            assertThat(customerIds(index, "alex")).containsExactly(1L);
+            assertThat(customerIds(index, "Lop")).containsExactly(2L);
+        } finally {
+            index.close();
+        }
+    }
+
+    @Test
+    void mistypedEmailAndLicenseNumberMatchWithinTheirEditDistance() throws Exception {
+        TextSearchIndex index = open("db-1");
+        try {
+            index.indexCustomer(1, "Pat", "Driver", "pat.driver@example.com", "D123-4567");
+            index.indexCustomer(2, "Maria", "Lopez", "maria@example.org", "X9876543");
+
+            assertThat(customerIds(index, "Pat.Drivr@Example.com")).startsWith(1L).doesNotContain(2L);
+            assertThat(customerIds(index, "d1234568")).containsExactly(1L);
+            // Two edits is too many for a license number
+            assertThat(customerIds(index, "D1234599")).isEmpty();
+        } finally {
+            index.close();
+        }
+    }
+
+    @Test
+    void accentsAreIgnoredOnBothSides() throws Exception {
+        TextSearchIndex index = open("db-1");
+        try {
+            index.indexCustomer(1, "José", "Núñez", null, null);
+            index.indexCustomer(2, "Jose", "Garcia", null, null);
+
+            assertThat(customerIds(index, "jose nunez")).startsWith(1L);
+            assertThat(customerIds(index, "Garcïa")).containsExactly(2L);
+        } finally {
+            index.close();
+        }
+    }
+
+    private static List<Long> customerIds(TextSearchIndex index, String text) throws Exception {
+        // New documents become searchable once the near-real-time reader is reopened
+        Thread.sleep(200);
+        return index.search(text, SearchableType.CUSTOMER, 10).stream()
+            .map(SearchHit::getId)
+            .collect(Collectors.toList());
+    }
+
+    private TextSearchIndex open(String databaseInstanceId) throws Exception {
+        TextSearchIndex index = new TextSearchIndex(indexDir.toString(), 50);
+        index.attach(databaseInstanceId);
+        return index;
+    }
+}
@@ -0,0 +1,140 @@
+package com.insurancemegacorp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdGeneratorTest {
+
+    private static final long EPOCH_MILLIS = 1704067200000L;
+    private static final int TIMESTAMP_SHIFT = 22;
+
+    @Test
+    void idsAreUniqueAndOrderedPerThreadUnderContention() throws Exception {
+        int threads = 8;
+        int idsPerThread = 250_000;
+        IdGenerator generator = new IdGenerator(7);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    long[] ids = new long[idsPerThread];
+                    for (int i = 0; i < idsPerThread; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            long[] all = new long[threads * idsPerThread];
+            int offset = 0;
+            for (Future<long[]> result : results) {
+                long[] ids = result.get();
+                for (int i = 1; i < ids.length; i++) {
+                    assertThat(ids[i]).as("per-thread order at %d", i).isGreaterThan(ids[i - 1]);
+                }
+                System.arraycopy(ids, 0, all, offset, ids.length);
+                offset += ids.length;
+            }
+            Arrays.sort(all);
+            for (int i = 1; i < all.length; i++) {
+                assertThat(all[i]).as("collision at %d", i).isNotEqualTo(all[i - 1]);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void embedsTheNodeId() {
+        IdGenerator generator = new IdGenerator(1023);
+
+        assertThat((generator.nextId() >>> 12) & 1023).isEqualTo(1023);
+    }
+
+    @Test
+    void rejectsNodeIdsThatDoNotFitInTenBits() {
+        assertThatThrownBy(() -> new IdGenerator(1024)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void keepsCountingFromTheLastTimestampWhenTheClockMovesBack() {
+        AtomicLong clock = new AtomicLong(EPOCH_MILLIS + 60_000);
+        IdGenerator generator = new IdGenerator(1, clock::get);
+        long beforeRegression = generator.nextId();
+
+        clock.addAndGet(-5_000);
+        long afterRegression = generator.nextId();
+
+        assertThat(afterRegression).isGreaterThan(beforeRegression);
+        assertThat(afterRegression >>> TIMESTAMP_SHIFT).isEqualTo(beforeRegression >>> TIMESTAMP_SHIFT);
+
+        clock.addAndGet(10_000);
+        long afterRecovery = generator.nextId();
+        assertThat(afterRecovery >>> TIMESTAMP_SHIFT).isEqualTo(65_000);
+    }
+
+    @Test
+    void borrowsTheNextMillisecondWhenTheSequenceIsExhausted() {
+        IdGenerator generator = new IdGenerator(1, () -> EPOCH_MILLIS + 1_000);
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            long next = generator.nextId();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+
+        // 4096 IDs per millisecond, so 10,001 IDs span three milliseconds
+        assertThat(previous >>> TIMESTAMP_SHIFT).isEqualTo(1_002);
+    }
+
+    @Test
+    void base32RoundTripsAndPreservesOrder() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 10_000; i++) {
+            long a = random.nextLong() & Long.MAX_VALUE;
+            long b = random.nextLong() & Long.MAX_VALUE;
+            String encodedA = IdGenerator.toBase32(a);
+            String encodedB = IdGenerator.toBase32(b);
+
+            assertThat(encodedA).hasSize(13);
+            assertThat(IdGenerator.fromBase32(encodedA)).isEqualTo(a);
+            assertThat(Integer.signum(encodedA.compareTo(encodedB))).isEqualTo(Long.signum(Long.compare(a, b)));
+        }
+        assertThat(IdGenerator.fromBase32(IdGenerator.toBase32(0))).isZero();
+        assertThat(IdGenerator.fromBase32(IdGenerator.toBase32(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void compactIdsDecodeToGeneratedIds() {
+        IdGenerator generator = new IdGenerator(3);
+        String compact = generator.nextCompactId();
+
+        assertThat(IdGenerator.fromBase32(compact.toLowerCase()) >>> 12 & 1023).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsInvalidEncodings() {
+        assertThatThrownBy(() -> IdGenerator.fromBase32("0000000000000U"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> IdGenerator.fromBase32("000000000000U"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> IdGenerator.fromBase32("ZZZZZZZZZZZZZ"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
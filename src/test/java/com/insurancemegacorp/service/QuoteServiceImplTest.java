@@ -0,0 +1,103 @@
+package com.insurancemegacorp.service;
+
+import com.insurancemegacorp.metrics.QuoteStage;
+import com.insurancemegacorp.metrics.QuoteStageTimers;
+import com.insurancemegacorp.model.CustomerRatingFacts;
+import com.insurancemegacorp.model.QuoteRequest;
+import com.insurancemegacorp.model.QuoteResponse;
+import com.insurancemegacorp.repository.CustomerRatingFactsRepository;
+import com.insurancemegacorp.repository.ReactiveCustomerLookupRepository;
+import com.insurancemegacorp.service.impl.ReactiveQuoteServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuoteServiceImplTest {
+
+    private static final CustomerRatingFacts KNOWN = new CustomerRatingFacts(1L, true, true);
+
+    private final CustomerRatingFactsRepository factsRepository = mock(CustomerRatingFactsRepository.class);
+    private final ReactiveCustomerLookupRepository reactiveRepository = mock(ReactiveCustomerLookupRepository.class);
+    private final RatingEngine ratingEngine = new RatingEngine();
+    private final QuoteAssembler quoteAssembler = new QuoteAssembler(new IdGenerator(1));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QuoteStageTimers stageTimers = new QuoteStageTimers(meterRegistry);
+    private final RatingCoalescer ratingCoalescer = new RatingCoalescer(ratingEngine, stageTimers);
+
+    private final QuoteServiceImpl quoteService = new QuoteServiceImpl(factsRepository, ratingEngine,
+        ratingCoalescer, mock(QuoteStore.class), quoteAssembler, stageTimers);
+    private final ReactiveQuoteServiceImpl reactiveQuoteService = new ReactiveQuoteServiceImpl(reactiveRepository,
+        quoteAssembler, ratingEngine, ratingCoalescer, mock(QuoteStore.class), 4, 100);
+
+    @Test
+    void knownCustomerGetsTheSameDiscountsOnBothPaths() {
+        when(factsRepository.findRatingFacts("C-1")).thenReturn(Optional.of(KNOWN));
+        when(reactiveRepository.findRatingFacts("C-1")).thenReturn(Mono.just(KNOWN));
+
+        QuoteResponse blocking = quoteService.generateQuote(request("C-1"));
+        QuoteResponse reactive = reactiveQuoteService.generateQuote(request("C-1")).block();
+
+        assertThat(blocking.getCoverages()).containsKeys("liabilityDiscount");
+        assertThat(blocking.getCoverages()).isEqualTo(reactive.getCoverages());
+        assertThat(blocking.getCoverages().get("totalPremium"))
+            .isLessThan(quoteService.generateQuote(request(null)).getCoverages().get("totalPremium"));
+    }
+
+    @Test
+    void unknownCustomerGetsNoCustomerDiscountsOnBothPaths() {
+        when(factsRepository.findRatingFacts("C-2")).thenReturn(Optional.empty());
+        when(reactiveRepository.findRatingFacts("C-2")).thenReturn(Mono.empty());
+
+        QuoteResponse blocking = quoteService.generateQuote(request("C-2"));
+        QuoteResponse reactive = reactiveQuoteService.generateQuote(request("C-2")).block();
+
+        assertThat(blocking.getCoverages()).doesNotContainKey("liabilityDiscount");
+        assertThat(blocking.getCoverages()).isEqualTo(reactive.getCoverages());
+    }
+
+    @Test
+    void requestWithoutCustomerIdSkipsTheLookup() {
+        quoteService.generateQuote(request(" "));
+
+        verify(factsRepository, never()).findRatingFacts(anyString());
+    }
+
+    @Test
+    void customerLookupIsTimedAsCustomerResolution() {
+        when(factsRepository.findRatingFacts("C-3")).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return Optional.of(KNOWN);
+        });
+
+        quoteService.generateQuote(request("C-3"));
+
+        assertThat(stageMillis(QuoteStage.RESOLVE_CUSTOMER)).isGreaterThanOrEqualTo(50);
+        assertThat(stageMillis(QuoteStage.RATING_PROFILE)).isLessThan(50);
+    }
+
+    private double stageMillis(QuoteStage stage) {
+        return meterRegistry.get(QuoteStageTimers.METRIC_NAME).tag("stage", stage.getTagValue()).timer()
+            .totalTime(TimeUnit.MILLISECONDS);
+    }
+
+    private static QuoteRequest request(String customerId) {
+        QuoteRequest request = new QuoteRequest();
+        request.setCustomerId(customerId);
+        request.setCustomerName("Pat Driver");
+        request.setCustomerAge(40);
+        request.setVehicleId("V-1");
+        request.setVehicleYear(2020);
+        request.setVehicleMake("Toyota");
+        return request;
+    }
+}
@@ -0,0 +1,96 @@
+package com.insurancemegacorp.service.impl;
+
+import com.insurancemegacorp.exception.ServiceOverloadedException;
+import com.insurancemegacorp.model.QuoteRequest;
+import com.insurancemegacorp.model.QuoteResponse;
+import com.insurancemegacorp.service.QuoteService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AsyncQuoteServiceImplTest {
+
+    private final QuoteService quoteService = mock(QuoteService.class);
+    private AsyncQuoteServiceImpl asyncQuoteService;
+
+    @AfterEach
+    void shutDown() {
+        if (asyncQuoteService != null) {
+            asyncQuoteService.shutdown();
+        }
+    }
+
+    @Test
+    void timedOutQuoteKeepsItsPermitUntilRatingFinishes() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        QuoteResponse response = mock(QuoteResponse.class);
+        when(quoteService.generateQuote(any())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            finished.countDown();
+            return response;
+        });
+        // A single permit, so admission shows whether the timed-out quote still holds it
+        asyncQuoteService = new AsyncQuoteServiceImpl(quoteService, 2, 1, 1, 1, 60_000, 0.9, 50, 1, false);
+
+        CompletableFuture<QuoteResponse> timedOut = asyncQuoteService.generateQuote(new QuoteRequest());
+        assertThatThrownBy(() -> timedOut.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(ServiceOverloadedException.class);
+
+        assertThatThrownBy(() -> asyncQuoteService.generateQuote(new QuoteRequest()))
+            .isInstanceOf(ServiceOverloadedException.class)
+            .hasMessageContaining("at capacity");
+
+        release.countDown();
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<QuoteResponse> admitted = admitWhenReleased();
+        assertThat(admitted.get(5, TimeUnit.SECONDS)).isSameAs(response);
+    }
+
+    @Test
+    void completedQuoteReleasesItsPermit() throws Exception {
+        QuoteResponse response = mock(QuoteResponse.class);
+        when(quoteService.generateQuote(any())).thenReturn(response);
+        asyncQuoteService = new AsyncQuoteServiceImpl(quoteService, 2, 1, 1, 1, 60_000, 0.9, 5_000, 1, false);
+
+        assertThat(asyncQuoteService.generateQuote(new QuoteRequest()).get(5, TimeUnit.SECONDS)).isSameAs(response);
+        assertThat(admitWhenReleased().get(5, TimeUnit.SECONDS)).isSameAs(response);
+    }
+
+    @Test
+    void invalidRequestReleasesItsPermit() throws Exception {
+        when(quoteService.generateQuote(any())).thenThrow(new IllegalArgumentException("Vehicle make is required"));
+        asyncQuoteService = new AsyncQuoteServiceImpl(quoteService, 2, 1, 1, 1, 60_000, 0.9, 5_000, 1, false);
+
+        assertThatThrownBy(() -> asyncQuoteService.generateQuote(new QuoteRequest()).get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> admitWhenReleased().get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    // The worker releases the permit just after the stubbed call returns, so allow it a moment
+    private CompletableFuture<QuoteResponse> admitWhenReleased() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            try {
+                return asyncQuoteService.generateQuote(new QuoteRequest());
+            } catch (ServiceOverloadedException e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+                Thread.sleep(5);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.insurancemegacorp.service.impl;
+
+import com.insurancemegacorp.model.Address;
+import com.insurancemegacorp.model.Customer;
+import com.insurancemegacorp.repository.CustomerRepository;
+import com.insurancemegacorp.service.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs CustomerServiceImpl against the database, so unique constraint violations are
+ * raised and mapped the way they are in production.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("quote-only")
+class CustomerServiceImplIntegrationTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void emailInUseByAnotherCustomerIsRejected() {
+        Customer first = customerRepository.save(customer("CUST-MAIL-1"));
+        Customer second = customerRepository.save(customer("CUST-MAIL-2"));
+        customerService.updateEmail(first.getId(), "shared@example.com");
+
+        assertThatThrownBy(() -> customerService.updateEmail(second.getId(), "Shared@Example.com"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("already in use");
+        assertThat(customerRepository.findById(second.getId()).get().getEmail()).isNull();
+    }
+
+    private static Customer customer(String customerId) {
+        Customer customer = new Customer();
+        customer.setCustomerId(customerId);
+        customer.setFirstName("Pat");
+        customer.setLastName("Driver");
+        customer.setDateOfBirth(LocalDate.of(1985, 1, 1));
+        customer.setSsn("XXX-XX-XXXX");
+        customer.setPhoneNumber("000-000-0000");
+        customer.setLicenseIssueDate(LocalDate.of(2005, 1, 1));
+        customer.setAddress(new Address("1 Main St", null, "Springfield", "CA", "90000"));
+        return customer;
+    }
+}
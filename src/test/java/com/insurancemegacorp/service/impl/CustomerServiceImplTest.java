@@ -0,0 +1,142 @@
+package com.insurancemegacorp.service.impl;
+
+import com.insurancemegacorp.exception.ResourceNotFoundException;
+import com.insurancemegacorp.model.Claim;
+import com.insurancemegacorp.model.Customer;
+import com.insurancemegacorp.model.Policy;
+import com.insurancemegacorp.outbox.ChangeEventRecorder;
+import com.insurancemegacorp.outbox.ChangeEventType;
+import com.insurancemegacorp.repository.ClaimRepository;
+import com.insurancemegacorp.repository.CustomerRepository;
+import com.insurancemegacorp.repository.PolicyRepository;
+import com.insurancemegacorp.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerServiceImplTest {
+
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    private final PolicyRepository policyRepository = mock(PolicyRepository.class);
+    private final ClaimRepository claimRepository = mock(ClaimRepository.class);
+    private final ChangeEventRecorder changeEvents = mock(ChangeEventRecorder.class);
+    private final CustomerServiceImpl customerService = new CustomerServiceImpl(customerRepository,
+        mock(VehicleRepository.class), policyRepository, claimRepository, changeEvents);
+
+    private final Customer customer = customer(1L);
+    private final Policy policy = new Policy();
+
+    @BeforeEach
+    void setUp() {
+        policy.setId(10L);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(customerRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(policyRepository.findById(10L)).thenReturn(Optional.of(policy));
+    }
+
+    @Test
+    void addPolicyRefusesToMoveAnotherCustomersPolicy() {
+        Customer otherHolder = customer(2L);
+        policy.setPolicyHolder(otherHolder);
+
+        assertThatThrownBy(() -> customerService.addPolicy(1L, 10L))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("held by customer 2");
+        assertThat(policy.getPolicyHolder()).isSameAs(otherHolder);
+    }
+
+    @Test
+    void addPolicyRestoresARemovedPolicy() {
+        policy.setPolicyHolder(customer);
+        policy.setActive(false);
+
+        customerService.addPolicy(1L, 10L);
+
+        assertThat(policy.isActive()).isTrue();
+    }
+
+    @Test
+    void addPolicyRejectsAnAlreadyActivePolicy() {
+        policy.setPolicyHolder(customer);
+
+        assertThatThrownBy(() -> customerService.addPolicy(1L, 10L))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("already associated");
+    }
+
+    @Test
+    void addPolicyActivatesAPolicyWithoutAHolder() {
+        policy.setActive(false);
+
+        customerService.addPolicy(1L, 10L);
+
+        assertThat(policy.getPolicyHolder()).isSameAs(customer);
+        assertThat(policy.isActive()).isTrue();
+    }
+
+    @Test
+    void removePolicySoftDeletesButKeepsTheHolder() {
+        policy.setPolicyHolder(customer);
+        when(policyRepository.findByIdAndPolicyHolderId(10L, 1L)).thenReturn(Optional.of(policy));
+
+        customerService.removePolicy(1L, 10L);
+
+        assertThat(policy.isActive()).isFalse();
+        assertThat(policy.getPolicyHolder()).isSameAs(customer);
+    }
+
+    @Test
+    void prospectIsNeverAGoodDriver() {
+        assertThat(customerService.isGoodDriver(1L)).isTrue();
+
+        customer.setProspect(true);
+
+        assertThat(customerService.isGoodDriver(1L)).isFalse();
+    }
+
+    @Test
+    void claimEventsAreRecordedUnderTheCustomersRowLock() {
+        when(customerRepository.lockById(1L)).thenReturn(Optional.of(1L));
+        when(claimRepository.deleteByCustomerIdAndClaimNumber(1L, "CLM-1")).thenReturn(1);
+
+        customerService.addClaim(1L, "CLM-1", LocalDate.now(), BigDecimal.TEN);
+        customerService.removeClaim(1L, "CLM-1");
+
+        InOrder inOrder = inOrder(customerRepository, claimRepository, changeEvents);
+        inOrder.verify(customerRepository).lockById(1L);
+        inOrder.verify(claimRepository).saveAndFlush(any(Claim.class));
+        inOrder.verify(changeEvents).record(eq(Customer.class), eq(1L), eq(ChangeEventType.CLAIM_ADDED), any());
+        inOrder.verify(customerRepository).lockById(1L);
+        inOrder.verify(claimRepository).deleteByCustomerIdAndClaimNumber(1L, "CLM-1");
+        inOrder.verify(changeEvents).record(eq(Customer.class), eq(1L), eq(ChangeEventType.CLAIM_REMOVED), any());
+    }
+
+    @Test
+    void claimForAMissingCustomerIsRejectedBeforeAnyWrite() {
+        when(customerRepository.lockById(3L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> customerService.addClaim(3L, "CLM-2", LocalDate.now(), null))
+            .isInstanceOf(ResourceNotFoundException.class);
+        verify(claimRepository, never()).saveAndFlush(any());
+    }
+
+    private static Customer customer(Long id) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        return customer;
+    }
+}
@@ -0,0 +1,136 @@
+package com.insurancemegacorp.service.impl;
+
+import com.insurancemegacorp.aggregate.DashboardAggregateReconciler;
+import com.insurancemegacorp.model.Address;
+import com.insurancemegacorp.model.Customer;
+import com.insurancemegacorp.model.Policy;
+import com.insurancemegacorp.model.PolicyStatus;
+import com.insurancemegacorp.model.PolicySweepCheckpoint;
+import com.insurancemegacorp.model.PolicySweepResult;
+import com.insurancemegacorp.repository.CustomerRepository;
+import com.insurancemegacorp.repository.PolicyRepository;
+import com.insurancemegacorp.repository.PolicySweepCheckpointRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the lifecycle sweep's set-based UPDATEs against the database. Partitions are
+ * committed on the sweep's own threads, so the test does not wrap them in a transaction.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PolicyLifecycleServiceImplTest {
+
+    private static final LocalDate RUN_DATE = LocalDate.of(2031, 3, 1);
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private PolicySweepCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private PolicyLifecycleServiceImpl lifecycleService;
+
+    @BeforeEach
+    void setUp() {
+        // Two policies per partition, so the five policies below span several partitions
+        lifecycleService = new PolicyLifecycleServiceImpl(policyRepository, checkpointRepository,
+            mock(DashboardAggregateReconciler.class), transactionManager, 2, 2, 30);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lifecycleService.shutdown();
+    }
+
+    @Test
+    void sweepMovesPoliciesThroughTheirLifecycleOnceAndSkipsCheckpointedPartitions() {
+        Customer customer = customerRepository.save(customer());
+        policy(customer, "POL-DUE", PolicyStatus.ACTIVE, RUN_DATE.plusDays(10), null);
+        policy(customer, "POL-RENEWED", PolicyStatus.RENEWAL_PENDING, RUN_DATE.minusDays(1), null);
+        policy(customer, "POL-RENEWAL-TERM", PolicyStatus.ACTIVE, RUN_DATE.plusYears(1), "POL-RENEWED");
+        policy(customer, "POL-LAPSED", PolicyStatus.RENEWAL_PENDING, RUN_DATE.minusDays(1), null);
+        policy(customer, "POL-LATER", PolicyStatus.ACTIVE, RUN_DATE.plusDays(90), null);
+
+        PolicySweepResult first = lifecycleService.sweep(RUN_DATE);
+
+        assertThat(first.getPartitionsProcessed()).isGreaterThan(1);
+        assertThat(first.getPartitionsSkipped()).isZero();
+        assertThat(first.getRenewalPending()).isEqualTo(1);
+        assertThat(first.getRenewed()).isEqualTo(1);
+        assertThat(first.getExpired()).isEqualTo(1);
+        assertStatuses();
+
+        PolicySweepResult rerun = lifecycleService.sweep(RUN_DATE);
+
+        assertThat(rerun.getPartitionsProcessed()).isZero();
+        assertThat(rerun.getPartitionsSkipped()).isEqualTo(first.getPartitionsProcessed());
+
+        // A partition whose checkpoint was lost is applied again without changing anything
+        PolicySweepCheckpoint lost = checkpointRepository.findAll().get(0);
+        checkpointRepository.delete(lost);
+        PolicySweepResult reapplied = lifecycleService.sweep(RUN_DATE);
+
+        assertThat(reapplied.getPartitionsProcessed()).isEqualTo(1);
+        assertThat(reapplied.getPartitionsSkipped()).isEqualTo(first.getPartitionsProcessed() - 1);
+        assertThat(reapplied.getRenewalPending() + reapplied.getRenewed() + reapplied.getExpired()).isZero();
+        assertStatuses();
+    }
+
+    private void assertStatuses() {
+        assertThat(status("POL-DUE")).isEqualTo(PolicyStatus.RENEWAL_PENDING.name());
+        assertThat(status("POL-RENEWED")).isEqualTo(PolicyStatus.RENEWED.name());
+        assertThat(status("POL-RENEWAL-TERM")).isEqualTo(PolicyStatus.ACTIVE.name());
+        assertThat(status("POL-LAPSED")).isEqualTo(PolicyStatus.EXPIRED.name());
+        assertThat(status("POL-LATER")).isEqualTo(PolicyStatus.ACTIVE.name());
+    }
+
+    private String status(String policyNumber) {
+        return policyRepository.findByPolicyNumber(policyNumber).get().getPolicyStatus();
+    }
+
+    private void policy(Customer holder, String policyNumber, PolicyStatus status, LocalDate expirationDate,
+                        String priorPolicyNumber) {
+        Policy policy = new Policy();
+        policy.setPolicyNumber(policyNumber);
+        policy.setPolicyHolder(holder);
+        policy.setPolicyType("AUTO");
+        policy.setPolicyStatus(status.name());
+        policy.setEffectiveDate(expirationDate.minusYears(1));
+        policy.setExpirationDate(expirationDate);
+        policy.setTotalPremium(new BigDecimal("1200.00"));
+        policy.setPriorPolicyNumber(priorPolicyNumber);
+        policyRepository.save(policy);
+    }
+
+    private static Customer customer() {
+        Customer customer = new Customer();
+        customer.setCustomerId("CUST-SWEEP-1");
+        customer.setFirstName("Pat");
+        customer.setLastName("Driver");
+        customer.setDateOfBirth(LocalDate.of(1985, 1, 1));
+        customer.setSsn("XXX-XX-XXXX");
+        customer.setPhoneNumber("000-000-0000");
+        customer.setLicenseIssueDate(LocalDate.of(2005, 1, 1));
+        customer.setAddress(new Address("1 Main St", null, "Springfield", "CA", "90000"));
+        return customer;
+    }
+}
@@ -0,0 +1,92 @@
+package com.insurancemegacorp.web;
+
+import com.insurancemegacorp.exception.QueryBudgetExceededException;
+import com.insurancemegacorp.metrics.QueryBudget;
+import com.insurancemegacorp.metrics.QueryInspector;
+import com.insurancemegacorp.metrics.QueryScope;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryInspectionInterceptorTest {
+
+    private static final String SELECT_POLICY = "select * from policies where id=?";
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void enforcesTheHandlersQueryBudget() throws Exception {
+        QueryInspector inspector = new QueryInspector("enforce", 0.0, 10, 3, new SimpleMeterRegistry());
+        QueryInspectionInterceptor interceptor = new QueryInspectionInterceptor(inspector);
+
+        interceptor.preHandle(request, response, handler("budgeted"));
+        try {
+            inspector.inspect(SELECT_POLICY);
+            assertThatThrownBy(() -> inspector.inspect(SELECT_POLICY))
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessageContaining("Handlers.budgeted");
+        } finally {
+            interceptor.afterCompletion(request, response, null, null);
+        }
+        assertThat(inspector.closeScope()).isEmpty();
+    }
+
+    @Test
+    void usesTheDefaultBudgetWithoutAnAnnotation() throws Exception {
+        QueryInspector inspector = new QueryInspector("enforce", 0.0, 7, 3, new SimpleMeterRegistry());
+        QueryInspectionInterceptor interceptor = new QueryInspectionInterceptor(inspector);
+
+        interceptor.preHandle(request, response, handler("unbudgeted"));
+        QueryScope scope = inspector.closeScope().orElseThrow();
+
+        assertThat(scope.getName()).isEqualTo("Handlers.unbudgeted");
+        assertThat(scope.getBudget()).isEqualTo(7);
+    }
+
+    @Test
+    void sampleModeLetsTheRequestThroughOverBudget() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        QueryInspector inspector = new QueryInspector("sample", 1.0, 10, 3, meterRegistry);
+        QueryInspectionInterceptor interceptor = new QueryInspectionInterceptor(inspector);
+
+        interceptor.preHandle(request, response, handler("budgeted"));
+        for (int i = 0; i < 5; i++) {
+            assertThat(inspector.inspect(SELECT_POLICY)).isEqualTo(SELECT_POLICY);
+        }
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertThat(meterRegistry.counter("quote.queries.over.budget").count()).isEqualTo(1.0);
+        assertThat(inspector.closeScope()).isEmpty();
+    }
+
+    @Test
+    void closesTheScopeWhenAsyncHandlingStarts() throws Exception {
+        QueryInspector inspector = new QueryInspector("enforce", 0.0, 10, 3, new SimpleMeterRegistry());
+        QueryInspectionInterceptor interceptor = new QueryInspectionInterceptor(inspector);
+
+        interceptor.preHandle(request, response, handler("budgeted"));
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+
+        assertThat(inspector.closeScope()).isEmpty();
+    }
+
+    private static HandlerMethod handler(String methodName) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), Handlers.class.getMethod(methodName));
+    }
+
+    static class Handlers {
+
+        @QueryBudget(1)
+        public void budgeted() {
+        }
+
+        public void unbudgeted() {
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.insurancemegacorp.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.insurancemegacorp.model.QuoteRecord;
+import com.insurancemegacorp.model.QuoteRequest;
+import com.insurancemegacorp.model.QuoteResponse;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuoteHttpMessageConverterTest {
+
+    static Stream<Arguments> formats() {
+        return Stream.of(
+            Arguments.of(MediaType.APPLICATION_JSON, new JsonFactory()),
+            Arguments.of(QuoteHttpMessageConverter.APPLICATION_SMILE, new SmileFactory()),
+            Arguments.of(MediaType.APPLICATION_CBOR, new CBORFactory()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("formats")
+    void readsQuoteRequests(MediaType mediaType, JsonFactory factory) throws Exception {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().factory(factory).build();
+        QuoteHttpMessageConverter converter = new QuoteHttpMessageConverter(mapper, mediaType);
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("customerId", "CUST-1001");
+        request.put("customerName", "Jane Driver");
+        request.put("customerAge", 34);
+        request.put("vehicleId", "V-1");
+        request.put("vehicleYear", 2021);
+        request.put("vehicleMake", "Honda");
+        MockHttpInputMessage input = new MockHttpInputMessage(mapper.writeValueAsBytes(request));
+        input.getHeaders().setContentType(mediaType);
+
+        assertThat(converter.canRead(QuoteRequest.class, mediaType)).isTrue();
+        QuoteRequest read = (QuoteRequest) converter.read(QuoteRequest.class, input);
+
+        assertThat(read.getCustomerId()).isEqualTo("CUST-1001");
+        assertThat(read.getCustomerName()).isEqualTo("Jane Driver");
+        assertThat(read.getCustomerAge()).isEqualTo(34);
+        assertThat(read.getVehicleYear()).isEqualTo(2021);
+        assertThat(read.getVehicleMake()).isEqualTo("Honda");
+    }
+
+    @ParameterizedTest
+    @MethodSource("formats")
+    void writesQuoteResponses(MediaType mediaType, JsonFactory factory) throws Exception {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().factory(factory).build();
+        QuoteHttpMessageConverter converter = new QuoteHttpMessageConverter(mapper, mediaType);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        assertThat(converter.canWrite(QuoteResponse.class, mediaType)).isTrue();
+        converter.write(quoteResponse(), mediaType, output);
+
+        assertThat(output.getHeaders().getContentType()).isEqualTo(mediaType);
+        JsonNode written = mapper.readTree(output.getBodyAsBytes());
+        assertThat(written.get("quoteId").asText()).isEqualTo("0ABCDEFGHJKMN");
+        assertThat(written.get("coverages").get("totalPremium").asDouble()).isEqualTo(1240.5);
+    }
+
+    @ParameterizedTest
+    @MethodSource("formats")
+    void leavesOtherTypesToTheGenericConverters(MediaType mediaType, JsonFactory factory) {
+        QuoteHttpMessageConverter converter = new QuoteHttpMessageConverter(
+            Jackson2ObjectMapperBuilder.json().factory(factory).build(), mediaType);
+
+        assertThat(converter.canRead(QuoteResponse.class, mediaType)).isFalse();
+        assertThat(converter.canWrite(QuoteRequest.class, mediaType)).isFalse();
+        assertThat(converter.canWrite(Map.class, mediaType)).isFalse();
+    }
+
+    private static QuoteResponse quoteResponse() {
+        Map<String, Double> coverages = new LinkedHashMap<>();
+        coverages.put("liability", 612.5);
+        coverages.put("totalPremium", 1240.5);
+        Instant issuedAt = Instant.parse("2026-01-15T10:00:00Z");
+        return QuoteResponse.from(new QuoteRecord("0ABCDEFGHJKMN", "CUST-1001", "Jane Driver", 34, "D1234567",
+            "0ABCDEFGHJKMP", "1HGCM82633A004352", 2021, "Honda", coverages, issuedAt,
+            Date.from(issuedAt.plusSeconds(30L * 24 * 3600))));
+    }
+}
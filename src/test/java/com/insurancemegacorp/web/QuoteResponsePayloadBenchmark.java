@@ -0,0 +1,167 @@
+package com.insurancemegacorp.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.insurancemegacorp.model.Address;
+import com.insurancemegacorp.model.Customer;
+import com.insurancemegacorp.model.QuoteRecord;
+import com.insurancemegacorp.model.QuoteResponse;
+import com.insurancemegacorp.model.Vehicle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost and payload size of the flat {@link QuoteResponse} against the
+ * previous response shape, which embedded the Customer and Vehicle entities and went
+ * through the generic Jackson converter. Payload sizes are printed once per fork. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec@benchmark -Dbenchmark.include=QuoteResponsePayloadBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuoteResponsePayloadBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter flatWriter;
+    private LegacyQuoteResponse legacyResponse;
+    private QuoteResponse flatResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        flatWriter = objectMapper.writerFor(QuoteResponse.class);
+
+        Map<String, Double> coverages = new LinkedHashMap<>();
+        coverages.put("liability", 612.5);
+        coverages.put("collision", 288.0);
+        coverages.put("comprehensive", 190.0);
+        coverages.put("uninsuredMotorist", 150.0);
+        coverages.put("medicalPayments", 100.0);
+        coverages.put("rentalReimbursement", 50.0);
+        coverages.put("roadsideAssistance", 40.0);
+        coverages.put("totalPremium", 1430.5);
+        Date expirationDate = Date.from(Instant.parse("2026-02-14T00:00:00Z"));
+
+        flatResponse = QuoteResponse.from(new QuoteRecord("0ABCDEFGHJKMN", "CUST-1001", "Jane Driver", 34,
+            "D1234567", "0ABCDEFGHJKMP", "1HGCM82633A004352", 2021, "Honda", coverages,
+            Instant.parse("2026-01-15T10:00:00Z"), expirationDate));
+        legacyResponse = new LegacyQuoteResponse("QUOTE-1A2B3C4D", legacyCustomer(), legacyVehicle(), coverages,
+            expirationDate);
+
+        System.out.printf("Payload bytes: legacy=%d flat=%d%n",
+            objectMapper.writeValueAsBytes(legacyResponse).length, flatWriter.writeValueAsBytes(flatResponse).length);
+    }
+
+    @Benchmark
+    public byte[] legacyEntityResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(legacyResponse);
+    }
+
+    @Benchmark
+    public byte[] flatResponseGenericMapper() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(flatResponse);
+    }
+
+    @Benchmark
+    public byte[] flatResponsePrebuiltWriter() throws JsonProcessingException {
+        return flatWriter.writeValueAsBytes(flatResponse);
+    }
+
+    // The customer and vehicle the quote endpoint used to build and return
+    private static Customer legacyCustomer() {
+        Customer customer = new Customer();
+        customer.setCustomerId("CUST-1001");
+        customer.setFirstName("Jane");
+        customer.setLastName("Driver");
+        customer.setDateOfBirth(LocalDate.of(1991, 6, 1));
+        customer.setEmail("temp-email@example.com");
+        customer.setPhoneNumber("000-000-0000");
+        customer.setDriverLicenseNumber("D1234567");
+        customer.setDriverLicenseState("CA");
+        customer.setLicenseIssueDate(LocalDate.of(2021, 1, 15));
+        customer.setCreditScore(700);
+        customer.setAddress(new Address("1 Main St", null, "Springfield", "CA", "90001"));
+        return customer;
+    }
+
+    private static Vehicle legacyVehicle() {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVehicleId("VIN-1A2B3C4D");
+        vehicle.setVin("VIN1A2B3C4D5E6F7");
+        vehicle.setYear(2021);
+        vehicle.setMake("Honda");
+        vehicle.setModel("Unknown");
+        vehicle.setBodyStyle("SEDAN");
+        vehicle.setVehicleType("PASSENGER");
+        vehicle.setFuelType("GAS");
+        vehicle.setTransmissionType("AUTOMATIC");
+        vehicle.setEngineSize(2.4);
+        vehicle.setPurchasePrice(new BigDecimal("25000.0"));
+        vehicle.setHasAntiTheft(false);
+        vehicle.setSafetyFeatures("AIRBAG,ANTI_LOCK_BRAKES");
+        return vehicle;
+    }
+
+    /**
+     * The response shape before the flat QuoteResponse.
+     */
+    public static class LegacyQuoteResponse {
+
+        private final String quoteId;
+        private final Customer customer;
+        private final Vehicle vehicle;
+        private final Map<String, Double> coverages;
+        private final Date expirationDate;
+
+        LegacyQuoteResponse(String quoteId, Customer customer, Vehicle vehicle, Map<String, Double> coverages,
+                            Date expirationDate) {
+            this.quoteId = quoteId;
+            this.customer = customer;
+            this.vehicle = vehicle;
+            this.coverages = coverages;
+            this.expirationDate = expirationDate;
+        }
+
+        public String getQuoteId() {
+            return quoteId;
+        }
+
+        public Customer getCustomer() {
+            return customer;
+        }
+
+        public Vehicle getVehicle() {
+            return vehicle;
+        }
+
+        public Map<String, Double> getCoverages() {
+            return coverages;
+        }
+
+        public Date getExpirationDate() {
+            return expirationDate;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.insurancemegacorp.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.insurancemegacorp.model.QuoteRecord;
+import com.insurancemegacorp.model.QuoteRequest;
+import com.insurancemegacorp.model.QuoteResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode time per quote for each wire format the quote endpoints negotiate,
+ * using the same pre-resolved readers and writers as {@link QuoteHttpMessageConverter}.
+ * Bytes on the wire for the request and response are printed once per fork. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec@benchmark -Dbenchmark.include=QuoteWireFormatBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuoteWireFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    private ObjectReader requestReader;
+    private ObjectWriter requestWriter;
+    private ObjectReader responseReader;
+    private ObjectWriter responseWriter;
+    private QuoteRequest request;
+    private QuoteResponse response;
+    private byte[] encodedRequest;
+    private byte[] encodedResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().factory(factory(format)).build();
+        requestReader = mapper.readerFor(QuoteRequest.class);
+        requestWriter = mapper.writerFor(QuoteRequest.class);
+        responseReader = mapper.readerFor(Map.class);
+        responseWriter = mapper.writerFor(QuoteResponse.class);
+
+        request = new QuoteRequest();
+        request.setCustomerId("CUST-1001");
+        request.setCustomerName("Jane Driver");
+        request.setCustomerAge(34);
+        request.setVehicleId("V-1");
+        request.setVehicleYear(2021);
+        request.setVehicleMake("Honda");
+
+        Map<String, Double> coverages = new LinkedHashMap<>();
+        coverages.put("liability", 612.5);
+        coverages.put("collision", 288.0);
+        coverages.put("comprehensive", 190.0);
+        coverages.put("uninsuredMotorist", 150.0);
+        coverages.put("medicalPayments", 100.0);
+        coverages.put("rentalReimbursement", 50.0);
+        coverages.put("roadsideAssistance", 40.0);
+        coverages.put("totalPremium", 1430.5);
+        Instant issuedAt = Instant.parse("2026-01-15T10:00:00Z");
+        response = QuoteResponse.from(new QuoteRecord("0ABCDEFGHJKMN", "CUST-1001", "Jane Driver", 34, "D1234567",
+            "0ABCDEFGHJKMP", "1HGCM82633A004352", 2021, "Honda", coverages, issuedAt,
+            Date.from(issuedAt.plusSeconds(30L * 24 * 3600))));
+
+        encodedRequest = requestWriter.writeValueAsBytes(request);
+        encodedResponse = responseWriter.writeValueAsBytes(response);
+        System.out.printf("Wire bytes (%s): request=%d response=%d%n", format, encodedRequest.length, encodedResponse.length);
+    }
+
+    @Benchmark
+    public byte[] encodeRequest() throws IOException {
+        return requestWriter.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public QuoteRequest decodeRequest() throws IOException {
+        return requestReader.readValue(encodedRequest);
+    }
+
+    @Benchmark
+    public byte[] encodeResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public Object decodeResponse() throws IOException {
+        return responseReader.readValue(encodedResponse);
+    }
+
+    private static JsonFactory factory(String format) {
+        switch (format) {
+            case "smile":
+                return new SmileFactory();
+            case "cbor":
+                return new CBORFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+}
@@ -1,19 +1,17 @@
 #!/bin/bash
 # test_quote_api.sh
-# Test the /quote endpoint with sample data
+# Load test the /quote endpoint with the built-in open-loop load generator
+#
+# Usage:
+#   ./test_quote_api.sh                                   # start the app in-process, 200 req/s for 60s
+#   ./test_quote_api.sh --target=http://localhost:8080    # drive an already running instance
+#   ./test_quote_api.sh --rate=500 --duration=120 --seed=7
+#   ./test_quote_api.sh --save-baseline=baseline.properties
+#   ./test_quote_api.sh --baseline=baseline.properties --tolerance=10   # exits 1 on regression
+#
+# Other options: --path=/quote --warmup=10 --max-outstanding=10000 --timeout-ms=5000
 
-API_URL="http://localhost:8080/quote"
+set -e
+cd "$(dirname "$0")"
 
-cat <<EOF > sample_quote_request.json
-{
-  "customerId": "cust123",
-  "customerName": "Jane Doe",
-  "customerAge": 28,
-  "vehicleId": "veh456",
-  "vehicleYear": 2018,
-  "vehicleMake": "Toyota"
-}
-EOF
-
-echo "Sending request to $API_URL..."
-curl -X POST -H "Content-Type: application/json" -d @sample_quote_request.json "$API_URL" | jq 
\ No newline at end of file
+mvn -q -Ploadtest compile exec:java -Dexec.args="$*"